@@ -65,8 +65,8 @@ import java.util.Calendar;
 public abstract class AbstractMariaDbPrepareStatement extends MariaDbStatement implements PreparedStatement {
     protected boolean useFractionalSeconds;
 
-    public AbstractMariaDbPrepareStatement(MariaDbConnection connection, int autoGeneratedKeys) {
-        super(connection, autoGeneratedKeys);
+    public AbstractMariaDbPrepareStatement(MariaDbConnection connection, int autoGeneratedKeys, int resultSetScrollType) {
+        super(connection, autoGeneratedKeys, resultSetScrollType);
     }
 
     protected abstract boolean isNoBackslashEscapes();
@@ -0,0 +1,182 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+package org.mariadb.jdbc;
+
+/**
+ * Compression counters of a connection, as they were when retrieved with
+ * {@link MariaDbConnection#getCompressionStatistics()}.
+ */
+public final class CompressionStatistics {
+    private final int level;
+    private final boolean adaptive;
+    private final long compressedPackets;
+    private final long uncompressedPackets;
+    private final long incompressiblePackets;
+    private final long skippedPackets;
+    private final long bytesBeforeCompression;
+    private final long bytesAfterCompression;
+    private final long compressionNanos;
+
+    /**
+     * Create counters snapshot.
+     *
+     * @param level current deflate level
+     * @param adaptive is compression adaptive
+     * @param compressedPackets number of packets sent compressed
+     * @param uncompressedPackets number of packets sent uncompressed
+     * @param incompressiblePackets number of packets compressed, but sent uncompressed since not compressing enough
+     * @param skippedPackets number of packets sent without trying compression
+     * @param bytesBeforeCompression initial size of packets sent compressed
+     * @param bytesAfterCompression compressed size of packets sent compressed
+     * @param compressionNanos time spent compressing
+     */
+    public CompressionStatistics(int level, boolean adaptive, long compressedPackets, long uncompressedPackets,
+                                 long incompressiblePackets, long skippedPackets, long bytesBeforeCompression,
+                                 long bytesAfterCompression, long compressionNanos) {
+        this.level = level;
+        this.adaptive = adaptive;
+        this.compressedPackets = compressedPackets;
+        this.uncompressedPackets = uncompressedPackets;
+        this.incompressiblePackets = incompressiblePackets;
+        this.skippedPackets = skippedPackets;
+        this.bytesBeforeCompression = bytesBeforeCompression;
+        this.bytesAfterCompression = bytesAfterCompression;
+        this.compressionNanos = compressionNanos;
+    }
+
+    /**
+     * Deflate level.
+     *
+     * @return deflate level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Number of packets sent compressed.
+     *
+     * @return number of packets
+     */
+    public long getCompressedPackets() {
+        return compressedPackets;
+    }
+
+    /**
+     * Number of packets sent uncompressed (small packets, packets not compressing enough and skipped packets).
+     *
+     * @return number of packets
+     */
+    public long getUncompressedPackets() {
+        return uncompressedPackets;
+    }
+
+    /**
+     * Number of packets compressed, but sent uncompressed since not compressing enough.
+     *
+     * @return number of packets
+     */
+    public long getIncompressiblePackets() {
+        return incompressiblePackets;
+    }
+
+    /**
+     * Number of packets sent without trying compression, their class not compressing enough.
+     *
+     * @return number of packets
+     */
+    public long getSkippedPackets() {
+        return skippedPackets;
+    }
+
+    /**
+     * Initial size of packets sent compressed.
+     *
+     * @return size in bytes
+     */
+    public long getBytesBeforeCompression() {
+        return bytesBeforeCompression;
+    }
+
+    /**
+     * Compressed size of packets sent compressed.
+     *
+     * @return size in bytes
+     */
+    public long getBytesAfterCompression() {
+        return bytesAfterCompression;
+    }
+
+    /**
+     * Time spent compressing (including packets sent uncompressed since not compressing enough).
+     *
+     * @return duration in nanoseconds
+     */
+    public long getCompressionNanos() {
+        return compressionNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStatistics{level=" + level
+                + ", adaptive=" + adaptive
+                + ", compressedPackets=" + compressedPackets
+                + ", uncompressedPackets=" + uncompressedPackets
+                + ", incompressiblePackets=" + incompressiblePackets
+                + ", skippedPackets=" + skippedPackets
+                + ", bytesBeforeCompression=" + bytesBeforeCompression
+                + ", bytesAfterCompression=" + bytesAfterCompression
+                + ", compressionNanos=" + compressionNanos
+                + "}";
+    }
+}
@@ -49,6 +49,8 @@ ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSI
 OF SUCH DAMAGE.
 */
 
+import org.mariadb.jdbc.internal.util.ClientPrepareTemplateCache;
+import org.mariadb.jdbc.internal.util.Options;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.query.MariaDbClientParameterizeQuery;
 import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
@@ -73,20 +75,56 @@ public class MariaDbClientPreparedStatement extends AbstractMariaDbPrepareStatem
      */
     public MariaDbClientPreparedStatement(MariaDbConnection connection,
                                           String sql, int autoGeneratedKeys) throws SQLException {
-        super(connection, autoGeneratedKeys);
-        if (protocol.getOptions().rewriteBatchedStatements || protocol.getOptions().allowMultiQueries) {
-            this.sqlQuery = deleteEndSemicolonPattern.matcher(sql).replaceAll("").trim();
-            isInsertRewriteable(this.sqlQuery);
+        this(connection, sql, autoGeneratedKeys, ResultSet.TYPE_SCROLL_INSENSITIVE);
+    }
+
+    /**
+     * Constructor.
+     * @param connection connection
+     * @param sql sql query
+     * @param autoGeneratedKeys auto generated keys (after insert).
+     * @param resultSetScrollType result set type
+     * @throws SQLException exception
+     */
+    public MariaDbClientPreparedStatement(MariaDbConnection connection, String sql, int autoGeneratedKeys,
+                                          int resultSetScrollType) throws SQLException {
+        super(connection, autoGeneratedKeys, resultSetScrollType);
+        Options options = protocol.getOptions();
+        boolean rewriteDetection = options.rewriteBatchedStatements || options.allowMultiQueries;
+
+        //parsed query is shared between statements using driver-wide template cache
+        boolean useTemplateCache = options.cachePrepStmts && sql.length() <= options.prepStmtCacheSqlLimit;
+        ClientPrepareTemplateCache.Template template = useTemplateCache
+                ? ClientPrepareTemplateCache.getInstance().get(sql, connection.noBackslashEscapes, rewriteDetection)
+                : null;
+
+        if (template == null) {
+            String sqlQuery;
+            if (rewriteDetection) {
+                sqlQuery = deleteEndSemicolonPattern.matcher(sql).replaceAll("").trim();
+                isInsertRewriteable(sqlQuery);
+            } else {
+                sqlQuery = sql;
+            }
+
+            /*if(log.isDebugEnabled()) {
+                log.debug("Creating prepared statement for " + sql);
+            }*/
+            template = new ClientPrepareTemplateCache.Template(sqlQuery, isRewriteable, firstRewrite,
+                    new MariaDbClientParameterizeQuery(Utils.nativeSql(sqlQuery, connection.noBackslashEscapes),
+                            connection.noBackslashEscapes,
+                            (isRewriteable && firstRewrite != null) ? firstRewrite.length() : -1));
+            if (useTemplateCache) {
+                ClientPrepareTemplateCache.getInstance().put(sql, connection.noBackslashEscapes, rewriteDetection,
+                        template);
+            }
         } else {
-            this.sqlQuery = sql;
+            isRewriteable = template.isRewriteable();
+            firstRewrite = template.getFirstRewrite();
         }
-        useFractionalSeconds = connection.getProtocol().getOptions().useFractionalSeconds;
-
-        /*if(log.isDebugEnabled()) {
-            log.debug("Creating prepared statement for " + sql);
-        }*/
-        query = new MariaDbClientParameterizeQuery(Utils.nativeSql(sqlQuery, connection.noBackslashEscapes),
-                connection.noBackslashEscapes, (isRewriteable && firstRewrite != null) ? firstRewrite.length() : -1);
+        this.sqlQuery = template.getSql();
+        useFractionalSeconds = options.useFractionalSeconds;
+        query = template.newQuery();
         parametersCleared = true;
     }
 
@@ -189,6 +227,16 @@ public class MariaDbClientPreparedStatement extends AbstractMariaDbPrepareStatem
         throw new SQLException("Cannot do addBatch(String) on preparedStatement");
     }
 
+    /**
+     * All batch queries share the same sql : only this sql need to be checked.
+     *
+     * @return true if batch queries can be sent without waiting for each result
+     */
+    @Override
+    protected boolean canBatchMultiSend() {
+        return !isLoadDataInfile(sqlQuery);
+    }
+
     private void checkBatchFields() {
         if (batchQueries == null) {
             batchQueries = new ArrayList<>();
@@ -55,9 +55,11 @@ import org.mariadb.jdbc.internal.util.Options;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.stream.CompressionPolicy;
 
 import java.net.SocketException;
 import java.sql.*;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
@@ -162,9 +164,10 @@ public final class MariaDbConnection implements Connection {
      * <code>ResultSet</code> constants indicating type and concurrency
      */
     public Statement createStatement(final int resultSetType, final int resultSetConcurrency) throws SQLException {
-        // for now resultSetType and resultSetConcurrency are ignored
+        // for now resultSetConcurrency is ignored
         // TODO: fix
-        return createStatement();
+        checkConnection();
+        return new MariaDbStatement(this, Statement.NO_GENERATED_KEYS, resultSetType);
     }
 
     /**
@@ -191,8 +194,64 @@ public final class MariaDbConnection implements Connection {
         if (resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
             throw ExceptionMapper.getFeatureNotSupportedException("Only read-only result sets allowed");
         }
+        checkConnection();
+        return new MariaDbStatement(this, Statement.NO_GENERATED_KEYS, resultSetType);
+    }
+
+    /**
+     * Load rows into a table using "LOAD DATA LOCAL INFILE" command. Rows are encoded while previous rows are send to
+     * server, without any intermediate file.
+     *
+     * @param table table name, used as is in command
+     * @param columns column names, used as is in command. null to load all table columns in table order
+     * @param producer row producer
+     * @return the number of loaded rows
+     * @throws SQLException if a database error occur, or if producer throws an exception
+     * @see MariaDbStatement#executeLoadData(String, LoadDataRowProducer)
+     */
+    public int loadData(String table, String[] columns, LoadDataRowProducer producer) throws SQLException {
+        MariaDbStatement stmt = (MariaDbStatement) createStatement();
+        try {
+            return stmt.executeLoadData(loadDataCommand(table, columns), producer);
+        } finally {
+            stmt.close();
+        }
+    }
+
+    /**
+     * Load rows into a table using "LOAD DATA LOCAL INFILE" command.
+     *
+     * @param table table name, used as is in command
+     * @param columns column names, used as is in command. null to load all table columns in table order
+     * @param rows rows iterator, each row being an array of values in columns order
+     * @return the number of loaded rows
+     * @throws SQLException if a database error occur, or if iterator throws an exception
+     * @see #loadData(String, String[], LoadDataRowProducer)
+     */
+    public int loadData(String table, String[] columns, Iterator<Object[]> rows) throws SQLException {
+        MariaDbStatement stmt = (MariaDbStatement) createStatement();
+        try {
+            return stmt.executeLoadData(loadDataCommand(table, columns), rows);
+        } finally {
+            stmt.close();
+        }
+    }
 
-        return createStatement();
+    private static String loadDataCommand(String table, String[] columns) {
+        StringBuilder sb = new StringBuilder("LOAD DATA LOCAL INFILE 'rows' INTO TABLE ")
+                .append(table)
+                .append(" CHARACTER SET utf8mb4");
+        if (columns != null && columns.length > 0) {
+            sb.append(" (");
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(columns[i]);
+            }
+            sb.append(')');
+        }
+        return sb.toString();
     }
 
     private void checkConnection() throws SQLException {
@@ -237,9 +296,10 @@ public final class MariaDbConnection implements Connection {
      */
     public PreparedStatement prepareStatement(final String sql, final int resultSetType, final int resultSetConcurrency)
             throws SQLException {
-        // for now resultSetType and resultSetConcurrency are ignored
+        // for now resultSetConcurrency is ignored
         // TODO: fix
-        return prepareStatement(sql);
+        return internalPrepareStatement(sql, options.alwaysAutoGeneratedKeys ? Statement.RETURN_GENERATED_KEYS
+                : Statement.NO_GENERATED_KEYS, resultSetType);
     }
 
     /**
@@ -271,9 +331,8 @@ public final class MariaDbConnection implements Connection {
         if (resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
             throw ExceptionMapper.getFeatureNotSupportedException("Only read-only result sets allowed");
         }
-        //TODO : implement parameters
-        // resultSetType is ignored since we always are scroll insensitive
-        return prepareStatement(sql);
+        return internalPrepareStatement(sql, options.alwaysAutoGeneratedKeys ? Statement.RETURN_GENERATED_KEYS
+                : Statement.NO_GENERATED_KEYS, resultSetType);
     }
 
     /**
@@ -368,16 +427,30 @@ public final class MariaDbConnection implements Connection {
      * @throws SQLException if a connection error occur during the server preparation.
      */
     public PreparedStatement internalPrepareStatement(final String sql, final int autoGeneratedKeys) throws SQLException {
+        return internalPrepareStatement(sql, autoGeneratedKeys, ResultSet.TYPE_SCROLL_INSENSITIVE);
+    }
+
+    /**
+     * Send ServerPrepareStatement or ClientPrepareStatement depending on SQL query and options
+     *
+     * @param sql sql query
+     * @param autoGeneratedKeys autoGeneratedKey option
+     * @param resultSetScrollType result set type
+     * @return PrepareStatement
+     * @throws SQLException if a connection error occur during the server preparation.
+     */
+    public PreparedStatement internalPrepareStatement(final String sql, final int autoGeneratedKeys, final int resultSetScrollType)
+            throws SQLException {
         checkConnection();
         if (!options.allowMultiQueries && !options.rewriteBatchedStatements && options.useServerPrepStmts && checkIfPreparable(sql)) {
             try {
-                return new MariaDbServerPreparedStatement(this, sql, autoGeneratedKeys);
+                return new MariaDbServerPreparedStatement(this, sql, autoGeneratedKeys, resultSetScrollType);
             } catch (SQLException e) {
                 //on some specific case, server cannot prepared data (CONJ-238)
-                return new MariaDbClientPreparedStatement(this, sql, autoGeneratedKeys);
+                return new MariaDbClientPreparedStatement(this, sql, autoGeneratedKeys, resultSetScrollType);
             }
         }
-        return new MariaDbClientPreparedStatement(this, sql, autoGeneratedKeys);
+        return new MariaDbClientPreparedStatement(this, sql, autoGeneratedKeys, resultSetScrollType);
     }
 
 
@@ -1248,6 +1321,16 @@ public final class MariaDbConnection implements Connection {
         }
     }
 
+    /**
+     * Get compression counters of connection (compressed packets, compression ratio, ...).
+     *
+     * @return counters snapshot, or null if connection doesn't use compression (option useCompression)
+     */
+    public CompressionStatistics getCompressionStatistics() {
+        CompressionPolicy compressionPolicy = protocol.getCompressionPolicy();
+        return (compressionPolicy != null) ? compressionPolicy.getStatistics() : null;
+    }
+
     public String getSchema() throws SQLException {
         // We support only catalog
         return null;
@@ -97,8 +97,8 @@ public class MariaDbResultSet implements ResultSet {
 
     private static MariaDbResultSet createEmptyResultSet() {
         ColumnInformation[] colList = new ColumnInformation[0];
-        List<ValueObject[]> voList = Collections.emptyList();
-        AbstractQueryResult qr = new CachedSelectResult(colList, voList, (short) 0);
+        List<RowData> rows = Collections.emptyList();
+        AbstractQueryResult qr = new CachedSelectResult(colList, rows, (short) 0, false, null);
         return new MariaDbResultSet(qr, null, null);
     }
 
@@ -124,9 +124,9 @@ public class MariaDbResultSet implements ResultSet {
 
         final byte[] boolTrue = {1};
         final byte[] boolFalse = {0};
-        List<ValueObject[]> rows = new ArrayList<>();
+        List<RowData> rows = new ArrayList<>();
         for (String[] rowData : data) {
-            ValueObject[] row = new ValueObject[columnNameLength];
+            byte[][] row = new byte[columnNameLength][];
 
             if (rowData.length != columnNameLength) {
                 throw new RuntimeException("Number of elements in the row != number of columns :" + rowData.length + " vs " + columnNameLength);
@@ -145,19 +145,19 @@ public class MariaDbResultSet implements ResultSet {
                         bytes = new byte[0];
                     }
                 }
-                row[i] = new MariaDbValueObject(bytes, columns[i], protocol.getOptions());
+                row[i] = bytes;
             }
-            rows.add(row);
+            rows.add(RowData.create(row));
         }
         if (findColumnReturnsOne) {
-            return new MariaDbResultSet(new CachedSelectResult(columns, rows, (short) 0),
+            return new MariaDbResultSet(new CachedSelectResult(columns, rows, (short) 0, false, protocol.getOptions()),
                     null, protocol) {
                 public int findColumn(String name) {
                     return 1;
                 }
             };
         }
-        return new MariaDbResultSet(new CachedSelectResult(columns, rows, (short) 0),
+        return new MariaDbResultSet(new CachedSelectResult(columns, rows, (short) 0, false, protocol.getOptions()),
                 null, protocol);
     }
 
@@ -192,9 +192,9 @@ public class MariaDbResultSet implements ResultSet {
 
         final byte[] boolTrue = {1};
         final byte[] boolFalse = {0};
-        List<ValueObject[]> rows = new ArrayList<>();
+        List<RowData> rows = new ArrayList<>();
         for (String[] rowData : data) {
-            ValueObject[] row = new ValueObject[columnLength];
+            byte[][] row = new byte[columnLength][];
 
             if (rowData.length != columnLength) {
                 throw new RuntimeException("Number of elements in the row != number of columns :" + rowData.length + " vs " + columnLength);
@@ -213,19 +213,19 @@ public class MariaDbResultSet implements ResultSet {
                         bytes = new byte[0];
                     }
                 }
-                row[i] = new MariaDbValueObject(bytes, columns[i], protocol.getOptions());
+                row[i] = bytes;
             }
-            rows.add(row);
+            rows.add(RowData.create(row));
         }
         if (findColumnReturnsOne) {
-            return new MariaDbResultSet(new CachedSelectResult(columns, rows, (short) 0),
+            return new MariaDbResultSet(new CachedSelectResult(columns, rows, (short) 0, false, protocol.getOptions()),
                     null, protocol) {
                 public int findColumn(String name) {
                     return 1;
                 }
             };
         }
-        return new MariaDbResultSet(new CachedSelectResult(columns, rows, (short) 0),
+        return new MariaDbResultSet(new CachedSelectResult(columns, rows, (short) 0, false, protocol.getOptions()),
                 null, protocol);
     }
 
@@ -451,7 +451,7 @@ public class MariaDbResultSet implements ResultSet {
     }
 
     public int getInt(int columnIndex) throws SQLException {
-        return getValueObject(columnIndex).getInt();
+        return getPrimitiveValueObject(columnIndex).getInt();
     }
 
     public int getInt(String columnLabel) throws SQLException {
@@ -472,6 +472,24 @@ public class MariaDbResultSet implements ResultSet {
         throw ExceptionMapper.getSqlException("Cannot get data from update-result sets");
     }
 
+    /**
+     * Get value object for primitive getters. The same value object is reused for all columns and rows,
+     * so it must not be kept after the value has been decoded.
+     */
+    private ValueObject getPrimitiveValueObject(int columnIndex) throws SQLException {
+        if (queryResult.getResultSetType() == ResultSetType.SELECT) {
+            ValueObject vo;
+            try {
+                vo = ((SelectQueryResult) queryResult).getReusableValueObject(columnIndex - 1);
+            } catch (NoSuchColumnException e) {
+                throw ExceptionMapper.getSqlException(e.getMessage(), e);
+            }
+            this.lastGetWasNull = vo.isNull();
+            return vo;
+        }
+        throw ExceptionMapper.getSqlException("Cannot get data from update-result sets");
+    }
+
     /**
      * Retrieves the value of the designated column in the current row of this <code>ResultSet</code> object as a <code>long</code> in the Java
      * programming language.
@@ -487,7 +505,7 @@ public class MariaDbResultSet implements ResultSet {
     }
 
     public long getLong(int columnIndex) throws SQLException {
-        return getValueObject(columnIndex).getLong();
+        return getPrimitiveValueObject(columnIndex).getLong();
     }
 
     /**
@@ -505,7 +523,7 @@ public class MariaDbResultSet implements ResultSet {
     }
 
     public float getFloat(int columnIndex) throws SQLException {
-        return getValueObject(columnIndex).getFloat();
+        return getPrimitiveValueObject(columnIndex).getFloat();
     }
 
 
@@ -525,7 +543,7 @@ public class MariaDbResultSet implements ResultSet {
 
 
     public double getDouble(int columnIndex) throws SQLException {
-        return getValueObject(columnIndex).getDouble();
+        return getPrimitiveValueObject(columnIndex).getDouble();
     }
 
     /**
@@ -1470,7 +1488,8 @@ public class MariaDbResultSet implements ResultSet {
      * @since 1.2
      */
     public int getType() throws SQLException {
-        return (queryResult instanceof StreamingSelectResult) ? ResultSet.TYPE_FORWARD_ONLY : ResultSet.TYPE_SCROLL_INSENSITIVE;
+        return (queryResult instanceof StreamingSelectResult || queryResult instanceof CursorSelectResult)
+                ? ResultSet.TYPE_FORWARD_ONLY : ResultSet.TYPE_SCROLL_INSENSITIVE;
     }
 
     /**
@@ -3449,7 +3468,7 @@ public class MariaDbResultSet implements ResultSet {
 
 
     public boolean getBoolean(int index) throws SQLException {
-        return getValueObject(index).getBoolean();
+        return getPrimitiveValueObject(index).getBoolean();
     }
 
 
@@ -3471,7 +3490,7 @@ public class MariaDbResultSet implements ResultSet {
     }
 
     public byte getByte(int index) throws SQLException {
-        return getValueObject(index).getByte();
+        return getPrimitiveValueObject(index).getByte();
     }
 
     /**
@@ -3489,7 +3508,7 @@ public class MariaDbResultSet implements ResultSet {
     }
 
     public short getShort(int index) throws SQLException {
-        return getValueObject(index).getShort();
+        return getPrimitiveValueObject(index).getShort();
     }
 
     /**
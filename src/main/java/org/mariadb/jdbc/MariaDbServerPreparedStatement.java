@@ -49,8 +49,10 @@ OF SUCH DAMAGE.
 */
 
 import org.mariadb.jdbc.internal.util.ExceptionMapper;
+import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.queryresults.AbstractQueryResult;
 import org.mariadb.jdbc.internal.queryresults.ModifyQueryResult;
 import org.mariadb.jdbc.internal.util.dao.PrepareResult;
 import org.mariadb.jdbc.internal.queryresults.ResultSetType;
@@ -61,8 +63,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
+import java.util.regex.Pattern;
 
 public class MariaDbServerPreparedStatement extends AbstractMariaDbPrepareStatement {
+    private static final Pattern INSERT_PATTERN = Pattern.compile("^\\s*INSERT\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NOT_ONE_ROW_BY_SET_PATTERN = Pattern.compile(
+            "\\bIGNORE\\b|\\bON\\s+DUPLICATE\\s+KEY\\s+UPDATE\\b", Pattern.CASE_INSENSITIVE);
     protected boolean binaryData = true;
     String sql;
     PrepareResult prepareResult;
@@ -72,6 +78,8 @@ public class MariaDbServerPreparedStatement extends AbstractMariaDbPrepareStatem
     MariaDbParameterMetaData parameterMetaData;
     ParameterHolder[] currentParameterHolder;
     List<ParameterHolder[]> queryParameters = new ArrayList<>();
+    String[] rewriteParts;
+    PrepareResult rewritePrepareResult;
 
     /**
      * Constructor for creating Server prepared statement.
@@ -81,7 +89,20 @@ public class MariaDbServerPreparedStatement extends AbstractMariaDbPrepareStatem
      * @throws SQLException exception
      */
     public MariaDbServerPreparedStatement(MariaDbConnection connection, String sql, final int autoGeneratedKeys) throws SQLException {
-        super(connection, autoGeneratedKeys);
+        this(connection, sql, autoGeneratedKeys, ResultSet.TYPE_SCROLL_INSENSITIVE);
+    }
+
+    /**
+     * Constructor for creating Server prepared statement.
+     * @param connection current connection
+     * @param sql Sql String to prepare
+     * @param autoGeneratedKeys must generated keys be retrieved when batch insert ?
+     * @param resultSetScrollType result set type
+     * @throws SQLException exception
+     */
+    public MariaDbServerPreparedStatement(MariaDbConnection connection, String sql, final int autoGeneratedKeys,
+                                          int resultSetScrollType) throws SQLException {
+        super(connection, autoGeneratedKeys, resultSetScrollType);
         useFractionalSeconds = connection.getProtocol().getOptions().useFractionalSeconds;
         this.sql = sql;
         prepare(sql);
@@ -223,9 +244,30 @@ public class MariaDbServerPreparedStatement extends AbstractMariaDbPrepareStatem
             executeQueryProlog();
             try {
                 int queryParameterSize = queryParameters.size();
+                if (protocol.getOptions().useBulkStmts && canExecuteBulk()) {
+                    AbstractQueryResult[] results = new AbstractQueryResult[queryParameterSize];
+                    try {
+                        protocol.executePreparedBulk(sql, queryParameters, prepareResult, parameterTypeHeader, results);
+                    } finally {
+                        updatePrepareResult(results);
+                        counter = setMultiRowResults(results, ret, insertIds);
+                    }
+                } else if (protocol.getOptions().rewriteServerPrepBatchSize > 1 && queryParameterSize > 1
+                        && canRewriteBatch()) {
+                    AbstractQueryResult[] results = new AbstractQueryResult[queryParameterSize];
+                    try {
+                        executeRewrittenBatch(results);
+                    } finally {
+                        counter = setMultiRowResults(results, ret, insertIds);
+                    }
+                } else if (protocol.getOptions().useBatchMultiSend) {
+                    //every execution has a result, successful or not
+                    counter = queryParameterSize;
+                    executeBatchMultiSend(ret, insertIds, parameterTypeHeader);
+                }
                 for (; counter < queryParameterSize; counter++) {
                     queryResult = protocol.executePreparedQuery(sql, queryParameters.get(counter), prepareResult, parameterTypeHeader,
-                            isStreaming());
+                            isStreaming(), 0);
 
                     // in case of failover
                     if (queryResult.getFailureObject() != null) {
@@ -269,13 +311,300 @@ public class MariaDbServerPreparedStatement extends AbstractMariaDbPrepareStatem
     }
 
 
+    /**
+     * Check that batch can be executed with COM_STMT_BULK_EXECUTE : server must support it, statement must not return
+     * a result-set, and parameters must not be streams (long data).
+     *
+     * @return true if bulk execution is possible
+     */
+    private boolean canExecuteBulk() {
+        if (!protocol.supportsBulkOperations() || parameterCount == 0
+                || (prepareResult.getColumns() != null && prepareResult.getColumns().length > 0)) {
+            return false;
+        }
+        for (ParameterHolder[] parameters : queryParameters) {
+            for (ParameterHolder parameter : parameters) {
+                if (parameter.isLongData()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check that batch can be rewritten as multi-rows INSERT : query must be an INSERT ... VALUES with all
+     * parameters in the VALUES parenthesis. Query is split in 3 parts : the part before VALUES parenthesis, the
+     * parenthesis that will be repeated for each row, and the remaining part (ON DUPLICATE KEY UPDATE ...).
+     *
+     * @return true if batch can be rewritten
+     */
+    private boolean canRewriteBatch() {
+        if (rewriteParts == null) {
+            rewriteParts = new String[0];
+            int startBracket = getInsertIncipit(sql);
+            if (startBracket == -1 || parameterCount == 0) {
+                return false;
+            }
+            String prefix = sql.substring(0, startBracket).trim().toUpperCase();
+            if (!prefix.endsWith("VALUES") && !prefix.endsWith("VALUE")) {
+                return false;
+            }
+            int endBracket = getClosingBracket(sql, startBracket, connection.noBackslashEscapes);
+            if (endBracket == -1) {
+                return false;
+            }
+            String values = sql.substring(startBracket, endBracket + 1);
+            if (Utils.createQueryParts(values, connection.noBackslashEscapes).size() - 1 != parameterCount) {
+                return false;
+            }
+            rewriteParts = new String[]{sql.substring(0, startBracket), values, sql.substring(endBracket + 1)};
+        }
+        return rewriteParts.length != 0;
+    }
+
+    /**
+     * Search parenthesis closing the one at the indicated position, ignoring string, identifiers and comments.
+     *
+     * @param sql sql query
+     * @param startBracket opening parenthesis position
+     * @param noBackslashEscapes must backslash be considered as escape character
+     * @return closing parenthesis position, or -1 if not found
+     */
+    private static int getClosingBracket(String sql, int startBracket, boolean noBackslashEscapes) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = startBracket; i < sql.length(); i++) {
+            char car = sql.charAt(i);
+            if (quote != 0) {
+                if (car == '\\' && quote != '`' && !noBackslashEscapes) {
+                    i++;
+                } else if (car == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            switch (car) {
+                case '\'':
+                case '"':
+                case '`':
+                    quote = car;
+                    break;
+                case '(':
+                    depth++;
+                    break;
+                case ')':
+                    if (--depth == 0) {
+                        return i;
+                    }
+                    break;
+                case '#':
+                    //comments in VALUES are not supported
+                    return -1;
+                case '-':
+                case '/':
+                    if (i + 1 < sql.length() && sql.charAt(i + 1) == (car == '-' ? '-' : '*')) {
+                        return -1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Execute batch with multi-rows INSERT : parameters sets are bound to a prepared statement containing
+     * rewriteServerPrepBatchSize rows, and the remaining sets to a statement with the remaining number of rows.
+     * Statement for the complete chunks is kept until this statement is closed.
+     * Each chunk only returns its total of affected rows : update count of each parameters set is then only known for a
+     * plain INSERT (see {@link #setMultiRowResults(AbstractQueryResult[], int[], long[])}).
+     *
+     * @param results result of each parameters set, each one being given the result of the execution that contains it.
+     *                Set to null for parameters sets not executed.
+     * @throws QueryException if any error occur. Following parameters sets are not executed.
+     */
+    private void executeRewrittenBatch(AbstractQueryResult[] results) throws QueryException {
+        int chunkSize = rewriteChunkSize();
+        int size = queryParameters.size();
+        int offset = 0;
+        while (offset < size) {
+            int rows = Math.min(chunkSize, size - offset);
+            String chunkSql;
+            PrepareResult chunkPrepareResult;
+            if (rows == 1) {
+                chunkSql = sql;
+                chunkPrepareResult = prepareResult;
+            } else {
+                chunkSql = rewriteSql(rows);
+                if (rows == chunkSize) {
+                    if (rewritePrepareResult == null) {
+                        rewritePrepareResult = protocol.prepare(chunkSql);
+                    }
+                    chunkPrepareResult = rewritePrepareResult;
+                } else {
+                    chunkPrepareResult = protocol.prepare(chunkSql);
+                }
+            }
+
+            try {
+                ParameterHolder[] parameters = new ParameterHolder[rows * parameterCount];
+                for (int i = 0; i < rows; i++) {
+                    System.arraycopy(queryParameters.get(offset + i), 0, parameters, i * parameterCount, parameterCount);
+                }
+                AbstractQueryResult result = protocol.executePreparedQuery(chunkSql, parameters, chunkPrepareResult,
+                        new MariaDbType[parameters.length], false, 0);
+                Arrays.fill(results, offset, offset + rows, result);
+
+                // in case of failover, statement has been prepared again on new connection
+                if (result.getFailureObject() != null) {
+                    if (chunkPrepareResult == prepareResult) {
+                        prepareResult = result.getFailureObject();
+                    } else if (chunkPrepareResult == rewritePrepareResult) {
+                        rewritePrepareResult = result.getFailureObject();
+                    }
+                    chunkPrepareResult = result.getFailureObject();
+                }
+            } finally {
+                if (chunkPrepareResult != prepareResult && chunkPrepareResult != rewritePrepareResult) {
+                    protocol.releasePrepareStatement(chunkSql, chunkPrepareResult);
+                }
+            }
+            offset += rows;
+        }
+    }
+
+    private int rewriteChunkSize() {
+        //a prepared statement cannot have more than 65535 parameters
+        return Math.max(1, Math.min(protocol.getOptions().rewriteServerPrepBatchSize, 65535 / parameterCount));
+    }
+
+    private String rewriteSql(int rows) {
+        StringBuilder sb = new StringBuilder(rewriteParts[0].length() + rows * (rewriteParts[1].length() + 1)
+                + rewriteParts[2].length());
+        sb.append(rewriteParts[0]).append(rewriteParts[1]);
+        for (int i = 1; i < rows; i++) {
+            sb.append(',').append(rewriteParts[1]);
+        }
+        return sb.append(rewriteParts[2]).toString();
+    }
+
+    /**
+     * In case of failover, statement has been prepared again on new connection : use new prepare result.
+     *
+     * @param results batch results
+     */
+    private void updatePrepareResult(AbstractQueryResult[] results) {
+        for (AbstractQueryResult result : results) {
+            if (result != null && result.getFailureObject() != null) {
+                prepareResult = result.getFailureObject();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Set update counts and insert ids from results that each correspond to many parameters sets (bulk command or
+     * multi-rows INSERT). Such a result only has the total of affected rows : for a plain INSERT, if total corresponds
+     * to the number of parameters sets, each one has an update count of 1. In any other case (UPDATE, DELETE,
+     * INSERT IGNORE, ON DUPLICATE KEY UPDATE ...), a total equal to the number of sets can be a coincidence, so update
+     * count is unknown (SUCCESS_NO_INFO) and insert ids are not extrapolated.
+     *
+     * @param results result of each parameters set, null if not executed
+     * @param ret update counts
+     * @param insertIds insert ids, null if not needed
+     * @return number of executed parameters sets
+     */
+    private int setMultiRowResults(AbstractQueryResult[] results, int[] ret, long[] insertIds) {
+        boolean plainInsert = isPlainInsert();
+        int autoIncrementIncrement = 0;
+        int index = 0;
+        while (index < results.length && results[index] != null) {
+            AbstractQueryResult result = results[index];
+            int end = index + 1;
+            while (end < results.length && results[end] == result) {
+                end++;
+            }
+            queryResult = result;
+            long updateCount = -1;
+            long insertId = 0;
+            if (result.getResultSetType() == ResultSetType.MODIFY) {
+                updateCount = ((ModifyQueryResult) result).getUpdateCount();
+                insertId = ((ModifyQueryResult) result).getInsertId();
+            }
+            boolean oneByExecution = plainInsert && updateCount == end - index;
+            if (insertIds != null && oneByExecution && insertId > 0 && autoIncrementIncrement == 0) {
+                autoIncrementIncrement = connection.getAutoIncrementIncrement();
+            }
+            for (int i = index; i < end; i++) {
+                ret[i] = oneByExecution ? 1 : SUCCESS_NO_INFO;
+                if (insertIds != null) {
+                    insertIds[i] = (oneByExecution && insertId > 0) ? insertId + (i - index) * autoIncrementIncrement : 0;
+                }
+            }
+            index = end;
+        }
+        return index;
+    }
+
+    /**
+     * Check that query is an INSERT that affects exactly one row by parameters set when successful : not an
+     * INSERT IGNORE, nor an INSERT ... ON DUPLICATE KEY UPDATE.
+     *
+     * @return true if query is a plain INSERT
+     */
+    private boolean isPlainInsert() {
+        return INSERT_PATTERN.matcher(sql).find() && !NOT_ONE_ROW_BY_SET_PATTERN.matcher(sql).find();
+    }
+
+    /**
+     * Execute batch without waiting for each result. Update counts and insert ids are set even if an execution failed,
+     * with EXECUTE_FAILED for failed executions.
+     *
+     * @param ret update counts
+     * @param insertIds insert ids, null if not needed
+     * @param parameterTypeHeader parameters type header
+     * @throws QueryException first execution error
+     */
+    private void executeBatchMultiSend(int[] ret, long[] insertIds, MariaDbType[] parameterTypeHeader) throws QueryException {
+        AbstractQueryResult[] results = new AbstractQueryResult[queryParameters.size()];
+        try {
+            protocol.executePreparedBatch(sql, queryParameters, prepareResult, parameterTypeHeader, results);
+        } finally {
+            updatePrepareResult(results);
+            for (int i = 0; i < results.length; i++) {
+                AbstractQueryResult result = results[i];
+                if (result == null) {
+                    ret[i] = EXECUTE_FAILED;
+                } else {
+                    queryResult = result;
+                    if (result.getResultSetType() == ResultSetType.MODIFY) {
+                        ret[i] = (int) ((ModifyQueryResult) result).getUpdateCount();
+                    } else {
+                        ret[i] = SUCCESS_NO_INFO;
+                        result.close();
+                    }
+                }
+                if (insertIds != null) {
+                    insertIds[i] = (result != null && result.getResultSetType() == ResultSetType.MODIFY)
+                            ? ((ModifyQueryResult) result).getInsertId() : 0;
+                }
+            }
+        }
+    }
+
     private boolean executeInternal(ParameterHolder[] parameters, MariaDbType[] parameterTypeHeader) throws SQLException {
         executing = true;
         QueryException exception = null;
         executeQueryProlog();
         try {
             batchResultSet = null;
-            queryResult = protocol.executePreparedQuery(sql, parameters, prepareResult, parameterTypeHeader, isStreaming());
+            //fetch size is only used for cursor fetch : cursor result sets cannot be scrolled
+            int cursorFetchSize = (protocol.getOptions().useCursorFetch
+                    && resultSetScrollType == ResultSet.TYPE_FORWARD_ONLY) ? getFetchSize() : 0;
+            queryResult = protocol.executePreparedQuery(sql, parameters, prepareResult, parameterTypeHeader, isStreaming(),
+                    cursorFetchSize);
 
             // in case of failover
             if (queryResult.getFailureObject() != null) {
@@ -405,6 +734,9 @@ public class MariaDbServerPreparedStatement extends AbstractMariaDbPrepareStatem
             if (protocol != null && protocol.isConnected()) {
                 try {
                     protocol.releasePrepareStatement(sql, prepareResult);
+                    if (rewritePrepareResult != null) {
+                        protocol.releasePrepareStatement(rewriteSql(rewriteChunkSize()), rewritePrepareResult);
+                    }
                 } catch (QueryException e) {
                     //if (log.isDebugEnabled()) log.debug("Error releasing preparedStatement", e);
                 }
@@ -102,6 +102,7 @@ public class MariaDbStatement implements Statement {
     private int fetchSize;
     private boolean isStreaming = false;
     private int maxRows;
+    protected final int resultSetScrollType;
     protected final ReentrantLock lock;
 
     public static final Pattern deleteEndSemicolonPattern = Pattern.compile("[;][ ]*$", Pattern.CASE_INSENSITIVE);
@@ -113,6 +114,19 @@ public class MariaDbStatement implements Statement {
      * @param autoGeneratedKeys generatedKey information (Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS)
      */
     public MariaDbStatement(MariaDbConnection connection, int autoGeneratedKeys) {
+        this(connection, autoGeneratedKeys, ResultSet.TYPE_SCROLL_INSENSITIVE);
+    }
+
+    /**
+     * Creates a new Statement.
+     *
+     * @param connection the connection to return in getConnection.
+     * @param autoGeneratedKeys generatedKey information (Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS)
+     * @param resultSetScrollType result set type (ResultSet.TYPE_FORWARD_ONLY, ResultSet.TYPE_SCROLL_INSENSITIVE or
+     *                            ResultSet.TYPE_SCROLL_SENSITIVE)
+     */
+    public MariaDbStatement(MariaDbConnection connection, int autoGeneratedKeys, int resultSetScrollType) {
+        this.resultSetScrollType = resultSetScrollType;
         this.autoGeneratedKeys = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS;
         this.protocol = connection.getProtocol();
         this.connection = connection;
@@ -704,6 +718,46 @@ public class MariaDbStatement implements Statement {
         protocol.setLocalInfileInputStream(inputStream);
     }
 
+    /**
+     * Executes a "LOAD DATA LOCAL INFILE" command, sending rows written by producer instead of a file content.
+     * The name specified as local file/URL will be ignored. Rows are written in LOAD DATA default format, so command
+     * must not specify FIELDS or LINES options. Rows are encoded while previous rows are send to server.
+     *
+     * @param sql "LOAD DATA LOCAL INFILE" command
+     * @param producer row producer
+     * @return the update count
+     * @throws SQLException if a database error occur, or if producer throws an exception
+     */
+    public int executeLoadData(String sql, LoadDataRowProducer producer) throws SQLException {
+        checkClose();
+        protocol.setLocalInfileRowProducer(producer);
+        try {
+            return executeUpdate(sql);
+        } finally {
+            protocol.setLocalInfileRowProducer(null);
+        }
+    }
+
+    /**
+     * Executes a "LOAD DATA LOCAL INFILE" command, sending rows instead of a file content.
+     *
+     * @param sql "LOAD DATA LOCAL INFILE" command
+     * @param rows rows iterator, each row being an array of values in LOAD DATA column order
+     * @return the update count
+     * @throws SQLException if a database error occur, or if iterator throws an exception
+     * @see #executeLoadData(String, LoadDataRowProducer)
+     */
+    public int executeLoadData(String sql, final Iterator<Object[]> rows) throws SQLException {
+        return executeLoadData(sql, new LoadDataRowProducer() {
+            @Override
+            public void produceRows(LoadDataRowWriter writer) throws IOException {
+                while (rows.hasNext()) {
+                    writer.writeRow(rows.next());
+                }
+            }
+        });
+    }
+
     /**
      * Cancels this <code>Statement</code> object if both the DBMS and driver support aborting an SQL statement. This method can be used by one thread
      * to cancel a statement that is being executed by another thread.
@@ -1078,8 +1132,7 @@ public class MariaDbStatement implements Statement {
      * @since 1.2
      */
     public int getResultSetType() throws SQLException {
-        // TODO: this will change when the async protocol is implemented
-        return ResultSet.TYPE_SCROLL_INSENSITIVE;
+        return resultSetScrollType;
     }
 
     /**
@@ -1232,6 +1285,10 @@ public class MariaDbStatement implements Statement {
                 boolean rewrittenBatch = isRewriteable && protocol.getOptions().rewriteBatchedStatements;
                 execute(batchQueries, rewrittenBatch, (rewrittenBatch && firstRewrite != null) ? firstRewrite.length() : 0);
                 return rewrittenBatch ? getUpdateCountsForReWrittenBatch(size) : getUpdateRewrittenCounts();
+            } else if (protocol.getOptions().useBatchMultiSend && canBatchMultiSend()) {
+                //every query has a result, successful or not
+                batchQueriesCount = batchQueries.size();
+                rs = executeBatchMultiSend(ret);
             } else {
                 for (; batchQueriesCount < batchQueries.size(); batchQueriesCount++) {
                     execute(batchQueries.get(batchQueriesCount));
@@ -1261,6 +1318,68 @@ public class MariaDbStatement implements Statement {
         return ret;
     }
 
+    /**
+     * Can batch queries be sent without waiting for each result.
+     * LOAD DATA LOCAL INFILE cannot : server would read the following queries as file content.
+     *
+     * @return true if batch queries can be sent without waiting for each result
+     */
+    protected boolean canBatchMultiSend() {
+        for (Query query : batchQueries) {
+            if (isLoadDataInfile(query.toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected static boolean isLoadDataInfile(String sql) {
+        return sql.toUpperCase(Locale.ROOT).contains("INFILE");
+    }
+
+    /**
+     * Execute batch queries, each one in its own packet, without waiting for each result.
+     * Update counts are set even if a query failed, with EXECUTE_FAILED for failed queries.
+     *
+     * @param ret update counts
+     * @return generated keys if asked, null otherwise
+     * @throws SQLException first query error
+     */
+    private MariaDbResultSet executeBatchMultiSend(int[] ret) throws SQLException {
+        AbstractQueryResult[] results = new AbstractQueryResult[batchQueries.size()];
+        MariaDbResultSet rs = null;
+        executing = true;
+        QueryException exception = null;
+        executeQueryProlog();
+        try {
+            batchResultSet = null;
+            protocol.executeBatchMultiSend(batchQueries, results);
+        } catch (QueryException e) {
+            exception = e;
+        } finally {
+            Query failedQuery = null;
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    ret[i] = EXECUTE_FAILED;
+                    if (failedQuery == null) {
+                        failedQuery = batchQueries.get(i);
+                    }
+                    continue;
+                }
+                queryResult = results[i];
+                int updateCount = getUpdateCount();
+                ret[i] = (updateCount == -1) ? SUCCESS_NO_INFO : updateCount;
+                if (autoGeneratedKeys) {
+                    rs = (rs == null) ? (MariaDbResultSet) getInternalGeneratedKeys()
+                            : rs.joinResultSets((MariaDbResultSet) getInternalGeneratedKeys());
+                }
+            }
+            executing = false;
+            executeQueryEpilog(exception, (failedQuery != null) ? failedQuery : batchQueries.get(0));
+        }
+        return rs;
+    }
+
     /**
      * Retrieves the update counts for the batched statements rewritten as a multi query. The rewritten statement must have been executed already.
      *
@@ -51,6 +51,7 @@ package org.mariadb.jdbc.internal;
 
 public class MariaDbServerCapabilities {
     public static final int LONG_PASSWORD = 1;       /* new more secure passwords */
+    public static final int CLIENT_MYSQL = 1;        /* MySQL client/server : MariaDB extended capabilities are ignored */
     public static final int FOUND_ROWS = 2;       /* Found instead of affected rows */
     public static final int LONG_FLAG = 4;       /* Get all column flags */
     public static final int CONNECT_WITH_DB = 8;     /* One can specify db on connect */
@@ -69,5 +70,10 @@ public class MariaDbServerCapabilities {
     public static final int MULTI_STATEMENTS = 1 << 16; /* Enable/disable multi-stmt support */
     public static final int MULTI_RESULTS = 1 << 17;    /* Enable/disable multi-results */
     public static final int PLUGIN_AUTH = 1 << 19;      /* Client supports plugin authentication */
+    public static final int CLIENT_ZSTD_COMPRESSION_ALGORITHM = 1 << 26; /* Can use zstd compression protocol */
     public static final int PROGRESS = 1 << 29;         /* Client support progress indicator */
+
+    /* MariaDB extended capabilities, exchanged in handshake filler when CLIENT_MYSQL is not set */
+    public static final long MARIADB_CLIENT_STMT_BULK_OPERATIONS = 1L << 34; /* COM_STMT_BULK_EXECUTE support */
+    public static final long MARIADB_CLIENT_CACHE_METADATA = 1L << 36; /* Metadata of prepared statement can be skipped */
 }
\ No newline at end of file
@@ -60,11 +60,14 @@ import org.mariadb.jdbc.internal.query.MariaDbQuery;
 import org.mariadb.jdbc.internal.query.Query;
 import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.queryresults.AbstractQueryResult;
 import org.mariadb.jdbc.internal.failover.tools.SearchFilter;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.*;
@@ -277,11 +280,18 @@ public abstract class AbstractMastersListener implements Listener {
                 //the statementId has been discarded with previous session
                 try {
                     Method methodFailure = currentProtocol.getClass().getDeclaredMethod("executePreparedQueryAfterFailover",
-                            String.class, ParameterHolder[].class, PrepareResult.class, MariaDbType[].class, boolean.class);
+                            String.class, ParameterHolder[].class, PrepareResult.class, MariaDbType[].class, boolean.class, int.class);
                     handleErrorResult.resultObject = methodFailure.invoke(currentProtocol, args);
                     handleErrorResult.mustThrowError = false;
                 } catch (Exception e) {
                 }
+            } else if ("executePreparedBatch".equals(method.getName()) || "executePreparedBulk".equals(method.getName())) {
+                //the statementId has been discarded with previous session
+                try {
+                    relaunchPreparedBatch(method.getName(), args);
+                    handleErrorResult.mustThrowError = false;
+                } catch (QueryException e) {
+                }
             } else {
                 handleErrorResult.resultObject = method.invoke(currentProtocol, args);
                 handleErrorResult.mustThrowError = false;
@@ -290,6 +300,20 @@ public abstract class AbstractMastersListener implements Listener {
         return handleErrorResult;
     }
 
+    @SuppressWarnings("unchecked")
+    private void relaunchPreparedBatch(String methodName, Object[] args) throws QueryException {
+        AbstractQueryResult[] results = (AbstractQueryResult[]) args[4];
+        //results of the failed execution are not valid
+        Arrays.fill(results, null);
+        if ("executePreparedBatch".equals(methodName)) {
+            currentProtocol.executePreparedBatchAfterFailover((String) args[0], (List<ParameterHolder[]>) args[1],
+                    (PrepareResult) args[2], (MariaDbType[]) args[3], results);
+        } else {
+            currentProtocol.executePreparedBulkAfterFailover((String) args[0], (List<ParameterHolder[]>) args[1],
+                    (PrepareResult) args[2], (MariaDbType[]) args[3], results);
+        }
+    }
+
     /**
      * Check if query can be re-executed.
      * @param method invoke method
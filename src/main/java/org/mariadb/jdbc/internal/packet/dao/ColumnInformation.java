@@ -50,14 +50,17 @@ OF SUCH DAMAGE.
 package org.mariadb.jdbc.internal.packet.dao;
 
 import org.mariadb.jdbc.internal.MariaDbType;
-import org.mariadb.jdbc.internal.util.buffer.Reader;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
+import org.mariadb.jdbc.internal.protocol.MasterProtocol;
 import org.mariadb.jdbc.internal.util.constant.ColumnFlags;
+import org.mariadb.jdbc.internal.util.dao.QueryException;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.sql.Types;
+import java.util.Arrays;
 
 public class ColumnInformation {
     // This array stored character length for every collation id up to collation id 256
@@ -98,7 +101,11 @@ public class ColumnInformation {
             4, 4, 4, 4, 0, 4, 0, 0,
             0, 0, 0, 0, 0, 0, 0, 0
     };
-    ByteBuffer buffer;
+    private static final int NAME_INDEX = 4;
+
+    private byte[] buf;
+    private int offset;
+    private String[] names;
     private short charsetNumber;
     private long length;
     private MariaDbType type;
@@ -114,9 +121,20 @@ public class ColumnInformation {
      * @param buffer buffer
      */
     public ColumnInformation(ByteBuffer buffer) {
-        this.buffer = buffer;
-        buffer.mark();
-        Reader reader = new Reader(buffer);
+        this(copy(buffer), 0);
+    }
+
+    /**
+     * Read column information from a column definition packet content.
+     * Only fixed-length fields are decoded, catalog/schema/table/name strings are decoded on first access from buf,
+     * that must not be modified afterward.
+     *
+     * @param buf buffer containing column definition
+     * @param offset column definition position in buffer
+     */
+    public ColumnInformation(byte[] buf, int offset) {
+        this.buf = buf;
+        this.offset = offset;
 
         /*
         lenenc_str     catalog
@@ -134,18 +152,13 @@ public class ColumnInformation {
         2              filler [00] [00]
 
          */
-        reader.skipLengthEncodedBytes();  /* catalog */
-        reader.skipLengthEncodedBytes();  /* db */
-        reader.skipLengthEncodedBytes();  /* table */
-        reader.skipLengthEncodedBytes();  /* original table */
-        reader.skipLengthEncodedBytes();  /* name */
-        reader.skipLengthEncodedBytes();  /* org_name */
-        reader.skipBytes(1);
-        charsetNumber = reader.readShort();
-        length = reader.readInt();
-        type = MariaDbType.fromServer(reader.readByte() & 0xff);
-        flags = reader.readShort();
-        decimals = reader.readByte();
+        int pos = skipStrings(6) + 1;
+        charsetNumber = (short) ((buf[pos] & 0xff) | ((buf[pos + 1] & 0xff) << 8));
+        length = ((buf[pos + 2] & 0xff) | ((buf[pos + 3] & 0xff) << 8) | ((buf[pos + 4] & 0xff) << 16)
+                | ((buf[pos + 5] & 0xff) << 24));
+        type = MariaDbType.fromServer(buf[pos + 6] & 0xff);
+        flags = (short) ((buf[pos + 7] & 0xff) | ((buf[pos + 8] & 0xff) << 8));
+        decimals = buf[pos + 9];
 
 
         int sqlType = type.getSqlType();
@@ -157,6 +170,80 @@ public class ColumnInformation {
         }
     }
 
+    /**
+     * Read column definition packets in one shared buffer, without intermediate packet allocation.
+     *
+     * @param packetFetcher packet fetcher
+     * @param count number of column definition packets
+     * @return columns information
+     * @throws IOException if any connection error occur
+     * @throws QueryException if a column definition packet is malformed
+     */
+    public static ColumnInformation[] readColumns(ReadPacketFetcher packetFetcher, int count)
+            throws IOException, QueryException {
+        byte[] metadata = new byte[count * 64];
+        int[] offsets = new int[count];
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+            ByteBuffer buffer = packetFetcher.getReusableBuffer();
+            int packetLength = buffer.remaining();
+            if (metadata.length - position < packetLength) {
+                metadata = Arrays.copyOf(metadata, Math.max(metadata.length * 2, position + packetLength));
+            }
+            buffer.get(metadata, position, packetLength);
+            offsets[i] = position;
+            position += packetLength;
+        }
+        ColumnInformation[] columns = new ColumnInformation[count];
+        for (int i = 0; i < count; i++) {
+            try {
+                columns[i] = new ColumnInformation(metadata, offsets[i]);
+            } catch (IndexOutOfBoundsException e) {
+                int end = (i + 1 < count) ? offsets[i + 1] : position;
+                throw new QueryException("Error when trying to parse field stream : " + e + ",stream content (hex) = "
+                        + MasterProtocol.hexdump(ByteBuffer.wrap(metadata, offsets[i], end - offsets[i]), 0),
+                        0, "HY000", e);
+            }
+        }
+        return columns;
+    }
+
+    private static byte[] copy(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Position after the first length encoded strings.
+     * @param count number of strings to skip
+     * @return position
+     */
+    private int skipStrings(int count) {
+        int pos = offset;
+        for (int i = 0; i < count; i++) {
+            int type = buf[pos++] & 0xff;
+            switch (type) {
+                case 251:
+                    break;
+                case 252:
+                    pos += 2 + ((buf[pos] & 0xff) | ((buf[pos + 1] & 0xff) << 8));
+                    break;
+                case 253:
+                    pos += 3 + ((buf[pos] & 0xff) | ((buf[pos + 1] & 0xff) << 8) | ((buf[pos + 2] & 0xff) << 16));
+                    break;
+                case 254:
+                    pos += 8 + ((buf[pos] & 0xff) | ((buf[pos + 1] & 0xff) << 8) | ((buf[pos + 2] & 0xff) << 16)
+                            | ((buf[pos + 3] & 0xff) << 24));
+                    break;
+                default:
+                    pos += type;
+                    break;
+            }
+        }
+        return pos;
+    }
+
     /**
      * Constructor.
      * @param name column name
@@ -204,18 +291,49 @@ public class ColumnInformation {
         }
     }
 
+    /**
+     * Decode string on first access.
+     * @param idx string index in column definition
+     * @return string value
+     */
     private String getString(int idx) {
-        try {
-            buffer.reset();
-            buffer.mark();
-            Reader reader = new Reader(buffer);
-            for (int i = 0; i < idx; i++) {
-                reader.skipLengthEncodedBytes();
+        String[] strings = names;
+        if (strings == null) {
+            strings = new String[6];
+            names = strings;
+        }
+        String value = strings[idx];
+        if (value == null) {
+            int pos = skipStrings(idx);
+            int type = buf[pos] & 0xff;
+            int stringLength;
+            switch (type) {
+                case 251:
+                    stringLength = 0;
+                    pos += 1;
+                    break;
+                case 252:
+                    stringLength = (buf[pos + 1] & 0xff) | ((buf[pos + 2] & 0xff) << 8);
+                    pos += 3;
+                    break;
+                case 253:
+                    stringLength = (buf[pos + 1] & 0xff) | ((buf[pos + 2] & 0xff) << 8) | ((buf[pos + 3] & 0xff) << 16);
+                    pos += 4;
+                    break;
+                case 254:
+                    stringLength = (buf[pos + 1] & 0xff) | ((buf[pos + 2] & 0xff) << 8) | ((buf[pos + 3] & 0xff) << 16)
+                            | ((buf[pos + 4] & 0xff) << 24);
+                    pos += 9;
+                    break;
+                default:
+                    stringLength = type;
+                    pos += 1;
+                    break;
             }
-            return new String(reader.getLengthEncodedBytes(), StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            throw new RuntimeException("this does not happen", e);
+            value = new String(buf, pos, stringLength, StandardCharsets.UTF_8);
+            strings[idx] = value;
         }
+        return value;
     }
 
     public String getCatalog() {
@@ -235,7 +353,7 @@ public class ColumnInformation {
     }
 
     public String getName() {
-        return getString(4);
+        return getString(NAME_INDEX);
     }
 
     public String getOriginalName() {
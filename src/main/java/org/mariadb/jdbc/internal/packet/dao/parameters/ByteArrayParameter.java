@@ -70,6 +70,10 @@ public class ByteArrayParameter extends NotLongDataParameterHolder {
     }
 
 
+    public void writeTo(final PacketOutputStream os) throws IOException {
+        ParameterWriter.write(os, bytes, noBackslashEscapes);
+    }
+
     public long getApproximateTextProtocolLength() {
         return bytes.length * 2;
     }
@@ -68,8 +68,12 @@ public class ByteParameter extends NotLongDataParameterHolder {
         os.write(String.valueOf(value).getBytes());
     }
 
+    public void writeTo(final PacketOutputStream os) throws IOException {
+        ParameterWriter.write(os, (long) value);
+    }
+
     public long getApproximateTextProtocolLength() {
-        return String.valueOf(value).getBytes().length * 2;
+        return ParameterWriter.textLength(value);
     }
 
     public void writeBinary(PacketOutputStream writeBuffer) {
@@ -84,11 +84,7 @@ public class DateParameter extends NotLongDataParameterHolder {
      * @param os output buffer
      */
     public void writeTo(OutputStream os) throws IOException {
-        if (options.useLegacyDatetimeCode || options.maximizeMysqlCompatibility) {
-            calendar = Calendar.getInstance();
-        }
-        calendar.setTimeInMillis(date.getTime());
-        ParameterWriter.writeDate(os, calendar);
+        ParameterWriter.writeDate(os, date.getTime());
     }
 
     public long getApproximateTextProtocolLength() {
@@ -67,8 +67,12 @@ public class LongParameter extends NotLongDataParameterHolder {
         os.write(String.valueOf(value).getBytes());
     }
 
+    public void writeTo(final PacketOutputStream os) throws IOException {
+        ParameterWriter.write(os, value);
+    }
+
     public long getApproximateTextProtocolLength() {
-        return String.valueOf(value).getBytes().length;
+        return ParameterWriter.textLength(value);
     }
 
     public void writeBinary(PacketOutputStream writeBuffer) {
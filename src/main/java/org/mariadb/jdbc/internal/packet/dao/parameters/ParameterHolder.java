@@ -67,6 +67,17 @@ public abstract class ParameterHolder implements Cloneable {
      */
     public abstract void writeTo(OutputStream os) throws IOException;
 
+    /**
+     * Write parameter value in text format to packet.
+     * Default implementation use {@link #writeTo(OutputStream)}, parameters can write directly to packet buffer.
+     *
+     * @param os the packet stream to write to
+     * @throws IOException when something goes wrong
+     */
+    public void writeTo(PacketOutputStream os) throws IOException {
+        writeTo((OutputStream) os);
+    }
+
     public abstract long getApproximateTextProtocolLength() throws IOException;
 
     /**
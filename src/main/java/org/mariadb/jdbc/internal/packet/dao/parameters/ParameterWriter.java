@@ -1,5 +1,11 @@
 package org.mariadb.jdbc.internal.packet.dao.parameters;
 
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+import org.mariadb.jdbc.internal.util.ByteArrayBuffer;
+import org.mariadb.jdbc.internal.util.TemporalCodec;
+import org.mariadb.jdbc.internal.util.UnsafeString;
+import org.mariadb.jdbc.internal.util.Utf8;
+
 import java.io.*;
 import java.math.BigDecimal;
 import java.sql.Time;
@@ -15,6 +21,12 @@ import java.util.Calendar;
 public class ParameterWriter {
     private static final byte[] BINARY_INTRODUCER = {'_', 'b', 'i', 'n', 'a', 'r', 'y', ' ', '\''};
     private static final byte[] QUOTE = {'\''};
+    private static final byte[] LONG_MIN_VALUE = String.valueOf(Long.MIN_VALUE).getBytes();
+    //size of blocks written to packet buffer before checking if full packets can be streamed
+    private static final int STREAM_CHUNK = 8192;
+    //read buffer is reused : it must not be bigger than 1024 bytes, bigger arrays being referenced by packet buffer
+    //instead of being copied
+    private static final int STREAM_READ_CHUNK = 1024;
 
     private static void writeBytesEscaped(OutputStream out, byte[] bytes, int count, boolean noBackslashEscapes)
             throws IOException {
@@ -79,6 +91,175 @@ public class ParameterWriter {
         out.write(QUOTE);
     }
 
+    /**
+     * Write escaped bytes directly to packet buffer. Bytes between escaped characters are copied by block.
+     */
+    private static void writeBytesEscaped(ByteArrayBuffer buffer, byte[] bytes, int off, int len,
+                                          boolean noBackslashEscapes) {
+        int end = off + len;
+        int start = off;
+        for (int i = off; i < end; i++) {
+            byte bit = bytes[i];
+            boolean escape = noBackslashEscapes ? bit == '\''
+                    : (bit == '\\' || bit == '\'' || bit == '"' || bit == 0);
+            if (escape) {
+                buffer.put(bytes, start, i - start);
+                buffer.put(noBackslashEscapes ? (byte) '\'' : (byte) '\\');
+                start = i;
+            }
+        }
+        buffer.put(bytes, start, end - start);
+    }
+
+    /**
+     * Write byte array in text format directly to packet buffer. Bytes between escaped characters are copied by block.
+     * When packet stream is streaming, full packets are send by block, so escaped value is never entirely buffered.
+     * @param out packet stream
+     * @param bytes byte array to send
+     * @param noBackslashEscapes must backslash be escape
+     * @throws IOException if any error occur when sending full packets
+     */
+    public static void write(PacketOutputStream out, byte[] bytes, boolean noBackslashEscapes) throws IOException {
+        ByteArrayBuffer buffer = out.buffer;
+        buffer.put(BINARY_INTRODUCER, 0, BINARY_INTRODUCER.length);
+        for (int off = 0; off < bytes.length; off += STREAM_CHUNK) {
+            writeBytesEscaped(buffer, bytes, off, Math.min(STREAM_CHUNK, bytes.length - off), noBackslashEscapes);
+            out.flushFullPackets();
+        }
+        buffer.put((byte) '\'');
+    }
+
+    /**
+     * Write stream in text format directly to packet buffer, chunk by chunk. When packet stream is streaming, full
+     * packets are send as soon as possible, so stream is never entirely buffered.
+     * @param out packet stream
+     * @param is input stream to write
+     * @param length max inputstream length to write (Long.MAX_VALUE to write whole stream)
+     * @param noBackslashEscapes must backslash be escape
+     * @throws IOException if any error occur when reading stream or sending full packets
+     */
+    public static void write(PacketOutputStream out, InputStream is, long length, boolean noBackslashEscapes)
+            throws IOException {
+        ByteArrayBuffer buffer = out.buffer;
+        buffer.put((byte) '\'');
+        byte[] chunk = new byte[STREAM_READ_CHUNK];
+        long bytesLeft = length;
+        int len;
+        while (bytesLeft > 0 && (len = is.read(chunk, 0, (int) Math.min(bytesLeft, chunk.length))) > 0) {
+            writeBytesEscaped(buffer, chunk, 0, len, noBackslashEscapes);
+            bytesLeft -= len;
+            out.flushFullPackets();
+        }
+        buffer.put((byte) '\'');
+    }
+
+    /**
+     * Write reader in text format directly to packet buffer, chunk by chunk : chars are escaped and utf-8 encoded in
+     * one pass. When packet stream is streaming, full packets are send as soon as possible, so reader content is never
+     * entirely buffered.
+     * @param out packet stream
+     * @param reader reader to write
+     * @param length reader max length to write (Long.MAX_VALUE to write whole reader)
+     * @param noBackslashEscapes must backslash be escape
+     * @throws IOException if any error occur when reading reader or sending full packets
+     */
+    public static void write(PacketOutputStream out, java.io.Reader reader, long length, boolean noBackslashEscapes)
+            throws IOException {
+        ByteArrayBuffer buffer = out.buffer;
+        buffer.put((byte) '\'');
+        char[] chunk = new char[STREAM_CHUNK];
+        long charsLeft = length;
+        int carry = 0;
+        int len;
+        while (charsLeft > 0
+                && (len = reader.read(chunk, carry, (int) Math.min(charsLeft, chunk.length - carry))) > 0) {
+            charsLeft -= len;
+            int end = carry + len;
+            //a high surrogate ending chunk is written with the low surrogate beginning next chunk
+            int writeEnd = (charsLeft > 0 && Character.isHighSurrogate(chunk[end - 1])) ? end - 1 : end;
+            Utf8.writeEscaped(buffer, chunk, 0, writeEnd, noBackslashEscapes);
+            carry = end - writeEnd;
+            if (carry > 0) {
+                chunk[0] = chunk[writeEnd];
+            }
+            out.flushFullPackets();
+        }
+        if (carry > 0) {
+            Utf8.writeEscaped(buffer, chunk, 0, carry, noBackslashEscapes);
+        }
+        buffer.put((byte) '\'');
+    }
+
+    /**
+     * Write string in text format directly to packet buffer : string is escaped and utf-8 encoded in one pass,
+     * without intermediate byte array.
+     * @param out packet stream
+     * @param value String value to send
+     * @param noBackslashEscapes must backslash be escape
+     */
+    public static void write(PacketOutputStream out, String value, boolean noBackslashEscapes) {
+        ByteArrayBuffer buffer = out.buffer;
+        buffer.put((byte) '\'');
+        Utf8.writeEscaped(buffer, UnsafeString.getChars(value), 0, value.length(), noBackslashEscapes);
+        buffer.put((byte) '\'');
+    }
+
+    /**
+     * Length of string written in text format.
+     * @param value String value
+     * @param noBackslashEscapes must backslash be escape
+     * @return length in bytes
+     */
+    public static long textLength(String value, boolean noBackslashEscapes) {
+        return 2 + Utf8.escapedLength(UnsafeString.getChars(value), 0, value.length(), noBackslashEscapes);
+    }
+
+    /**
+     * Write integer value in text format directly to packet buffer, without creating intermediate String.
+     * @param out packet stream
+     * @param value value to send
+     */
+    public static void write(PacketOutputStream out, long value) {
+        ByteArrayBuffer buffer = out.buffer;
+        if (value == Long.MIN_VALUE) {
+            buffer.put(LONG_MIN_VALUE, 0, LONG_MIN_VALUE.length);
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            buffer.put((byte) ('0' + (value / divisor) % 10));
+            divisor /= 10;
+        }
+    }
+
+    /**
+     * Length of integer value written in text format.
+     * @param value value
+     * @return length in bytes
+     */
+    public static int textLength(long value) {
+        if (value == Long.MIN_VALUE) {
+            return LONG_MIN_VALUE.length;
+        }
+        int length = 1;
+        if (value < 0) {
+            length++;
+            value = -value;
+        }
+        while (value >= 10) {
+            value /= 10;
+            length++;
+        }
+        return length;
+    }
+
     /**
      * Write stream in text format.
      * @param out database stream
@@ -223,17 +404,32 @@ public class ParameterWriter {
     /**
      * Write date in text format.
      * @param out database stream
-     * @param calendar session calendar
+     * @param dateMillis date epoch milliseconds, written in default time zone
      * @throws IOException if any error occur when writing to database
      */
-    public static void writeDate(OutputStream out, Calendar calendar) throws IOException {
+    public static void writeDate(OutputStream out, long dateMillis) throws IOException {
         out.write(QUOTE);
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-        String dateString = sdf.format(calendar.getTime());
-        out.write(dateString.getBytes());
+        writeDateValue(out, dateMillis);
         out.write(QUOTE);
     }
 
+    /**
+     * Write date in text format, without quotes.
+     * @param out database stream
+     * @param dateMillis date epoch milliseconds, written in default time zone
+     * @throws IOException if any error occur when writing to database
+     */
+    public static void writeDateValue(OutputStream out, long dateMillis) throws IOException {
+        TemporalCodec codec = TemporalCodec.getDefault();
+        if (codec != null) {
+            codec.writeDate(out, dateMillis);
+        } else {
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+            String dateString = sdf.format(new java.util.Date(dateMillis));
+            out.write(dateString.getBytes());
+        }
+    }
+
     static void formatMicroseconds(OutputStream out, int microseconds, boolean writeFractionalSeconds) throws IOException {
         if (microseconds == 0 || !writeFractionalSeconds) {
             return;
@@ -259,14 +455,32 @@ public class ParameterWriter {
     public static void writeTimestamp(OutputStream out, Timestamp ts, Calendar calendar, boolean writeFractionalSeconds)
             throws IOException {
         out.write(QUOTE);
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        if (calendar != null) {
-            sdf.setCalendar(calendar);
+        writeTimestampValue(out, ts, calendar, writeFractionalSeconds);
+        out.write(QUOTE);
+    }
+
+    /**
+     * Write timestamps in text format, without quotes.
+     * @param out database outputstream
+     * @param ts timestamp to write
+     * @param calendar session calendar
+     * @param writeFractionalSeconds must fractional seconds be send to database
+     * @throws IOException if any error occur when writing to database.
+     */
+    public static void writeTimestampValue(OutputStream out, Timestamp ts, Calendar calendar, boolean writeFractionalSeconds)
+            throws IOException {
+        TemporalCodec codec = (calendar != null) ? TemporalCodec.get(calendar) : TemporalCodec.getDefault();
+        if (codec != null) {
+            codec.writeDateTime(out, ts.getTime());
+        } else {
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            if (calendar != null) {
+                sdf.setCalendar(calendar);
+            }
+            String dateString = sdf.format(ts);
+            out.write(dateString.getBytes());
         }
-        String dateString = sdf.format(ts);
-        out.write(dateString.getBytes());
         formatMicroseconds(out, ts.getNanos() / 1000, writeFractionalSeconds);
-        out.write(QUOTE);
     }
 
     /**
@@ -280,18 +494,35 @@ public class ParameterWriter {
     public static void writeTime(OutputStream out, Time time, Calendar calendar, boolean writeFractionalSeconds)
             throws IOException {
         out.write(QUOTE);
-        SimpleDateFormat sdf = new SimpleDateFormat("HH:mm:ss");
-        if (calendar != null) {
-            sdf.setCalendar(calendar);
-        }
-        String dateString = sdf.format(time);
+        writeTimeValue(out, time, calendar, writeFractionalSeconds);
+        out.write(QUOTE);
+    }
+
+    /**
+     * Write time in text format, without quotes.
+     * @param out database outputStream
+     * @param time time to write
+     * @param calendar session calendar
+     * @param writeFractionalSeconds must fractional seconds be send to database
+     * @throws IOException if any error occur when writing to database.
+     */
+    public static void writeTimeValue(OutputStream out, Time time, Calendar calendar, boolean writeFractionalSeconds)
+            throws IOException {
         if (time.getTime() < 0) {
-            dateString = "-" + dateString;
+            out.write('-');
+        }
+        TemporalCodec codec = (calendar != null) ? TemporalCodec.get(calendar) : TemporalCodec.getDefault();
+        if (codec != null) {
+            codec.writeTime(out, time.getTime());
+        } else {
+            SimpleDateFormat sdf = new SimpleDateFormat("HH:mm:ss");
+            if (calendar != null) {
+                sdf.setCalendar(calendar);
+            }
+            out.write(sdf.format(time).getBytes());
         }
-        out.write(dateString.getBytes());
         int microseconds = (int) (time.getTime() % 1000) * 1000;
         formatMicroseconds(out, microseconds, writeFractionalSeconds);
-        out.write(QUOTE);
     }
 
     /**
@@ -95,6 +95,20 @@ public class ReaderParameter extends LongDataParameterHolder {
         }
     }
 
+    /**
+     * Write reader in text format directly to packet, chunk by chunk. If packet stream is streaming, full packets are
+     * send to server during writing.
+     * @param os packet stream
+     * @throws IOException if any error occur when reading reader or sending packets
+     */
+    public void writeTo(final PacketOutputStream os) throws IOException {
+        if (readArrays != null) {
+            ParameterWriter.write(os, readArrays, noBackslashEscapes);
+        } else {
+            ParameterWriter.write(os, reader, length, noBackslashEscapes);
+        }
+    }
+
     /**
      * Return approximated data calculated length for rewriting queries
      *
@@ -67,8 +67,12 @@ public class ShortParameter extends NotLongDataParameterHolder {
         os.write(String.valueOf(value).getBytes());
     }
 
-    public long getApproximateTextProtocolLength() throws IOException {
-        return String.valueOf(value).getBytes().length;
+    public void writeTo(final PacketOutputStream os) throws IOException {
+        ParameterWriter.write(os, (long) value);
+    }
+
+    public long getApproximateTextProtocolLength() {
+        return ParameterWriter.textLength(value);
     }
 
     public void writeBinary(PacketOutputStream writeBuffer) {
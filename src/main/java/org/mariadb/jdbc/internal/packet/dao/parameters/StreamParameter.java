@@ -97,6 +97,20 @@ public class StreamParameter extends LongDataParameterHolder {
         }
     }
 
+    /**
+     * Write stream in text format directly to packet, chunk by chunk. If packet stream is streaming, full packets are
+     * send to server during writing.
+     * @param os packet stream
+     * @throws IOException if any error occur when reading stream or sending packets
+     */
+    public void writeTo(final PacketOutputStream os) throws IOException {
+        if (readArrays != null) {
+            ParameterWriter.writeBytesArray(os, readArrays, noBackslashEscapes);
+        } else {
+            ParameterWriter.write(os, is, length, noBackslashEscapes);
+        }
+    }
+
     /**
      * Return approximated data calculated length.
      *
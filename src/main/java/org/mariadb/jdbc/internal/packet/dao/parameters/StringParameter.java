@@ -69,8 +69,12 @@ public class StringParameter extends NotLongDataParameterHolder {
         ParameterWriter.write(os, string, noBackslashEscapes);
     }
 
+    public void writeTo(final PacketOutputStream os) throws IOException {
+        ParameterWriter.write(os, string, noBackslashEscapes);
+    }
+
     public long getApproximateTextProtocolLength() throws IOException {
-        return String.valueOf(string).getBytes().length * 2;
+        return ParameterWriter.textLength(string, noBackslashEscapes);
     }
 
     public void writeBinary(PacketOutputStream writeBuffer) {
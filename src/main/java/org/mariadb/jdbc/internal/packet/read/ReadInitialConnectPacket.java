@@ -70,7 +70,7 @@ public class ReadInitialConnectPacket {
     private final long serverThreadId;
     //private final byte[] seed1;
     //private final byte[] seed2;
-    private final int serverCapabilities;
+    private final long serverCapabilities;
     private final byte serverLanguage;
     private final short serverStatus;
     private final byte[] seed;
@@ -95,10 +95,18 @@ public class ReadInitialConnectPacket {
         serverThreadId = reader.readInt();
         final byte[] seed1 = reader.readRawBytes(8);
         reader.skipByte();
-        serverCapabilities = reader.readShort();
+        final int lowerCapabilities = reader.readShort() & 0xffff;
         serverLanguage = reader.readByte();
         serverStatus = reader.readShort();
-        reader.skipBytes(13);
+        final int upperCapabilities = reader.readShort() & 0xffff;
+        reader.skipBytes(7);
+        //MariaDB server put extended capabilities in the last 4 bytes of filler
+        final int extendedCapabilities = reader.readInt();
+        long capabilities = (lowerCapabilities | (upperCapabilities << 16)) & 0xffffffffL;
+        if ((capabilities & MariaDbServerCapabilities.CLIENT_MYSQL) == 0) {
+            capabilities |= (extendedCapabilities & 0xffffffffL) << 32;
+        }
+        serverCapabilities = capabilities;
         final byte[] seed2 = reader.readRawBytes(12);
         seed = Utils.copyWithLength(seed1, seed1.length + seed2.length);
         System.arraycopy(seed2, 0, seed, seed1.length, seed2.length);
@@ -145,7 +153,7 @@ public class ReadInitialConnectPacket {
         return seed;
     }
 
-    public int getServerCapabilities() {
+    public long getServerCapabilities() {
         return serverCapabilities;
     }
 
@@ -50,6 +50,8 @@ OF SUCH DAMAGE.
 
 package org.mariadb.jdbc.internal.packet.read;
 
+import org.mariadb.jdbc.internal.util.buffer.ReadUtil;
+
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -66,6 +68,13 @@ public class ReadPacketFetcher {
         this.inputStream = is;
     }
 
+    /**
+     * Constructor for implementations that don't read from an InputStream.
+     */
+    protected ReadPacketFetcher() {
+        this.inputStream = null;
+    }
+
     public RawPacket getRawPacket() throws IOException {
         return RawPacket.nextPacket(inputStream);
     }
@@ -139,6 +148,30 @@ public class ReadPacketFetcher {
     }
 
 
+    /**
+     * Read next packet header.
+     * Packet content must then be read using readPacketContent().
+     *
+     * @return packet length
+     * @throws IOException if connection errors occur.
+     */
+    public int readPacketLength() throws IOException {
+        ReadUtil.readFully(inputStream, headerBuffer, 0, 4);
+        return (headerBuffer[0] & 0xff) + ((headerBuffer[1] & 0xff) << 8) + ((headerBuffer[2] & 0xff) << 16);
+    }
+
+    /**
+     * Read packet content directly into destination array, without intermediate buffer.
+     *
+     * @param dest destination array
+     * @param offset destination offset
+     * @param length packet length, as returned by readPacketLength()
+     * @throws IOException if connection errors occur.
+     */
+    public void readPacketContent(byte[] dest, int offset, int length) throws IOException {
+        ReadUtil.readFully(inputStream, dest, offset, length);
+    }
+
     public RawPacket getReusableRawPacket() throws IOException {
         return RawPacket.nextPacket(inputStream, headerBuffer, reusableBuffer);
     }
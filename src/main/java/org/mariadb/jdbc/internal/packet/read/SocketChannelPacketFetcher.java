@@ -0,0 +1,231 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson, Trond Norbye
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.packet.read;
+
+import org.mariadb.jdbc.internal.socket.TimedSocketChannel;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Packet fetcher reading from a socket channel into a direct buffer.
+ * Packet framing (3 bytes length + 1 byte sequence) is read directly from the buffer, and reusable packets are
+ * slices of this buffer, without any copy.
+ *
+ * <p>Two buffers are used alternately : when buffer must be compacted, remaining data are copied to the other one, so
+ * the last slice returned stay valid while fetching the next packet (like the reusable buffer of
+ * ReadPacketFetcher).</p>
+ */
+public class SocketChannelPacketFetcher extends ReadPacketFetcher {
+    private static final int BUFFER_SIZE = 65536;
+
+    private final TimedSocketChannel channel;
+    private ByteBuffer readBuffer;
+    private ByteBuffer spareBuffer;
+    private int packetSeq;
+
+    /**
+     * Initialize fetcher.
+     *
+     * @param channel socket channel
+     */
+    public SocketChannelPacketFetcher(TimedSocketChannel channel) {
+        this.channel = channel;
+        readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        readBuffer.flip();
+        spareBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Ensure that readBuffer contain at least "needed" bytes between position and limit.
+     *
+     * @param needed needed bytes (must be inferior or equal to buffer capacity)
+     * @throws IOException if connection error occur
+     */
+    private void fill(int needed) throws IOException {
+        int remaining = readBuffer.remaining();
+        if (remaining >= needed) {
+            return;
+        }
+
+        if (readBuffer.capacity() - readBuffer.position() < needed) {
+            ByteBuffer newBuffer = spareBuffer;
+            newBuffer.clear();
+            newBuffer.put(readBuffer);
+            spareBuffer = readBuffer;
+            readBuffer = newBuffer;
+        } else {
+            readBuffer.position(readBuffer.limit());
+            readBuffer.limit(readBuffer.capacity());
+        }
+
+        int start = readBuffer.position() - remaining;
+        while (readBuffer.position() - start < needed) {
+            if (channel.read(readBuffer) < 0) {
+                throw new EOFException("unexpected end of stream, read " + (readBuffer.position() - start) + " bytes from " + needed);
+            }
+        }
+        readBuffer.limit(readBuffer.position());
+        readBuffer.position(start);
+    }
+
+    /**
+     * Read next packet header.
+     *
+     * @return packet length
+     * @throws IOException if connection error occur
+     */
+    private int readHeader() throws IOException {
+        fill(4);
+        int length = (readBuffer.get() & 0xff) + ((readBuffer.get() & 0xff) << 8) + ((readBuffer.get() & 0xff) << 16);
+        packetSeq = readBuffer.get();
+        return length;
+    }
+
+    /**
+     * Slice of the read buffer containing next packet.
+     * Packets bigger than buffer are read in a new array.
+     *
+     * @param length packet length
+     * @return buffer
+     * @throws IOException if connection error occur
+     */
+    private ByteBuffer slice(int length) throws IOException {
+        if (length > readBuffer.capacity()) {
+            return ByteBuffer.wrap(readBytes(length)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        fill(length);
+        int limit = readBuffer.limit();
+        int end = readBuffer.position() + length;
+        readBuffer.limit(end);
+        ByteBuffer slice = readBuffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        readBuffer.limit(limit);
+        readBuffer.position(end);
+        return slice;
+    }
+
+    /**
+     * Read next packet content in a new array.
+     *
+     * @param length packet length
+     * @return packet content
+     * @throws IOException if connection error occur
+     */
+    private byte[] readBytes(int length) throws IOException {
+        byte[] rawBytes = new byte[length];
+        readPacketContent(rawBytes, 0, length);
+        return rawBytes;
+    }
+
+    @Override
+    public int readPacketLength() throws IOException {
+        return readHeader();
+    }
+
+    @Override
+    public void readPacketContent(byte[] dest, int offset, int length) throws IOException {
+        int buffered = Math.min(length, readBuffer.remaining());
+        readBuffer.get(dest, offset, buffered);
+        if (buffered < length) {
+            ByteBuffer dst = ByteBuffer.wrap(dest, offset + buffered, length - buffered);
+            while (dst.hasRemaining()) {
+                if (channel.read(dst) < 0) {
+                    throw new EOFException("unexpected end of stream, read " + (dst.position() - offset)
+                            + " bytes from " + length);
+                }
+            }
+        }
+    }
+
+    @Override
+    public RawPacket getRawPacket() throws IOException {
+        int length = readHeader();
+        return new RawPacket(ByteBuffer.wrap(readBytes(length)).order(ByteOrder.LITTLE_ENDIAN), packetSeq);
+    }
+
+    @Override
+    public ByteBuffer getReusableBuffer() throws IOException {
+        return slice(readHeader());
+    }
+
+    @Override
+    public RawPacket getReusableRawPacket() throws IOException {
+        int length = readHeader();
+        return new RawPacket(slice(length), packetSeq);
+    }
+
+    @Override
+    public void skipNextPacket() throws IOException {
+        int remaining = readHeader();
+        while (remaining > 0) {
+            int skip = Math.min(remaining, readBuffer.capacity());
+            fill(skip);
+            readBuffer.position(readBuffer.position() + skip);
+            remaining -= skip;
+        }
+    }
+
+    @Override
+    public void clearInputStream() throws IOException {
+        readBuffer.clear();
+        while (channel.readAvailable(readBuffer) > 0) {
+            readBuffer.clear();
+        }
+        readBuffer.clear();
+        readBuffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.packet.result;
+
+import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
+import org.mariadb.jdbc.internal.queryresults.RowData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public abstract class AbstractRowPacket implements RowPacket {
+    private static final int MAX_PACKET_LENGTH = 0x00ffffff;
+
+    protected final ColumnInformation[] columnInformation;
+    protected final int columnInformationLength;
+
+    /**
+     * Constructor.
+     * @param columnInformation columns information's
+     * @param columnInformationLength number of column
+     */
+    public AbstractRowPacket(ColumnInformation[] columnInformation, int columnInformationLength) {
+        this.columnInformation = columnInformation;
+        this.columnInformationLength = columnInformationLength;
+    }
+
+    /**
+     * Copy row content in a new array.
+     * If row is bigger than a packet, following packets content are read directly in the array, whose capacity is
+     * doubled when needed, so reassembling a big row is linear in row size. Array can then be bigger than row
+     * content.
+     *
+     * @param packetFetcher packetFetcher
+     * @param buffer current buffer
+     * @return row content
+     * @throws IOException if any connection error occur
+     */
+    protected byte[] readRowBuffer(ReadPacketFetcher packetFetcher, ByteBuffer buffer) throws IOException {
+        int length = buffer.remaining();
+        if (length < MAX_PACKET_LENGTH) {
+            byte[] buf = new byte[length];
+            buffer.get(buf);
+            return buf;
+        }
+
+        byte[] buf = new byte[2 * MAX_PACKET_LENGTH];
+        buffer.get(buf, 0, length);
+        int packetLength = length;
+        while (packetLength == MAX_PACKET_LENGTH) {
+            packetLength = packetFetcher.readPacketLength();
+            if (buf.length - length < packetLength) {
+                long newCapacity = Math.max(2L * buf.length, (long) length + packetLength);
+                buf = Arrays.copyOf(buf, (int) Math.min(newCapacity, Integer.MAX_VALUE - 8));
+            }
+            packetFetcher.readPacketContent(buf, length, packetLength);
+            length += packetLength;
+        }
+        return buf;
+    }
+
+    /**
+     * Read a length encoded value position.
+     *
+     * @param buf row buffer
+     * @param pos length encoded value position
+     * @param positions positions array to fill
+     * @param index column index
+     * @return position after this value
+     */
+    protected static int readLengthEncoded(byte[] buf, int pos, int[] positions, int index) {
+        int length;
+        int type = buf[pos++] & 0xff;
+        switch (type) {
+            case 251:
+                positions[2 * index] = pos;
+                positions[2 * index + 1] = RowData.NULL_LENGTH;
+                return pos;
+            case 252:
+                length = (buf[pos] & 0xff) + ((buf[pos + 1] & 0xff) << 8);
+                pos += 2;
+                break;
+            case 253:
+                length = (buf[pos] & 0xff) + ((buf[pos + 1] & 0xff) << 8) + ((buf[pos + 2] & 0xff) << 16);
+                pos += 3;
+                break;
+            case 254:
+                length = (buf[pos] & 0xff) + ((buf[pos + 1] & 0xff) << 8) + ((buf[pos + 2] & 0xff) << 16)
+                        + ((buf[pos + 3] & 0xff) << 24);
+                pos += 8;
+                break;
+            default:
+                length = type;
+                break;
+        }
+        positions[2 * index] = pos;
+        positions[2 * index + 1] = length;
+        return pos + length;
+    }
+
+}
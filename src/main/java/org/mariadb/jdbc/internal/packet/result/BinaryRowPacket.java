@@ -49,83 +49,51 @@ OF SUCH DAMAGE.
 
 package org.mariadb.jdbc.internal.packet.result;
 
-import org.mariadb.jdbc.internal.util.Options;
-import org.mariadb.jdbc.internal.queryresults.ValueObject;
-import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
-import org.mariadb.jdbc.internal.util.buffer.Reader;
 import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
-import org.mariadb.jdbc.internal.queryresults.MariaDbValueObject;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
+import org.mariadb.jdbc.internal.queryresults.RowData;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
 
-public class BinaryRowPacket implements RowPacket {
-    private final ColumnInformation[] columnInformation;
-    private final Options options;
-    private final int columnInformationLength;
+public class BinaryRowPacket extends AbstractRowPacket {
 
     /**
      * Constructor.
      * @param columnInformation column information.
-     * @param options options
      * @param columnInformationLength number of columns
      */
-    public BinaryRowPacket(ColumnInformation[] columnInformation, Options options, int columnInformationLength) {
-        this.columnInformation = columnInformation;
-        this.options = options;
-        this.columnInformationLength = columnInformationLength;
+    public BinaryRowPacket(ColumnInformation[] columnInformation, int columnInformationLength) {
+        super(columnInformation, columnInformationLength);
     }
 
-    /**
-     * Fetch stream to retrieve data. Data length is unknown.
-     * @param reader reader
-     * @param packetFetcher packetFetcher
-     * @throws IOException if a connection error occur
-     */
-    public void appendPacketIfNeeded(Reader reader, ReadPacketFetcher packetFetcher) throws IOException {
-        long encLength = reader.getSilentLengthEncodedBinary();
-        long remaining = reader.getRemainingSize();
-        while (encLength > remaining) {
-            reader.appendPacket(packetFetcher.getRawPacket());
-            encLength = reader.getSilentLengthEncodedBinary();
-            remaining = reader.getRemainingSize();
-        }
-    }
-
-    /**
-     * Fetch stream to retrieve data. Data length is known.
-     * @param reader reader
-     * @param packetFetcher packetFetcher
-     * @param encLength data binary length
-     * @throws IOException if a connection error occur
-     */
-    public void appendPacketIfNeeded(Reader reader, ReadPacketFetcher packetFetcher, long encLength) throws IOException {
-        long remaining = reader.getRemainingSize();
-        while (encLength > remaining) {
-            reader.appendPacket(packetFetcher.getRawPacket(), encLength);
-            encLength = reader.getSilentLengthEncodedBinary();
-        }
+    private static void setFixedLength(int[] positions, int index, int pos, int length) {
+        positions[2 * index] = pos;
+        positions[2 * index + 1] = length;
     }
 
     /**
      * Get next row data.
+     * Row content is copied in one array, and each column position is stored, without creating an object per column.
+     *
      * @param packetFetcher packetFetcher
      * @param buffer current buffer
-     * @return read data
+     * @return row data
      * @throws IOException if any connection error occur
      */
-    public ValueObject[] getRow(ReadPacketFetcher packetFetcher, ByteBuffer buffer) throws IOException {
-        ValueObject[] valueObjects = new ValueObject[columnInformationLength];
-        Reader reader = new Reader(buffer);
-        reader.skipByte(); //stream header
-        int nullCount = (columnInformationLength + 9) / 8;
-        byte[] nullBitsBuffer = reader.readRawBytes(nullCount);
+    public RowData getRow(ReadPacketFetcher packetFetcher, ByteBuffer buffer) throws IOException {
+        byte[] buf = readRowBuffer(packetFetcher, buffer);
+        int[] positions = new int[columnInformationLength * 2];
+
+        //stream header, then null bitmap
+        int nullBitsPos = 1;
+        int pos = nullBitsPos + (columnInformationLength + 9) / 8;
 
         for (int i = 0; i < columnInformationLength; i++) {
-            if ((nullBitsBuffer[(i + 2) / 8] & (1 << ((i + 2) % 8))) > 0) {
+            if ((buf[nullBitsPos + (i + 2) / 8] & (1 << ((i + 2) % 8))) > 0) {
                 //field is null
-                valueObjects[i] = new MariaDbValueObject(null, columnInformation[i], true, options);
+                setFixedLength(positions, i, pos, RowData.NULL_LENGTH);
             } else {
                 switch (columnInformation[i].getType()) {
                     case VARCHAR:
@@ -141,57 +109,44 @@ public class BinaryRowPacket implements RowPacket {
                     case GEOMETRY:
                     case OLDDECIMAL:
                     case DECIMAL:
-                        appendPacketIfNeeded(reader, packetFetcher);
-                        valueObjects[i] = new MariaDbValueObject(reader.getLengthEncodedBytes(), columnInformation[i], true, options);
+                    case TIME:
+                    case DATE:
+                    case DATETIME:
+                    case TIMESTAMP:
+                        pos = readLengthEncoded(buf, pos, positions, i);
                         break;
 
                     case BIGINT:
-                        appendPacketIfNeeded(reader, packetFetcher, 8);
-                        valueObjects[i] = new MariaDbValueObject(reader.getLengthEncodedBytesWithLength(8), columnInformation[i], true, options);
+                    case DOUBLE:
+                        setFixedLength(positions, i, pos, 8);
+                        pos += 8;
                         break;
 
                     case INTEGER:
                     case MEDIUMINT:
-                        appendPacketIfNeeded(reader, packetFetcher, 4);
-                        valueObjects[i] = new MariaDbValueObject(reader.getLengthEncodedBytesWithLength(4), columnInformation[i], true, options);
+                    case FLOAT:
+                        setFixedLength(positions, i, pos, 4);
+                        pos += 4;
                         break;
 
                     case SMALLINT:
                     case YEAR:
-                        appendPacketIfNeeded(reader, packetFetcher, 2);
-                        valueObjects[i] = new MariaDbValueObject(reader.getLengthEncodedBytesWithLength(2), columnInformation[i], true, options);
+                        setFixedLength(positions, i, pos, 2);
+                        pos += 2;
                         break;
 
                     case TINYINT:
-                        appendPacketIfNeeded(reader, packetFetcher, 1);
-                        valueObjects[i] = new MariaDbValueObject(reader.getLengthEncodedBytesWithLength(1), columnInformation[i], true, options);
+                        setFixedLength(positions, i, pos, 1);
+                        pos += 1;
                         break;
 
-                    case DOUBLE:
-                        appendPacketIfNeeded(reader, packetFetcher, 8);
-                        valueObjects[i] = new MariaDbValueObject(reader.getLengthEncodedBytesWithLength(8), columnInformation[i], true, options);
-                        break;
-
-                    case FLOAT:
-                        appendPacketIfNeeded(reader, packetFetcher, 4);
-                        valueObjects[i] = new MariaDbValueObject(reader.getLengthEncodedBytesWithLength(4), columnInformation[i], true, options);
-                        break;
-
-                    case TIME:
-                    case DATE:
-                    case DATETIME:
-                    case TIMESTAMP:
-                        appendPacketIfNeeded(reader, packetFetcher);
-                        valueObjects[i] = new MariaDbValueObject(reader.getLengthEncodedBytes(), columnInformation[i], true, options);
-                        break;
                     default:
-                        appendPacketIfNeeded(reader, packetFetcher);
-                        valueObjects[i] = new MariaDbValueObject(null, columnInformation[i], true, options);
+                        setFixedLength(positions, i, pos, RowData.NULL_LENGTH);
                         break;
                 }
             }
         }
-        return valueObjects;
+        return new RowData(buf, positions);
     }
 
-}
\ No newline at end of file
+}
@@ -57,6 +57,7 @@ import java.nio.ByteBuffer;
 
 public class ResultSetPacket extends AbstractResultPacket {
     private final long fieldCount;
+    private boolean metadataFollows = true;
 
     /**
      * Initialize a ResultSetPacket : a resultset will have to be create.
@@ -72,7 +73,10 @@ public class ResultSetPacket extends AbstractResultPacket {
             // Should never get there, it is LocalInfilePacket, not ResultSetPacket
             throw new AssertionError("field count is -1 in ResultSetPacket.");
         }
-        if (reader.getRemainingSize() != 0) {
+        if (reader.getRemainingSize() == 1) {
+            //MARIADB_CLIENT_CACHE_METADATA : 0 indicate that column definitions are skipped, being unchanged
+            metadataFollows = reader.readByte() != 0;
+        } else if (reader.getRemainingSize() != 0) {
             throw new IOException("invalid stream contents ,expected result set stream, actual stream hexdump = "
                     + MasterProtocol.hexdump(byteBuffer, 0));
         }
@@ -85,4 +89,8 @@ public class ResultSetPacket extends AbstractResultPacket {
     public long getFieldCount() {
         return fieldCount;
     }
+
+    public boolean isMetadataFollows() {
+        return metadataFollows;
+    }
 }
@@ -49,12 +49,12 @@ ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSI
 OF SUCH DAMAGE.
 */
 
-import org.mariadb.jdbc.internal.queryresults.ValueObject;
+import org.mariadb.jdbc.internal.queryresults.RowData;
 import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
 public interface RowPacket {
-    ValueObject[] getRow(ReadPacketFetcher packetFetcher, ByteBuffer buffer) throws IOException;
+    RowData getRow(ReadPacketFetcher packetFetcher, ByteBuffer buffer) throws IOException;
 }
@@ -49,59 +49,42 @@ OF SUCH DAMAGE.
 
 package org.mariadb.jdbc.internal.packet.result;
 
-import org.mariadb.jdbc.internal.util.Options;
-import org.mariadb.jdbc.internal.queryresults.ValueObject;
-import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
-import org.mariadb.jdbc.internal.util.buffer.Reader;
 import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
-import org.mariadb.jdbc.internal.queryresults.MariaDbValueObject;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
+import org.mariadb.jdbc.internal.queryresults.RowData;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
 
-public class TextRowPacket implements RowPacket {
-    private final ColumnInformation[] columnInformation;
-    private final Options options;
-    private final int columnInformationLength;
+public class TextRowPacket extends AbstractRowPacket {
 
     /**
      * Constructor.
      * @param columnInformation columns information's
-     * @param options session options
      * @param columnInformationLength number of column
      */
-    public TextRowPacket(ColumnInformation[] columnInformation, Options options, int columnInformationLength) {
-        this.columnInformationLength = columnInformationLength;
-        this.columnInformation = columnInformation;
-        this.options = options;
+    public TextRowPacket(ColumnInformation[] columnInformation, int columnInformationLength) {
+        super(columnInformation, columnInformationLength);
     }
 
     /**
      * Read text row stream. (to fetch Resulset.next() datas)
+     * Row content is copied in one array, and each column position is stored, without creating an object per column.
+     *
      * @param packetFetcher packetFetcher
      * @param buffer current buffer
-     * @return datas object
+     * @return row data
      * @throws IOException if any connection error occur
      */
-    public ValueObject[] getRow(ReadPacketFetcher packetFetcher, ByteBuffer buffer) throws IOException {
-        ValueObject[] valueObjects = new ValueObject[columnInformationLength];
-        Reader reader = new Reader(buffer);
+    public RowData getRow(ReadPacketFetcher packetFetcher, ByteBuffer buffer) throws IOException {
+        byte[] buf = readRowBuffer(packetFetcher, buffer);
+        int[] positions = new int[columnInformationLength * 2];
+        int pos = 0;
         for (int i = 0; i < columnInformationLength; i++) {
-            while (reader.byteBuffer.remaining() == 0) {
-                reader.appendPacket(packetFetcher.getRawPacket());
-            }
-            long valueLen = reader.getLengthEncodedBinary();
-            if (valueLen == -1) {
-                valueObjects[i] = new MariaDbValueObject(null, columnInformation[i], options);
-            } else {
-                while (reader.byteBuffer.remaining() < valueLen) {
-                    reader.appendPacket(packetFetcher.getRawPacket());
-                }
-                valueObjects[i] = new MariaDbValueObject(reader.readRawBytes((int) valueLen), columnInformation[i], options);
-            }
+            pos = readLengthEncoded(buf, pos, positions, i);
         }
-        return valueObjects;
+        return new RowData(buf, positions);
     }
 
-}
\ No newline at end of file
+}
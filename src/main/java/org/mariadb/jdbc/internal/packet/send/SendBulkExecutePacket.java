@@ -0,0 +1,169 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+package org.mariadb.jdbc.internal.packet.send;
+
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.parameters.NotLongDataParameterHolder;
+import org.mariadb.jdbc.internal.packet.dao.parameters.NullParameter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+
+import java.io.IOException;
+import java.util.List;
+
+public class SendBulkExecutePacket implements InterfaceSendPacket {
+    public static final byte COM_STMT_BULK_EXECUTE = (byte) 0xfa;
+    public static final short SEND_TYPES_TO_SERVER = 128;
+    public static final byte INDICATOR_NONE = 0;
+    public static final byte INDICATOR_NULL = 1;
+
+    //length-encoded length header of a binary value
+    private static final int VALUE_HEADER_LENGTH = 9;
+
+    private final int statementId;
+    private final List<ParameterHolder[]> parametersList;
+    private final int offset;
+    private final int parameterCount;
+    private final MariaDbType[] parameterTypeHeader;
+
+    /**
+     * Initialize parameters.
+     * @param statementId statement id
+     * @param parametersList parameters of each execution. None must be long data.
+     * @param offset index of first parameters set to send
+     * @param parameterCount parameters number
+     * @param parameterTypeHeader parameters header, set to the types sent
+     */
+    public SendBulkExecutePacket(final int statementId, final List<ParameterHolder[]> parametersList, final int offset,
+                                 final int parameterCount, MariaDbType[] parameterTypeHeader) {
+        this.statementId = statementId;
+        this.parametersList = parametersList;
+        this.offset = offset;
+        this.parameterCount = parameterCount;
+        this.parameterTypeHeader = parameterTypeHeader;
+    }
+
+    /**
+     * Send parameters sets from offset, as many as possible in one command : sending stops when
+     * packet would exceed max_allowed_packet, or when a parameter type differs from the types sent in header.
+     * At least one parameters set is always sent.
+     *
+     * @param buffer database socket
+     * @return number of parameters sets sent
+     * @throws IOException if a connection error occur
+     */
+    public int send(final PacketOutputStream buffer) throws IOException {
+        initializeTypes();
+        buffer.startPacket(0, true);
+        buffer.buffer.put(COM_STMT_BULK_EXECUTE);
+        buffer.buffer.putInt(statementId);
+        buffer.writeShort(SEND_TYPES_TO_SERVER);
+        for (int i = 0; i < parameterCount; i++) {
+            buffer.writeShort((short) parameterTypeHeader[i].getType());
+        }
+
+        int index = offset;
+        int size = parametersList.size();
+        while (index < size) {
+            ParameterHolder[] parameters = parametersList.get(index);
+            if (index > offset && (!hasHeaderTypes(parameters) || !buffer.checkRewritableLength(approximateLength(parameters)))) {
+                break;
+            }
+            for (int i = 0; i < parameterCount; i++) {
+                if (parameters[i] instanceof NullParameter) {
+                    buffer.buffer.put(INDICATOR_NULL);
+                } else {
+                    buffer.buffer.put(INDICATOR_NONE);
+                    ((NotLongDataParameterHolder) parameters[i]).writeBinary(buffer);
+                }
+            }
+            index++;
+        }
+        buffer.finishPacket();
+        return index - offset;
+    }
+
+    /**
+     * Set header types from first parameters set. A null parameter has no type constraint, so for null parameters,
+     * type of first non-null value of following sets is used.
+     */
+    private void initializeTypes() {
+        ParameterHolder[] first = parametersList.get(offset);
+        int size = parametersList.size();
+        for (int i = 0; i < parameterCount; i++) {
+            parameterTypeHeader[i] = first[i].getMariaDbType();
+            if (first[i] instanceof NullParameter) {
+                for (int index = offset + 1; index < size; index++) {
+                    ParameterHolder parameter = parametersList.get(index)[i];
+                    if (!(parameter instanceof NullParameter)) {
+                        parameterTypeHeader[i] = parameter.getMariaDbType();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean hasHeaderTypes(ParameterHolder[] parameters) {
+        for (int i = 0; i < parameterCount; i++) {
+            if (!(parameters[i] instanceof NullParameter) && parameters[i].getMariaDbType() != parameterTypeHeader[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int approximateLength(ParameterHolder[] parameters) throws IOException {
+        long length = 0;
+        for (int i = 0; i < parameterCount; i++) {
+            length += 1 + VALUE_HEADER_LENGTH + parameters[i].getApproximateTextProtocolLength();
+        }
+        return (int) Math.min(length, Integer.MAX_VALUE);
+    }
+}
@@ -57,8 +57,8 @@ import org.mariadb.jdbc.internal.stream.PacketOutputStream;
 import org.mariadb.jdbc.internal.util.Utils;
 
 /**
- * 4                            client_flags 4                            max_packet_size 1 charset_number 23 (filler)
- * always 0x00... n (Null-Terminated String)   user n (Length Coded Binary)      scramble_buff (1 + x bytes) 1 (filler)
+ * 4                            client_flags 4                            max_packet_size 1 charset_number 19 (filler)
+ * always 0x00... 4 MariaDB extended client_flags n (Null-Terminated String)   user n (Length Coded Binary)      scramble_buff (1 + x bytes) 1 (filler)
  * always 0x00 n (Null-Terminated String) databasename
  * <p>
  * client_flags:            CLIENT_xxx options. The list of possible flag values is in the description of the Handshake
@@ -77,15 +77,18 @@ import org.mariadb.jdbc.internal.util.Utils;
  * "Password functions" section elsewhere in this document) if length is zero, no password was given
  * <p>
  * databasename:            name of schema to use initially
+ * <p>
+ * zstd_compression_level:  (1 byte) zstd level, only if CLIENT_ZSTD_COMPRESSION_ALGORITHM is set
  */
 public class SendHandshakeResponsePacket implements InterfaceSendPacket {
     private final byte packetSeq;
     private final String username;
     private final String password;
     private final byte[] seed;
-    private final int clientCapabilities;
+    private final long clientCapabilities;
     private final byte serverLanguage;
     private final String database;
+    private final int zstdCompressionLevel;
 
     /**
      * Initialisation of parameters.
@@ -96,13 +99,15 @@ public class SendHandshakeResponsePacket implements InterfaceSendPacket {
      * @param serverLanguage serverlanguage
      * @param seed seed
      * @param packetSeq stream sequence
+     * @param zstdCompressionLevel zstd level, send if zstd compression is requested
      */
     public SendHandshakeResponsePacket(final String username,
                                        final String password,
                                        final String database,
-                                       final int clientCapabilities,
+                                       final long clientCapabilities,
                                        final byte serverLanguage,
-                                       final byte[] seed, byte packetSeq) {
+                                       final byte[] seed, byte packetSeq,
+                                       final int zstdCompressionLevel) {
         this.packetSeq = packetSeq;
         this.username = username;
         this.password = password;
@@ -110,6 +115,7 @@ public class SendHandshakeResponsePacket implements InterfaceSendPacket {
         this.clientCapabilities = clientCapabilities;
         this.serverLanguage = serverLanguage;
         this.database = database;
+        this.zstdCompressionLevel = zstdCompressionLevel;
     }
 
     /**
@@ -127,10 +133,11 @@ public class SendHandshakeResponsePacket implements InterfaceSendPacket {
             throw new RuntimeException("Could not use SHA-1, failing", e);
         }
 
-        writeBuffer.writeInt(clientCapabilities)
+        writeBuffer.writeInt((int) clientCapabilities)
                 .writeInt(1024 * 1024 * 1024)
                 .writeByte(serverLanguage) //1
-                .writeBytes((byte) 0, 23)    //23
+                .writeBytes((byte) 0, 19)    //19
+                .writeInt((int) (clientCapabilities >>> 32)) //4 : MariaDB extended capabilities
                 .writeString(username)     //strlen username
                 .writeByte((byte) 0)        //1
                 .writeByte((byte) scrambledPassword.length)
@@ -140,6 +147,10 @@ public class SendHandshakeResponsePacket implements InterfaceSendPacket {
             writeBuffer.writeString(database).writeByte((byte) 0);
         }
 
+        if ((clientCapabilities & MariaDbServerCapabilities.CLIENT_ZSTD_COMPRESSION_ALGORITHM) != 0) {
+            writeBuffer.writeByte((byte) zstdCompressionLevel);
+        }
+
         writeBuffer.finishPacket();
         return 1;
     }
@@ -54,13 +54,27 @@ import java.io.IOException;
 import org.mariadb.jdbc.internal.stream.PacketOutputStream;
 
 /**
- * Used for starting ssl connections.
+ * Used for starting ssl connections : beginning of handshake response, before switching to SSL.
+ * <pre>
+ * 4  client_flags
+ * 4  max_packet_size
+ * 1  charset_number
+ * 19 (filler) always 0x00...
+ * 4  MariaDB extended client_flags
+ * </pre>
  */
 public class SendSslConnectionRequestPacket implements InterfaceSendPacket {
-    private final int clientCapabilities;
+    private final long clientCapabilities;
+    private final byte serverLanguage;
 
-    public SendSslConnectionRequestPacket(int clientCapabilities) {
+    /**
+     * Initialisation of parameters.
+     * @param clientCapabilities capabilities, including MariaDB extended capabilities
+     * @param serverLanguage server language
+     */
+    public SendSslConnectionRequestPacket(long clientCapabilities, byte serverLanguage) {
         this.clientCapabilities = clientCapabilities;
+        this.serverLanguage = serverLanguage;
     }
 
     /**
@@ -71,8 +85,12 @@ public class SendSslConnectionRequestPacket implements InterfaceSendPacket {
      */
     public int send(final PacketOutputStream pos) throws IOException {
         pos.startPacket(1);
-        pos.writeInt(this.clientCapabilities);
+        pos.writeInt((int) clientCapabilities)
+                .writeInt(1024 * 1024 * 1024)
+                .writeByte(serverLanguage) //1
+                .writeBytes((byte) 0, 19)    //19
+                .writeInt((int) (clientCapabilities >>> 32)); //4 : MariaDB extended capabilities
         pos.finishPacket();
         return 1;
     }
-}
\ No newline at end of file
+}
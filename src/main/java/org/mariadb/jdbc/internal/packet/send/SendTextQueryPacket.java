@@ -100,9 +100,12 @@ public class SendTextQueryPacket implements InterfaceSendPacket {
         pos.write(0x03);
         int queryNumberSend = 1;
         if (query != null) {
+            //single query : long parameters can be streamed
+            pos.startStreaming();
             query.writeTo(pos);
         } else {
             if (queries.size() == 1) {
+                pos.startStreaming();
                 queries.get(0).writeTo(pos);
             } else {
                 if (!isRewritable) {
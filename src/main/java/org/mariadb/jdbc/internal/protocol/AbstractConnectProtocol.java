@@ -66,6 +66,8 @@ import org.mariadb.jdbc.internal.packet.read.RawPacket;
 import org.mariadb.jdbc.internal.packet.read.ReadInitialConnectPacket;
 import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
 import org.mariadb.jdbc.internal.packet.read.ReadResultPacketFactory;
+import org.mariadb.jdbc.internal.packet.read.SocketChannelPacketFetcher;
+import org.mariadb.jdbc.internal.socket.TimedSocketChannel;
 import org.mariadb.jdbc.internal.query.MariaDbQuery;
 import org.mariadb.jdbc.internal.query.Query;
 import org.mariadb.jdbc.internal.queryresults.SelectQueryResult;
@@ -79,8 +81,11 @@ import org.mariadb.jdbc.internal.packet.result.*;
 import org.mariadb.jdbc.internal.packet.send.SendClosePacket;
 import org.mariadb.jdbc.internal.packet.send.SendHandshakeResponsePacket;
 import org.mariadb.jdbc.internal.packet.send.SendSslConnectionRequestPacket;
+import org.mariadb.jdbc.internal.stream.CompressionPolicy;
 import org.mariadb.jdbc.internal.stream.DecompressInputStream;
 import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+import org.mariadb.jdbc.internal.stream.SocketChannelOutputStream;
+import org.mariadb.jdbc.internal.stream.ZstdCodec;
 
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
@@ -125,6 +130,9 @@ public abstract class AbstractConnectProtocol implements Protocol {
     protected String database;
     protected long serverThreadId;
     protected PrepareStatementCache prepareStatementCache;
+    protected boolean cacheMetadata;
+    protected boolean bulkOperations;
+    protected boolean zstdCompression;
 
     public boolean moreResults = false;
     public boolean hasWarnings = false;
@@ -351,8 +359,15 @@ public abstract class AbstractConnectProtocol implements Protocol {
         handleConnectionPhases();
 
         if (urlParser.getOptions().useCompression) {
+            writer.setCompressionPolicy(new CompressionPolicy(urlParser.getOptions()));
+            int zstdLevel = urlParser.getOptions().zstdCompressionLevel;
+            if (zstdCompression) {
+                writer.setZstdCodec(new ZstdCodec(zstdLevel));
+            }
             writer.setUseCompression(true);
-            packetFetcher = new ReadPacketFetcher(new DecompressInputStream(socket.getInputStream()));
+            packetFetcher = new ReadPacketFetcher(
+                    new DecompressInputStream(new BufferedInputStream(socket.getInputStream(), 32768),
+                            zstdCompression ? new ZstdCodec(zstdLevel) : null));
         }
         connected = true;
 
@@ -392,20 +407,30 @@ public abstract class AbstractConnectProtocol implements Protocol {
     private void handleConnectionPhases() throws QueryException {
         InputStream reader = null;
         try {
-            reader = new BufferedInputStream(socket.getInputStream(), 32768);
-            packetFetcher = new ReadPacketFetcher(reader);
-            writer = new PacketOutputStream(socket.getOutputStream());
+            if (urlParser.getOptions().useNioTransport && socket.getChannel() != null) {
+                TimedSocketChannel channel = new TimedSocketChannel(socket.getChannel());
+                packetFetcher = new SocketChannelPacketFetcher(channel);
+                writer = new PacketOutputStream(new SocketChannelOutputStream(channel));
+            } else {
+                reader = new BufferedInputStream(socket.getInputStream(), 32768);
+                packetFetcher = new ReadPacketFetcher(reader);
+                writer = new PacketOutputStream(socket.getOutputStream());
+            }
 
             final ReadInitialConnectPacket greetingPacket = new ReadInitialConnectPacket(packetFetcher);
             this.serverThreadId = greetingPacket.getServerThreadId();
             this.version = greetingPacket.getServerVersion();
             parseVersion();
-            int clientCapabilities = initializeClientCapabilities();
+            long clientCapabilities = initializeClientCapabilities(greetingPacket.getServerCapabilities());
+            cacheMetadata = (clientCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA) != 0;
+            bulkOperations = (clientCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_STMT_BULK_OPERATIONS) != 0;
+            zstdCompression = (clientCapabilities & MariaDbServerCapabilities.CLIENT_ZSTD_COMPRESSION_ALGORITHM) != 0;
 
             byte packetSeq = 1;
             if (urlParser.getOptions().useSsl && (greetingPacket.getServerCapabilities() & MariaDbServerCapabilities.SSL) != 0) {
                 clientCapabilities |= MariaDbServerCapabilities.SSL;
-                SendSslConnectionRequestPacket amcap = new SendSslConnectionRequestPacket(clientCapabilities);
+                SendSslConnectionRequestPacket amcap = new SendSslConnectionRequestPacket(clientCapabilities,
+                        greetingPacket.getServerLanguage());
                 amcap.send(writer);
 
                 SSLSocketFactory sslSocketFactory = getSslSocketFactory();
@@ -428,26 +453,29 @@ public abstract class AbstractConnectProtocol implements Protocol {
             authentication(greetingPacket.getServerLanguage(), clientCapabilities, greetingPacket.getSeed(), packetSeq);
 
         } catch (IOException e) {
-            if (reader != null) {
-                try {
+            try {
+                if (reader != null) {
                     reader.close();
-                } catch (IOException ee) {
-                    //eat exception
+                } else if (packetFetcher != null) {
+                    packetFetcher.close();
                 }
+            } catch (IOException ee) {
+                //eat exception
             }
             throw new QueryException("Could not connect to " + currentHost.host + ":" + currentHost.port + ": " + e.getMessage(), -1,
                     ExceptionMapper.SqlStates.CONNECTION_EXCEPTION.getSqlState(), e);
         }
     }
 
-    private void authentication(byte serverLanguage, int clientCapabilities, byte[] seed, byte packetSeq) throws QueryException, IOException {
+    private void authentication(byte serverLanguage, long clientCapabilities, byte[] seed, byte packetSeq) throws QueryException, IOException {
         final SendHandshakeResponsePacket cap = new SendHandshakeResponsePacket(this.username,
                 this.password,
                 database,
                 clientCapabilities,
                 decideLanguage(serverLanguage),
                 seed,
-                packetSeq);
+                packetSeq,
+                urlParser.getOptions().zstdCompressionLevel);
         cap.send(writer);
         RawPacket rp = packetFetcher.getRawPacket();
 
@@ -467,8 +495,8 @@ public abstract class AbstractConnectProtocol implements Protocol {
         serverStatus = ((OkPacket) resultPacket).getServerStatus();
     }
 
-    private int initializeClientCapabilities() {
-        int capabilities =
+    private long initializeClientCapabilities(long serverCapabilities) {
+        long capabilities =
                 MariaDbServerCapabilities.LONG_PASSWORD
                         | MariaDbServerCapabilities.IGNORE_SPACE
                         | MariaDbServerCapabilities.CLIENT_PROTOCOL_41
@@ -483,8 +511,15 @@ public abstract class AbstractConnectProtocol implements Protocol {
             capabilities |= MariaDbServerCapabilities.MULTI_STATEMENTS;
         }
 
+        // zstd compression is used only if server permits it, zlib compression being the fallback.
         if (urlParser.getOptions().useCompression) {
-            capabilities |= MariaDbServerCapabilities.COMPRESS;
+            if (urlParser.getOptions().useZstdCompression
+                    && (serverCapabilities & MariaDbServerCapabilities.CLIENT_ZSTD_COMPRESSION_ALGORITHM) != 0
+                    && ZstdCodec.isAvailable()) {
+                capabilities |= MariaDbServerCapabilities.CLIENT_ZSTD_COMPRESSION_ALGORITHM;
+            } else {
+                capabilities |= MariaDbServerCapabilities.COMPRESS;
+            }
         }
         if (urlParser.getOptions().interactiveClient) {
             capabilities |= MariaDbServerCapabilities.CLIENT_INTERACTIVE;
@@ -495,6 +530,19 @@ public abstract class AbstractConnectProtocol implements Protocol {
         if (database != null && !urlParser.getOptions().createDatabaseIfNotExist) {
             capabilities |= MariaDbServerCapabilities.CONNECT_WITH_DB;
         }
+
+        // MariaDB server send result-set metadata of prepared statement only when changed.
+        // Extended capabilities are read by server only if CLIENT_MYSQL is not set.
+        if ((serverCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA) != 0) {
+            capabilities &= ~MariaDbServerCapabilities.CLIENT_MYSQL;
+            capabilities |= MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA;
+        }
+
+        // MariaDB 10.2+ server can execute a prepared statement for many parameter sets in one command.
+        if ((serverCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_STMT_BULK_OPERATIONS) != 0) {
+            capabilities &= ~MariaDbServerCapabilities.CLIENT_MYSQL;
+            capabilities |= MariaDbServerCapabilities.MARIADB_CLIENT_STMT_BULK_OPERATIONS;
+        }
         return capabilities;
     }
 
@@ -638,6 +686,22 @@ public abstract class AbstractConnectProtocol implements Protocol {
         return ((serverStatus & ServerStatus.NO_BACKSLASH_ESCAPES) != 0);
     }
 
+    /**
+     * Indicate if server can execute a prepared statement with many parameter sets in one COM_STMT_BULK_EXECUTE command.
+     * @return true if bulk operations are supported
+     */
+    public boolean supportsBulkOperations() {
+        return bulkOperations;
+    }
+
+    /**
+     * Compression policy and counters of connection.
+     * @return compression policy, or null if connection doesn't use compression
+     */
+    public CompressionPolicy getCompressionPolicy() {
+        return (writer != null && urlParser.getOptions().useCompression) ? writer.getCompressionPolicy() : null;
+    }
+
     /**
      * Connect without proxy. (use basic failover implementation)
      *
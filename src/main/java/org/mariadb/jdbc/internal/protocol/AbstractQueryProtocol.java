@@ -1,9 +1,11 @@
 package org.mariadb.jdbc.internal.protocol;
 
+import org.mariadb.jdbc.LoadDataRowProducer;
 import org.mariadb.jdbc.UrlParser;
 import org.mariadb.jdbc.internal.packet.result.*;
 import org.mariadb.jdbc.internal.packet.send.*;
 import org.mariadb.jdbc.internal.queryresults.*;
+import org.mariadb.jdbc.internal.stream.LocalInfileRowWriter;
 import org.mariadb.jdbc.internal.stream.MaxAllowedPacketException;
 import org.mariadb.jdbc.internal.util.ExceptionMapper;
 import org.mariadb.jdbc.internal.util.PrepareStatementCache;
@@ -29,7 +31,11 @@ import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
 /*
@@ -85,7 +91,9 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
     private int transactionIsolationLevel = 0;
     private InputStream localInfileInputStream;
+    private LoadDataRowProducer localInfileRowProducer;
     private int maxRows;  /* max rows returned by a statement */
+    private final Map<Integer, CursorSelectResult> openCursors = new HashMap<>();
 
     /**
      * Get a protocol instance.
@@ -167,18 +175,12 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
                 final int numParams = reader.readShort();
                 reader.readByte(); // reserved
                 this.hasWarnings = reader.readShort() > 0;
-                ColumnInformation[] params = new ColumnInformation[numParams];
+                ColumnInformation[] params = ColumnInformation.readColumns(packetFetcher, numParams);
                 if (numParams > 0) {
-                    for (int i = 0; i < numParams; i++) {
-                        params[i] = new ColumnInformation(packetFetcher.getRawPacket().getByteBuffer());
-                    }
                     readEofPacket();
                 }
-                ColumnInformation[] columns = new ColumnInformation[numColumns];
+                ColumnInformation[] columns = ColumnInformation.readColumns(packetFetcher, numColumns);
                 if (numColumns > 0) {
-                    for (int i = 0; i < numColumns; i++) {
-                        columns[i] = new ColumnInformation(packetFetcher.getRawPacket().getByteBuffer());
-                    }
                     readEofPacket();
                 }
                 PrepareResult prepareResult = new PrepareResult(statementId, columns, params);
@@ -247,11 +249,29 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
      * @return a CachedSelectResult
      * @throws java.io.IOException when something goes wrong while reading/writing from the server
      */
-    private SelectQueryResult createQueryResult(final ResultSetPacket packet, boolean streaming, boolean binaryProtocol)
+    private SelectQueryResult createQueryResult(final ResultSetPacket packet, boolean streaming, boolean binaryProtocol,
+                                                PrepareResult prepareResult, int fetchSize)
             throws IOException, QueryException {
+        //when server can skip unchanged metadata, prepared statement column definitions are used as cache
+        PrepareResult metadataCache = cacheMetadata ? prepareResult : null;
+
+        if (fetchSize > 0) {
+            int cursorStatementId = prepareResult.getStatementId();
+            SelectQueryResult result = CursorSelectResult.createCursorSelectResult(packet, packetFetcher, this,
+                    cursorStatementId, fetchSize, metadataCache);
+            if (result instanceof CursorSelectResult) {
+                openCursors.put(cursorStatementId, (CursorSelectResult) result);
+            }
+            return result;
+        }
 
-        StreamingSelectResult streamingResult = StreamingSelectResult.createStreamingSelectResult(packet, packetFetcher, this, binaryProtocol);
+        StreamingSelectResult streamingResult = StreamingSelectResult.createStreamingSelectResult(packet, packetFetcher, this,
+                binaryProtocol, metadataCache);
         if (streaming) {
+            int readAhead = getOptions().streamingReadAhead;
+            if (readAhead > 0) {
+                streamingResult.startReadAhead(readAhead);
+            }
             return streamingResult;
         }
 
@@ -377,6 +397,12 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
             }
             throw new QueryException("Could not send query: " + e.getMessage(), -1, ExceptionMapper.SqlStates.INTERRUPTED_EXCEPTION.getSqlState(), e);
         } catch (IOException e) {
+            if (writer.isCommandPartiallySent()) {
+                //server is waiting for the end of a streamed command : connection cannot be used anymore
+                connect();
+                throw new QueryException("Could not send query: " + e.getMessage(), -1,
+                        ExceptionMapper.SqlStates.INTERRUPTED_EXCEPTION.getSqlState(), e);
+            }
             throw new QueryException("Could not send query: " + e.getMessage(), -1, ExceptionMapper.SqlStates.CONNECTION_EXCEPTION.getSqlState(), e);
         }
     }
@@ -396,6 +422,11 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
     @Override
     public AbstractQueryResult getResult(Object queriesObj, boolean streaming, boolean binaryProtocol) throws QueryException {
+        return getResult(queriesObj, streaming, binaryProtocol, null, 0);
+    }
+
+    private AbstractQueryResult getResult(Object queriesObj, boolean streaming, boolean binaryProtocol, PrepareResult prepareResult,
+                                          int fetchSize) throws QueryException {
         RawPacket rawPacket = null;
         AbstractResultPacket resultPacket;
         try {
@@ -407,39 +438,57 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
                 // We do accept general URLs, too. If the localInfileStream is
                 // set, use that.
 
-                InputStream is;
-                if (localInfileInputStream == null) {
-                    if (!getUrlParser().getOptions().allowLocalInfile) {
-
-                        writer.writeEmptyPacket(rawPacket.getPacketSeq() + 1);
-                        throw new QueryException(
-                                "Usage of LOCAL INFILE is disabled. To use it enable it via the connection property allowLocalInfile=true",
-                                -1,
-                                ExceptionMapper.SqlStates.FEATURE_NOT_SUPPORTED.getSqlState());
+                if (localInfileRowProducer != null) {
+                    LoadDataRowProducer producer = localInfileRowProducer;
+                    localInfileRowProducer = null;
+                    Exception producerException = sendRows(producer, rawPacket.getPacketSeq() + 1);
+                    resultPacket = ReadResultPacketFactory.createResultPacket(packetFetcher);
+                    if (producerException != null && resultPacket.getResultType() == AbstractResultPacket.ResultType.OK) {
+                        serverStatus = ((OkPacket) resultPacket).getServerStatus();
+                        this.moreResults = false;
+                        throw new QueryException("Could not send rows : " + producerException.getMessage(), -1, "22000",
+                                producerException);
                     }
-                    LocalInfilePacket localInfilePacket = (LocalInfilePacket) resultPacket;
-                    String localInfile = localInfilePacket.getFileName();
+                } else {
+                    InputStream is;
+                    if (localInfileInputStream == null) {
+                        if (!getUrlParser().getOptions().allowLocalInfile) {
 
-                    try {
-                        URL url = new URL(localInfile);
-                        is = url.openStream();
-                    } catch (IOException ioe) {
-                        try {
-                            is = new FileInputStream(localInfile);
-                        } catch (FileNotFoundException f) {
                             writer.writeEmptyPacket(rawPacket.getPacketSeq() + 1);
-                            ReadResultPacketFactory.createResultPacket(packetFetcher);
-                            throw new QueryException("Could not send file : " + f.getMessage(), -1, "22000", f);
+                            throw new QueryException(
+                                    "Usage of LOCAL INFILE is disabled. To use it enable it via the connection property allowLocalInfile=true",
+                                    -1,
+                                    ExceptionMapper.SqlStates.FEATURE_NOT_SUPPORTED.getSqlState());
+                        }
+                        LocalInfilePacket localInfilePacket = (LocalInfilePacket) resultPacket;
+                        String localInfile = localInfilePacket.getFileName();
+
+                        try {
+                            URL url = new URL(localInfile);
+                            is = url.openStream();
+                        } catch (IOException ioe) {
+                            try {
+                                is = new FileInputStream(localInfile);
+                            } catch (FileNotFoundException f) {
+                                writer.writeEmptyPacket(rawPacket.getPacketSeq() + 1);
+                                ReadResultPacketFactory.createResultPacket(packetFetcher);
+                                throw new QueryException("Could not send file : " + f.getMessage(), -1, "22000", f);
+                            }
                         }
+                    } else {
+                        is = localInfileInputStream;
+                        localInfileInputStream = null;
                     }
-                } else {
-                    is = localInfileInputStream;
-                    localInfileInputStream = null;
-                }
 
-                writer.sendFile(is, rawPacket.getPacketSeq() + 1);
-                is.close();
-                resultPacket = ReadResultPacketFactory.createResultPacket(packetFetcher);
+                    //channel size is 0 for non regular files (pipe, /proc files, ...) : these are read as stream
+                    if (is.getClass() == FileInputStream.class && ((FileInputStream) is).getChannel().size() > 0) {
+                        writer.sendFile(((FileInputStream) is).getChannel(), rawPacket.getPacketSeq() + 1);
+                    } else {
+                        writer.sendFile(is, rawPacket.getPacketSeq() + 1);
+                    }
+                    is.close();
+                    resultPacket = ReadResultPacketFactory.createResultPacket(packetFetcher);
+                }
             }
         } catch (SocketTimeoutException ste) {
             this.close();
@@ -478,7 +527,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
                 this.hasWarnings = false;
                 ResultSetPacket resultSetPacket = (ResultSetPacket) resultPacket;
                 try {
-                    return this.createQueryResult(resultSetPacket, streaming, binaryProtocol);
+                    return this.createQueryResult(resultSetPacket, streaming, binaryProtocol, prepareResult, fetchSize);
                 } catch (IOException e) {
 
                     throw new QueryException("Could not read result set: " + e.getMessage(),
@@ -538,18 +587,70 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
     @Override
     public AbstractQueryResult executePreparedQueryAfterFailover(String sql, ParameterHolder[] parameters, PrepareResult oldPrepareResult,
-                                                         MariaDbType[] parameterTypeHeader, boolean isStreaming) throws QueryException {
+                                                                 MariaDbType[] parameterTypeHeader, boolean isStreaming, int fetchSize)
+            throws QueryException {
         PrepareResult prepareResult = prepare(sql);
-        AbstractQueryResult queryResult = executePreparedQuery(sql, parameters, prepareResult, parameterTypeHeader, isStreaming);
+        AbstractQueryResult queryResult = executePreparedQuery(sql, parameters, prepareResult, parameterTypeHeader, isStreaming,
+                fetchSize);
         queryResult.setFailureObject(prepareResult);
         return queryResult;
     }
 
+    @Override
+    public void executePreparedBatchAfterFailover(String sql, List<ParameterHolder[]> parametersList, PrepareResult oldPrepareResult,
+                                                  MariaDbType[] parameterTypeHeader, AbstractQueryResult[] results)
+            throws QueryException {
+        PrepareResult prepareResult = prepare(sql);
+        try {
+            executePreparedBatch(sql, parametersList, prepareResult, parameterTypeHeader, results);
+        } finally {
+            setFailureObject(results, prepareResult);
+        }
+    }
+
+    @Override
+    public void executePreparedBulkAfterFailover(String sql, List<ParameterHolder[]> parametersList, PrepareResult oldPrepareResult,
+                                                 MariaDbType[] parameterTypeHeader, AbstractQueryResult[] results)
+            throws QueryException {
+        PrepareResult prepareResult = prepare(sql);
+        try {
+            executePreparedBulk(sql, parametersList, prepareResult, parameterTypeHeader, results);
+        } finally {
+            setFailureObject(results, prepareResult);
+        }
+    }
+
+    private static void setFailureObject(AbstractQueryResult[] results, PrepareResult prepareResult) {
+        for (AbstractQueryResult result : results) {
+            if (result != null) {
+                result.setFailureObject(prepareResult);
+            }
+        }
+    }
+
+    /**
+     * Execute a server prepared statement.
+     * If fetchSize is positive (and result isn't streaming), statement is executed with a read-only cursor, and rows will
+     * be fetched fetchSize at a time when reading result set.
+     *
+     * @param sql sql query
+     * @param parameters parameters
+     * @param prepareResult prepare result
+     * @param parameterTypeHeader parameters type header, to avoid sending type each time if not changed
+     * @param isStreaming is streaming flag
+     * @param fetchSize fetch size
+     * @return query result
+     * @throws QueryException if any error occur
+     */
     @Override
     public AbstractQueryResult executePreparedQuery(String sql, ParameterHolder[] parameters, PrepareResult prepareResult,
-                                                    MariaDbType[] parameterTypeHeader, boolean isStreaming) throws QueryException {
+                                                    MariaDbType[] parameterTypeHeader, boolean isStreaming, int fetchSize)
+            throws QueryException {
         checkClose();
         this.moreResults = false;
+        //executing statement will close any cursor opened on this statement
+        discardCursor(prepareResult.getStatementId());
+        boolean useCursor = !isStreaming && fetchSize > 0;
         try {
             int parameterCount = parameters.length;
             //send binary data in a separate stream
@@ -560,7 +661,8 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
             }
             //send execute query
             SendExecutePrepareStatementPacket packet = new SendExecutePrepareStatementPacket(prepareResult.getStatementId(), parameters,
-                    parameterCount, parameterTypeHeader);
+                    parameterCount, parameterTypeHeader, useCursor ? SendExecutePrepareStatementPacket.CURSOR_TYPE_READ_ONLY
+                    : SendExecutePrepareStatementPacket.CURSOR_TYPE_NO_CURSOR);
             packet.send(writer);
 
         } catch (MaxAllowedPacketException e) {
@@ -575,7 +677,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         }
 
         try {
-            return getResult(sql, isStreaming, true);
+            return getResult(sql, isStreaming, true, prepareResult, useCursor ? fetchSize : 0);
         } catch (QueryException qex) {
             if (qex.getCause() instanceof SocketTimeoutException) {
                 throw new QueryException("Connection timed out", -1, ExceptionMapper.SqlStates.CONNECTION_EXCEPTION.getSqlState(), qex);
@@ -585,6 +687,220 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         }
     }
 
+    /**
+     * Execute a server prepared statement for each parameters set, without waiting for a result before sending next
+     * execution : results are read afterward, in order.
+     *
+     * @param sql sql query
+     * @param parametersList parameters of each execution
+     * @param prepareResult prepare result
+     * @param parameterTypeHeader parameters type header, to avoid sending type each time if not changed
+     * @param results results of each execution, set to null for a failed execution
+     * @throws QueryException first execution error, thrown once all results are read, or connection error
+     */
+    @Override
+    public void executePreparedBatch(final String sql, final List<ParameterHolder[]> parametersList, final PrepareResult prepareResult,
+                                     final MariaDbType[] parameterTypeHeader, AbstractQueryResult[] results) throws QueryException {
+        checkClose();
+        //executing statement will close any cursor opened on this statement
+        discardCursor(prepareResult.getStatementId());
+        executeMultiSend(new MultiSendCommand() {
+            @Override
+            public void send(int index) throws IOException {
+                ParameterHolder[] parameters = parametersList.get(index);
+                for (int i = 0; i < parameters.length; i++) {
+                    if (parameters[i].isLongData()) {
+                        SendPrepareParameterPacket.send(i, (LongDataParameterHolder) parameters[i], prepareResult.getStatementId(),
+                                writer);
+                    }
+                }
+                new SendExecutePrepareStatementPacket(prepareResult.getStatementId(), parameters, parameters.length,
+                        parameterTypeHeader).send(writer);
+            }
+
+            @Override
+            public AbstractQueryResult readResult(int index) throws QueryException {
+                return getResult(sql, false, true, prepareResult, 0);
+            }
+        }, results);
+    }
+
+    /**
+     * Execute a server prepared statement for all parameters sets using COM_STMT_BULK_EXECUTE commands : parameters
+     * sets are sent in as few commands as possible, a new command being needed when max_allowed_packet would be
+     * exceeded or when parameter types change. Server returns one result per command, with the total of affected rows.
+     * Parameters must not be long data.
+     *
+     * @param sql sql query
+     * @param parametersList parameters of each execution
+     * @param prepareResult prepare result
+     * @param parameterTypeHeader parameters type header
+     * @param results results, each parameters set being given the result of the command that sent it. Set to null for
+     *                parameters sets not executed.
+     * @throws QueryException if any error occur. Executions following the failing command are not sent.
+     */
+    @Override
+    public void executePreparedBulk(String sql, List<ParameterHolder[]> parametersList, PrepareResult prepareResult,
+                                    MariaDbType[] parameterTypeHeader, AbstractQueryResult[] results) throws QueryException {
+        checkClose();
+        this.moreResults = false;
+        //executing statement will close any cursor opened on this statement
+        discardCursor(prepareResult.getStatementId());
+        int parameterCount = parameterTypeHeader.length;
+        int offset = 0;
+        while (offset < results.length) {
+            int sent;
+            try {
+                sent = new SendBulkExecutePacket(prepareResult.getStatementId(), parametersList, offset, parameterCount,
+                        parameterTypeHeader).send(writer);
+            } catch (MaxAllowedPacketException e) {
+                if (e.isMustReconnect()) {
+                    connect();
+                }
+                throw new QueryException("Could not send query: " + e.getMessage(), -1,
+                        ExceptionMapper.SqlStates.INTERRUPTED_EXCEPTION.getSqlState(), e);
+            } catch (IOException e) {
+                throw new QueryException("Could not send query: " + e.getMessage(), -1,
+                        ExceptionMapper.SqlStates.CONNECTION_EXCEPTION.getSqlState(), e);
+            }
+
+            AbstractQueryResult result;
+            try {
+                result = getResult(sql, false, true, prepareResult, 0);
+            } catch (QueryException qex) {
+                if (qex.getCause() instanceof SocketTimeoutException) {
+                    throw new QueryException("Connection timed out", -1, ExceptionMapper.SqlStates.CONNECTION_EXCEPTION.getSqlState(), qex);
+                } else {
+                    throw qex;
+                }
+            }
+            Arrays.fill(results, offset, offset + sent, result);
+            offset += sent;
+        }
+    }
+
+    /**
+     * Execute text queries, each one in its own COM_QUERY, without waiting for a result before sending next query :
+     * results are read afterward, in order. Unlike allowMultiQueries, queries are not aggregated, so server
+     * multi-statements support isn't needed.
+     *
+     * @param queries queries
+     * @param results results of each query, set to null for a failed query
+     * @throws QueryException first query error, thrown once all results are read, or connection error
+     */
+    @Override
+    public void executeBatchMultiSend(final List<Query> queries, AbstractQueryResult[] results) throws QueryException {
+        checkClose();
+        for (Query query : queries) {
+            query.validate();
+        }
+        executeMultiSend(new MultiSendCommand() {
+            @Override
+            public void send(int index) throws IOException, QueryException {
+                new SendTextQueryPacket(queries.get(index)).send(writer);
+            }
+
+            @Override
+            public AbstractQueryResult readResult(int index) throws QueryException {
+                return getResult(queries.get(index), false, false);
+            }
+        }, results);
+    }
+
+    /**
+     * Command sent many times without waiting for result.
+     */
+    private interface MultiSendCommand {
+        void send(int index) throws IOException, QueryException;
+
+        AbstractQueryResult readResult(int index) throws QueryException;
+    }
+
+    /**
+     * Send commands without waiting for each result. Size of commands awaiting result is limited to socket send
+     * buffer size, so that sending never blocks on a server that doesn't read anymore because it is blocked writing
+     * unread results (both side would block). A command is always sent if no other command is awaiting result.
+     * A failed command doesn't stop the batch : server executes the following ones anyway.
+     *
+     * @param command command to send
+     * @param results results of each command, set to null for a failed command
+     * @throws QueryException first command error, thrown once all results are read, or connection error
+     */
+    private void executeMultiSend(MultiSendCommand command, AbstractQueryResult[] results) throws QueryException {
+        this.moreResults = false;
+        int size = results.length;
+        int maxPendingBytes = maxPendingBytes();
+        //sent bytes counter after each command, to know the size of commands awaiting result
+        long[] sentMarks = new long[size];
+        long readMark = writer.getSentBytes();
+        int sent = 0;
+        QueryException exception = null;
+        for (int read = 0; read < size; read++) {
+            while (exception == null && sent < size
+                    && (sent == read || writer.getSentBytes() - readMark < maxPendingBytes)) {
+                try {
+                    command.send(sent);
+                    sentMarks[sent] = writer.getSentBytes();
+                    sent++;
+                } catch (MaxAllowedPacketException e) {
+                    if (e.isMustReconnect()) {
+                        connect();
+                        throw new QueryException("Could not send query: " + e.getMessage(), -1,
+                                ExceptionMapper.SqlStates.INTERRUPTED_EXCEPTION.getSqlState(), e);
+                    }
+                    //packet has not been sent : stop sending, but results of commands already sent must be read
+                    exception = new QueryException("Could not send query: " + e.getMessage(), -1,
+                            ExceptionMapper.SqlStates.INTERRUPTED_EXCEPTION.getSqlState(), e);
+                } catch (IOException e) {
+                    throw new QueryException("Could not send query: " + e.getMessage(), -1,
+                            ExceptionMapper.SqlStates.CONNECTION_EXCEPTION.getSqlState(), e);
+                } catch (QueryException e) {
+                    exception = e;
+                }
+            }
+            if (read == sent) {
+                break;
+            }
+            readMark = sentMarks[read];
+
+            try {
+                results[read] = command.readResult(read);
+                //other results (stored procedure) are not part of batch results
+                while (moreResults) {
+                    getMoreResults(false);
+                }
+            } catch (QueryException qex) {
+                if (qex.getCause() instanceof SocketTimeoutException) {
+                    throw new QueryException("Connection timed out", -1, ExceptionMapper.SqlStates.CONNECTION_EXCEPTION.getSqlState(), qex);
+                }
+                if (qex.getSqlState() != null
+                        && ExceptionMapper.SqlStates.fromString(qex.getSqlState()) == ExceptionMapper.SqlStates.CONNECTION_EXCEPTION) {
+                    throw qex;
+                }
+                if (exception == null) {
+                    exception = qex;
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Maximum size of commands sent without having read their result : commands then fit in socket send buffer
+     * even if server doesn't read them.
+     *
+     * @return maximum pending bytes
+     */
+    private int maxPendingBytes() {
+        try {
+            return Math.max(1, socket.getSendBufferSize());
+        } catch (SocketException se) {
+            return 16 * 1024;
+        }
+    }
+
     /**
      * Deallocate prepare statement if not used anymore.
      * @param sql sql query
@@ -614,6 +930,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         lock.lock();
         try {
             checkClose();
+            discardCursor(statementId);
             final SendClosePrepareStatementPacket packet = new SendClosePrepareStatementPacket(statementId);
             try {
                 packet.send(writer);
@@ -626,6 +943,77 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         }
     }
 
+    /**
+     * Fetch next rows of a cursor result set (COM_STMT_FETCH).
+     *
+     * @param cursor cursor result set
+     * @throws QueryException if connection error occur, or if server return an error
+     */
+    public void fetchCursorRows(CursorSelectResult cursor) throws QueryException {
+        lock.lock();
+        try {
+            checkClose();
+            closeIfActiveResult();
+            try {
+                new SendFetchPacket(cursor.getStatementId(), cursor.getFetchSize()).send(writer);
+                cursor.readFetchedRows(packetFetcher);
+            } catch (IOException e) {
+                throw new QueryException("Could not fetch rows: " + e.getMessage(), -1,
+                        ExceptionMapper.SqlStates.CONNECTION_EXCEPTION.getSqlState(), e);
+            } finally {
+                if (!cursor.isCursorOpen() && openCursors.get(cursor.getStatementId()) == cursor) {
+                    openCursors.remove(cursor.getStatementId());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close the server cursor of a cursor result set that has not been read entirely (COM_STMT_RESET).
+     *
+     * @param cursor cursor result set
+     * @throws QueryException if connection error occur, or if server return an error
+     */
+    public void closeCursor(CursorSelectResult cursor) throws QueryException {
+        lock.lock();
+        try {
+            if (openCursors.get(cursor.getStatementId()) != cursor) {
+                //statement has been executed again or released : cursor is already closed
+                return;
+            }
+            openCursors.remove(cursor.getStatementId());
+            checkClose();
+            closeIfActiveResult();
+            try {
+                new SendResetPrepareStatementPacket(cursor.getStatementId()).send(writer);
+                AbstractResultPacket resultPacket = ReadResultPacketFactory.createResultPacket(packetFetcher);
+                if (resultPacket.getResultType() == AbstractResultPacket.ResultType.ERROR) {
+                    ErrorPacket ep = (ErrorPacket) resultPacket;
+                    throw new QueryException(ep.getMessage(), ep.getErrorNumber(), ep.getSqlState());
+                }
+            } catch (IOException e) {
+                throw new QueryException("Could not close cursor: " + e.getMessage(), -1,
+                        ExceptionMapper.SqlStates.CONNECTION_EXCEPTION.getSqlState(), e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Server close cursor when statement is executed again or released : mark the corresponding result set.
+     *
+     * @param statementId statement id
+     */
+    private void discardCursor(int statementId) {
+        CursorSelectResult cursor = openCursors.remove(statementId);
+        if (cursor != null) {
+            cursor.cursorClosed();
+        }
+    }
+
     /**
      * Cancels the current query - clones the current protocol and executes a query using the new connection.
      *
@@ -693,6 +1081,32 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         this.localInfileInputStream = inputStream;
     }
 
+    @Override
+    public void setLocalInfileRowProducer(LoadDataRowProducer producer) {
+        this.localInfileRowProducer = producer;
+    }
+
+    /**
+     * Send "LOAD DATA LOCAL INFILE" content produced by row producer.
+     * Content already produced is send even if producer fails, so server ends command.
+     *
+     * @param producer row producer
+     * @param seq first content packet sequence number
+     * @return producer exception if rows could not all be produced, null otherwise
+     * @throws IOException if any error occur when sending data to server
+     */
+    private Exception sendRows(LoadDataRowProducer producer, int seq) throws IOException {
+        LocalInfileRowWriter rowWriter = new LocalInfileRowWriter(writer, seq, getCalendar(), getOptions().useFractionalSeconds, true);
+        Exception producerException = null;
+        try {
+            producer.produceRows(rowWriter);
+        } catch (IOException | SQLException | RuntimeException e) {
+            producerException = e;
+        }
+        rowWriter.finish();
+        return producerException;
+    }
+
     /**
      * Returns the connection timeout in milliseconds.
      *
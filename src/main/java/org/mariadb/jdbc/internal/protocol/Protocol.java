@@ -50,9 +50,11 @@ OF SUCH DAMAGE.
 */
 
 import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.LoadDataRowProducer;
 import org.mariadb.jdbc.UrlParser;
 import org.mariadb.jdbc.internal.MariaDbType;
 import org.mariadb.jdbc.internal.failover.FailoverProxy;
+import org.mariadb.jdbc.internal.stream.CompressionPolicy;
 import org.mariadb.jdbc.internal.util.Options;
 import org.mariadb.jdbc.internal.util.PrepareStatementCache;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
@@ -74,6 +76,10 @@ public interface Protocol {
 
     boolean noBackslashEscapes();
 
+    boolean supportsBulkOperations();
+
+    CompressionPolicy getCompressionPolicy();
+
     void connect() throws QueryException;
 
     UrlParser getUrlParser();
@@ -160,6 +166,8 @@ public interface Protocol {
 
     void setLocalInfileInputStream(InputStream inputStream);
 
+    void setLocalInfileRowProducer(LoadDataRowProducer producer);
+
     int getTimeout() throws SocketException;
 
     void setTimeout(int timeout) throws SocketException;
@@ -183,14 +191,31 @@ public interface Protocol {
     void setHostFailedWithoutProxy();
 
     AbstractQueryResult executePreparedQuery(String sql, ParameterHolder[] parameters, PrepareResult prepareResult, MariaDbType[] parameterTypeHeader,
-                                             boolean isStreaming) throws QueryException;
+                                             boolean isStreaming, int fetchSize) throws QueryException;
+
+    void executePreparedBatch(String sql, List<ParameterHolder[]> parametersList, PrepareResult prepareResult,
+                              MariaDbType[] parameterTypeHeader, AbstractQueryResult[] results) throws QueryException;
+
+    void executePreparedBulk(String sql, List<ParameterHolder[]> parametersList, PrepareResult prepareResult,
+                             MariaDbType[] parameterTypeHeader, AbstractQueryResult[] results) throws QueryException;
+
+    void executeBatchMultiSend(List<Query> queries, AbstractQueryResult[] results) throws QueryException;
 
     void releasePrepareStatement(String sql, PrepareResult prepareResult) throws QueryException;
 
     void forceReleasePrepareStatement(int statementId) throws QueryException;
 
     AbstractQueryResult executePreparedQueryAfterFailover(String sql, ParameterHolder[] parameters, PrepareResult oldPrepareResult,
-                                                          MariaDbType[] parameterTypeHeader, boolean isStreaming) throws QueryException; //used
+                                                          MariaDbType[] parameterTypeHeader, boolean isStreaming, int fetchSize)
+            throws QueryException; //used
+
+    void executePreparedBatchAfterFailover(String sql, List<ParameterHolder[]> parametersList, PrepareResult oldPrepareResult,
+                                           MariaDbType[] parameterTypeHeader, AbstractQueryResult[] results)
+            throws QueryException;
+
+    void executePreparedBulkAfterFailover(String sql, List<ParameterHolder[]> parametersList, PrepareResult oldPrepareResult,
+                                          MariaDbType[] parameterTypeHeader, AbstractQueryResult[] results)
+            throws QueryException;
 
     PrepareStatementCache prepareStatementCache();
 
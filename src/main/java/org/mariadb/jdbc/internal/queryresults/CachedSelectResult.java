@@ -48,31 +48,50 @@ ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSI
 OF SUCH DAMAGE.
 */
 
+import org.mariadb.jdbc.internal.util.Options;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 
 public class CachedSelectResult extends SelectQueryResult {
 
     protected short warningCount;
-    private List<ValueObject[]> resultSet;
+    private RowDataStore resultSet;
     private int rowPointer;
 
 
     /**
      * Initialisation.
      * @param ci column informations
-     * @param result first valueObject
+     * @param result rows data
      * @param warningCount warning count
+     * @param binaryProtocol are rows binary encoded
+     * @param options session options
      */
-    public CachedSelectResult(ColumnInformation[] ci, List<ValueObject[]> result, short warningCount) {
+    public CachedSelectResult(ColumnInformation[] ci, List<RowData> result, short warningCount, boolean binaryProtocol,
+                              Options options) {
+        this(ci, new RowDataStore(ci.length), warningCount, binaryProtocol, options);
+        try {
+            for (RowData row : result) {
+                resultSet.add(row);
+            }
+        } catch (IOException ioe) {
+            //cannot occur, store has no memory limit
+            throw new IllegalStateException(ioe);
+        }
+    }
+
+    private CachedSelectResult(ColumnInformation[] ci, RowDataStore result, short warningCount, boolean binaryProtocol,
+                               Options options) {
         this.columnInformation = ci;
+        this.columnInformationLength = ci.length;
         this.resultSet = result;
         this.warningCount = warningCount;
+        this.binaryProtocol = binaryProtocol;
+        this.options = options;
         rowPointer = -1;
     }
 
@@ -96,12 +115,19 @@ public class CachedSelectResult extends SelectQueryResult {
      * @throws QueryException if receiving an database error stream
      */
     public static CachedSelectResult createCachedSelectResult(StreamingSelectResult streamingResult) throws IOException, QueryException {
-        final List<ValueObject[]> valueObjects = new ArrayList<>();
-
-        while (streamingResult.next()) {
-            valueObjects.add(streamingResult.values);
+        Options options = streamingResult.options;
+        final RowDataStore rows = new RowDataStore(streamingResult.columnInformationLength,
+                (options == null) ? 0 : options.maxResultSetMemory);
+        try {
+            while (streamingResult.next()) {
+                rows.add(streamingResult.values);
+            }
+        } catch (IOException | QueryException exception) {
+            rows.close();
+            throw exception;
         }
-        CachedSelectResult qr = new CachedSelectResult(streamingResult.columnInformation, valueObjects, streamingResult.warningCount);
+        CachedSelectResult qr = new CachedSelectResult(streamingResult.columnInformation, rows, streamingResult.warningCount,
+                streamingResult.binaryProtocol, streamingResult.options);
         streamingResult.close();
         return qr;
     }
@@ -124,24 +150,18 @@ public class CachedSelectResult extends SelectQueryResult {
         return columnInformation;
     }
 
-    /**
-     * gets the value at position i in the result set. i starts at zero!
-     *
-     * @param position index, starts at 0
-     * @return the value
-     */
-    public ValueObject getValueObject(int position) throws NoSuchColumnException {
+    @Override
+    protected RowData getRowData(int position) throws NoSuchColumnException {
         if (this.rowPointer < 0) {
             throw new NoSuchColumnException("Current position is before the first row");
         }
         if (this.rowPointer >= resultSet.size()) {
             throw new NoSuchColumnException("Current position is after the last row");
         }
-        ValueObject[] row = resultSet.get(this.rowPointer);
-        if (position < 0 || position >= row.length) {
+        if (position < 0 || position >= columnInformationLength) {
             throw new NoSuchColumnException("No such column: " + position);
         }
-        return row[position];
+        return resultSet.get(this.rowPointer);
     }
 
     public int getRows() {
@@ -157,6 +177,12 @@ public class CachedSelectResult extends SelectQueryResult {
     }
 
 
+    @Override
+    public void close() {
+        super.close();
+        resultSet.close();
+    }
+
     public ResultSetType getResultSetType() {
         return ResultSetType.SELECT;
     }
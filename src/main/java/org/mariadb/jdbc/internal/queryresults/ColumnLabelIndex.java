@@ -0,0 +1,208 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.queryresults;
+
+import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Case-insensitive index of column names, shared by all result sets having the same column definitions.
+ * Names are stored in an open-addressing table with case-folded hashing, so lookup doesn't create any object.
+ *
+ * <p>Column labels have precedence, then "table.label", then original column names (and "table.originalName").
+ * If many columns have the same name, first one is used.</p>
+ */
+public final class ColumnLabelIndex {
+    private static final int MAX_CACHED_INDEXES = 256;
+
+    private static final Map<ColumnInformation[], ColumnLabelIndex> indexByColumns =
+            new WeakHashMap<ColumnInformation[], ColumnLabelIndex>();
+
+    private static final Map<String, ColumnLabelIndex> indexByDefinition = new LruIndexMap();
+
+    private final String[] keys;
+    private final int[] indexes;
+    private final int mask;
+
+    private ColumnLabelIndex(String[] labels, String[] tables, String[] originalNames) {
+        int size = 1;
+        while (size < labels.length * 8) {
+            size <<= 1;
+        }
+        keys = new String[size];
+        indexes = new int[size];
+        mask = size - 1;
+        for (int i = 0; i < labels.length; i++) {
+            put(labels[i], i);
+        }
+        for (int i = 0; i < labels.length; i++) {
+            if (!tables[i].isEmpty()) {
+                put(tables[i] + "." + labels[i], i);
+            }
+        }
+        for (int i = 0; i < labels.length; i++) {
+            put(originalNames[i], i);
+            if (!tables[i].isEmpty()) {
+                put(tables[i] + "." + originalNames[i], i);
+            }
+        }
+    }
+
+    /**
+     * Get index of columns. Index is built once for all result sets with identical column definitions.
+     *
+     * @param columns columns information
+     * @return column index
+     */
+    public static ColumnLabelIndex get(ColumnInformation[] columns) {
+        synchronized (indexByColumns) {
+            ColumnLabelIndex index = indexByColumns.get(columns);
+            if (index != null) {
+                return index;
+            }
+        }
+
+        String[] labels = new String[columns.length];
+        String[] tables = new String[columns.length];
+        String[] originalNames = new String[columns.length];
+        StringBuilder definition = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            labels[i] = columns[i].getName();
+            tables[i] = (columns[i].getTable() == null) ? "" : columns[i].getTable();
+            originalNames[i] = columns[i].getOriginalName();
+            if (originalNames[i] == null || originalNames[i].isEmpty()) {
+                // for name-less columns (there CAN be some), use their alias
+                originalNames[i] = labels[i];
+            }
+            definition.append(labels[i]).append('\0').append(tables[i]).append('\0').append(originalNames[i]).append('\0');
+        }
+
+        String key = definition.toString();
+        ColumnLabelIndex index;
+        synchronized (indexByDefinition) {
+            index = indexByDefinition.get(key);
+            if (index == null) {
+                index = new ColumnLabelIndex(labels, tables, originalNames);
+                indexByDefinition.put(key, index);
+            }
+        }
+        synchronized (indexByColumns) {
+            indexByColumns.put(columns, index);
+        }
+        return index;
+    }
+
+    /**
+     * Get column index by name, case-insensitive.
+     *
+     * @param name column label, "table.label", or original name
+     * @return column index starting at 0, or -1 if unknown
+     */
+    public int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        int slot = hash(name) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equalsIgnoreCase(name)) {
+                return indexes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void put(String key, int index) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equalsIgnoreCase(key)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        indexes[slot] = index;
+    }
+
+    /**
+     * Hash of case-folded name, consistent with String.equalsIgnoreCase().
+     *
+     * @param name name
+     * @return hash
+     */
+    private static int hash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Index by column definitions, keeping the most recently used ones.
+     */
+    private static final class LruIndexMap extends LinkedHashMap<String, ColumnLabelIndex> {
+        private static final long serialVersionUID = -3157946523413712082L;
+
+        private LruIndexMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ColumnLabelIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    }
+
+}
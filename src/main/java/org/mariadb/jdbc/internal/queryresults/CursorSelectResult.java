@@ -0,0 +1,269 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.queryresults;
+
+import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
+import org.mariadb.jdbc.internal.packet.read.ReadResultPacketFactory;
+import org.mariadb.jdbc.internal.packet.result.BinaryRowPacket;
+import org.mariadb.jdbc.internal.packet.result.EndOfFilePacket;
+import org.mariadb.jdbc.internal.packet.result.ErrorPacket;
+import org.mariadb.jdbc.internal.packet.result.ResultSetPacket;
+import org.mariadb.jdbc.internal.protocol.AbstractQueryProtocol;
+import org.mariadb.jdbc.internal.protocol.MasterProtocol;
+import org.mariadb.jdbc.internal.util.buffer.ReadUtil;
+import org.mariadb.jdbc.internal.util.constant.ServerStatus;
+import org.mariadb.jdbc.internal.util.dao.PrepareResult;
+import org.mariadb.jdbc.internal.util.dao.QueryException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Result set of a prepared statement executed with a read-only server cursor.
+ * Rows are fetched by groups of fetchSize rows using COM_STMT_FETCH when needed, so memory stay bounded, and since
+ * the connection is not blocked between fetches (unlike streaming result sets), other queries can be executed
+ * while reading this result set.
+ */
+public class CursorSelectResult extends SelectQueryResult {
+    private AbstractQueryProtocol protocol;
+    private final int statementId;
+    private final int fetchSize;
+    private final BinaryRowPacket rowPacket;
+    private final RowDataStore rows;
+    private int rowPointer;
+    private boolean beforeFirst;
+    private boolean isEof;
+    private boolean lastRowSent;
+    private boolean discarded;
+
+    /**
+     * Create cursor result set.
+     * @param info column information
+     * @param protocol protocol
+     * @param statementId prepared statement id
+     * @param fetchSize number of rows to fetch each time
+     * @param warningCount warning count
+     */
+    public CursorSelectResult(ColumnInformation[] info, AbstractQueryProtocol protocol, int statementId, int fetchSize,
+                              short warningCount) {
+        this.columnInformation = info;
+        this.columnInformationLength = info.length;
+        this.protocol = protocol;
+        this.statementId = statementId;
+        this.fetchSize = fetchSize;
+        this.warningCount = warningCount;
+        this.binaryProtocol = true;
+        this.options = protocol.getOptions();
+        this.rowPacket = new BinaryRowPacket(columnInformation, columnInformationLength);
+        this.rows = new RowDataStore(columnInformationLength);
+        this.beforeFirst = true;
+    }
+
+    /**
+     * Create result set of a statement executed with CURSOR_TYPE_READ_ONLY.
+     * If server has not opened a cursor (statement that cannot use cursor), rows immediately follow column definitions,
+     * and a cached result set is returned.
+     *
+     * @param packet        the result set stream from the server
+     * @param packetFetcher packetfetcher
+     * @param protocol      the current connection protocol class
+     * @param statementId   prepared statement id
+     * @param fetchSize     number of rows to fetch each time
+     * @param prepareResult prepared statement whose column definitions are cached, when server may skip them. null otherwise
+     * @return a CursorSelectResult, or a CachedSelectResult if server has not opened a cursor
+     * @throws IOException    when something goes wrong while reading/writing from the server
+     * @throws QueryException if receiving an database error stream
+     */
+    public static SelectQueryResult createCursorSelectResult(ResultSetPacket packet, ReadPacketFetcher packetFetcher,
+                                                             AbstractQueryProtocol protocol, int statementId, int fetchSize,
+                                                             PrepareResult prepareResult)
+            throws IOException, QueryException {
+        ColumnInformation[] ci = StreamingSelectResult.readColumnInformation(packet, packetFetcher, prepareResult);
+        //EOF packet is sent even when column definitions are skipped, and indicates if cursor has been opened
+        ByteBuffer bufferEof = packetFetcher.getReusableBuffer();
+        if (!ReadUtil.eofIsNext(bufferEof)) {
+            throw new QueryException("Packets out of order when reading field packets, expected was EOF stream. "
+                    + "Packet contents (hex) = " + MasterProtocol.hexdump(bufferEof, 0));
+        }
+        EndOfFilePacket endOfFilePacket = (EndOfFilePacket) ReadResultPacketFactory.createResultPacket(bufferEof);
+        if ((endOfFilePacket.getStatusFlags() & ServerStatus.CURSOR_EXISTS) == 0) {
+            return CachedSelectResult.createCachedSelectResult(new StreamingSelectResult(ci, protocol, packetFetcher, true));
+        }
+        return new CursorSelectResult(ci, protocol, statementId, fetchSize, endOfFilePacket.getWarningCount());
+    }
+
+    @Override
+    public void addResult(AbstractQueryResult other) {
+
+    }
+
+    @Override
+    public boolean next() throws IOException, QueryException {
+        beforeFirst = false;
+        if (isEof) {
+            return false;
+        }
+        if (rowPointer + 1 < rows.size()) {
+            rowPointer++;
+            return true;
+        }
+        if (discarded) {
+            throw new QueryException("Cannot fetch rows : cursor has been closed by another execution of the statement");
+        }
+        if (!lastRowSent && protocol != null) {
+            protocol.fetchCursorRows(this);
+            if (rows.size() > 0) {
+                rowPointer = 0;
+                return true;
+            }
+        }
+        isEof = true;
+        rows.clear();
+        return false;
+    }
+
+    /**
+     * Read rows send by server after a COM_STMT_FETCH. Caller must hold the connection lock.
+     *
+     * @param packetFetcher packet fetcher
+     * @throws IOException    when something goes wrong while reading from the server
+     * @throws QueryException if receiving an database error stream
+     */
+    public void readFetchedRows(ReadPacketFetcher packetFetcher) throws IOException, QueryException {
+        rows.clear();
+        rowPointer = -1;
+        for (; ; ) {
+            ByteBuffer buffer = packetFetcher.getReusableBuffer();
+            byte initialByte = buffer.get(0);
+
+            //is error Packet
+            if (initialByte == (byte) 0xff) {
+                lastRowSent = true;
+                ErrorPacket errorPacket = (ErrorPacket) ReadResultPacketFactory.createResultPacket(buffer);
+                throw new QueryException(errorPacket.getMessage(), errorPacket.getErrorNumber(), errorPacket.getSqlState());
+            }
+
+            //is EOF stream
+            if (initialByte == (byte) 0xfe && buffer.limit() < 9) {
+                final EndOfFilePacket endOfFilePacket = (EndOfFilePacket) ReadResultPacketFactory.createResultPacket(buffer);
+                warningCount = endOfFilePacket.getWarningCount();
+                lastRowSent = (endOfFilePacket.getStatusFlags() & ServerStatus.LAST_ROW_SENT) != 0
+                        || (endOfFilePacket.getStatusFlags() & ServerStatus.CURSOR_EXISTS) == 0;
+                return;
+            }
+            rows.add(rowPacket.getRow(packetFetcher, buffer));
+        }
+    }
+
+    /**
+     * Indicate that server cursor has been closed (statement executed again or released), so no more rows can be
+     * fetched.
+     */
+    public void cursorClosed() {
+        discarded = !lastRowSent;
+        lastRowSent = true;
+    }
+
+    public boolean isCursorOpen() {
+        return !lastRowSent;
+    }
+
+    public int getStatementId() {
+        return statementId;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Close resultset, closing server cursor if all rows have not been fetched.
+     */
+    @Override
+    public void close() {
+        super.close();
+        if (protocol != null && !lastRowSent) {
+            try {
+                protocol.closeCursor(this);
+            } catch (QueryException qe) {
+                //eat exception : cursor will be closed with statement
+            }
+        }
+        lastRowSent = true;
+        discarded = false;
+        protocol = null;
+        rows.clear();
+    }
+
+    @Override
+    protected RowData getRowData(int index) throws NoSuchColumnException {
+        if (rowPointer < 0 || rowPointer >= rows.size()) {
+            throw new NoSuchColumnException("No current row");
+        }
+        if (index < 0 || index >= columnInformationLength) {
+            throw new NoSuchColumnException("No such column: " + index);
+        }
+        return rows.get(rowPointer);
+    }
+
+    public int getRows() {
+        return -1;
+    }
+
+    public boolean isBeforeFirst() {
+        return beforeFirst;
+    }
+
+    public boolean isAfterLast() {
+        return isEof;
+    }
+
+}
@@ -53,6 +53,7 @@ import org.mariadb.jdbc.MariaDbBlob;
 import org.mariadb.jdbc.MariaDbClob;
 import org.mariadb.jdbc.internal.MariaDbType;
 import org.mariadb.jdbc.internal.util.Options;
+import org.mariadb.jdbc.internal.util.TemporalCodec;
 import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
 
 import java.io.ByteArrayInputStream;
@@ -63,7 +64,9 @@ import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.TimeZone;
 import java.util.regex.Pattern;
 
 /**
@@ -74,11 +77,36 @@ import java.util.regex.Pattern;
 public class MariaDbValueObject implements ValueObject {
 
     private static final Pattern isIntegerRegex = Pattern.compile("^-?\\d+\\.0+$");
-    private final byte[] rawBytes;
-    private final MariaDbType dataType;
+    private static final int NULL_LENGTH = -1;
+    private static final long[] LONG_POWERS_OF_TEN = new long[19];
+    private static final double[] DOUBLE_POWERS_OF_TEN = new double[23];
+    private static final float[] FLOAT_POWERS_OF_TEN = new float[11];
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+
+    static {
+        LONG_POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < LONG_POWERS_OF_TEN.length; i++) {
+            LONG_POWERS_OF_TEN[i] = LONG_POWERS_OF_TEN[i - 1] * 10;
+        }
+        //powers of ten up to 10^22 (resp. 10^10) are exact doubles (resp. floats)
+        for (int i = 0; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+            DOUBLE_POWERS_OF_TEN[i] = Double.parseDouble("1e" + i);
+        }
+        for (int i = 0; i < FLOAT_POWERS_OF_TEN.length; i++) {
+            FLOAT_POWERS_OF_TEN[i] = Float.parseFloat("1e" + i);
+        }
+    }
+
+    private byte[] buf;
+    private int offset;
+    private int length;
+    private MariaDbType dataType;
     private final boolean isBinaryEncoded;
-    private final ColumnInformation columnInfo;
+    private ColumnInformation columnInfo;
     private final Options options;
+    private long parsedUnscaled;
+    private int parsedScale;
 
     /**
      * Constructor.
@@ -87,11 +115,7 @@ public class MariaDbValueObject implements ValueObject {
      * @param options session options
      */
     public MariaDbValueObject(byte[] rawBytes, ColumnInformation columnInfo, Options options) {
-        this.dataType = columnInfo.getType();
-        this.rawBytes = rawBytes;
-        this.isBinaryEncoded = false;
-        this.columnInfo = columnInfo;
-        this.options = options;
+        this(rawBytes, columnInfo, false, options);
     }
 
     /**
@@ -102,13 +126,44 @@ public class MariaDbValueObject implements ValueObject {
      * @param options session options
      */
     public MariaDbValueObject(byte[] rawBytes, ColumnInformation columnInfo, boolean isBinaryEncoded, Options options) {
+        this(rawBytes, 0, (rawBytes == null) ? NULL_LENGTH : rawBytes.length, columnInfo, isBinaryEncoded, options);
+    }
+
+    /**
+     * Constructor for a value that is a part of a buffer (row buffer for example), without copying data.
+     * @param buf buffer containing data
+     * @param offset value offset in buffer
+     * @param length value length, -1 if value is NULL
+     * @param columnInfo column information
+     * @param isBinaryEncoded is text or binary encoded.
+     * @param options session options
+     */
+    public MariaDbValueObject(byte[] buf, int offset, int length, ColumnInformation columnInfo, boolean isBinaryEncoded,
+                              Options options) {
         this.dataType = columnInfo.getType();
-        this.rawBytes = rawBytes;
+        this.buf = buf;
+        this.offset = offset;
+        this.length = length;
         this.isBinaryEncoded = isBinaryEncoded;
         this.columnInfo = columnInfo;
         this.options = options;
     }
 
+    /**
+     * Point this object to another value, so the same object can be used to decode all values of a result set.
+     * @param buf buffer containing data
+     * @param offset value offset in buffer
+     * @param length value length, -1 if value is NULL
+     * @param columnInfo column information
+     */
+    void reset(byte[] buf, int offset, int length, ColumnInformation columnInfo) {
+        this.dataType = columnInfo.getType();
+        this.buf = buf;
+        this.offset = offset;
+        this.length = length;
+        this.columnInfo = columnInfo;
+    }
+
 
     public String getString() throws SQLException {
         return getString(null);
@@ -120,14 +175,14 @@ public class MariaDbValueObject implements ValueObject {
      * @return string
      */
     public String getString(Calendar cal) throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
 
         switch (columnInfo.getType()) {
             case BIT:
                 if (options.tinyInt1isBit && columnInfo.getLength() == 1) {
-                    return (rawBytes[0] == 0) ? "0" : "1";
+                    return (buf[offset] == 0) ? "0" : "1";
                 }
                 break;
             case TINYINT:
@@ -196,16 +251,16 @@ public class MariaDbValueObject implements ValueObject {
             case OLDDECIMAL:
                 return getBigDecimal().toString();
             default:
-                return new String(rawBytes, StandardCharsets.UTF_8);
+                return new String(buf, offset, length, StandardCharsets.UTF_8);
         }
-        return new String(rawBytes, StandardCharsets.UTF_8);
+        return new String(buf, offset, length, StandardCharsets.UTF_8);
     }
 
     private String getTimeString() {
-        if (rawBytes == null || rawBytes.length == 0) {
+        if (length == NULL_LENGTH || length == 0) {
             return null;
         }
-        String rawValue = new String(rawBytes, StandardCharsets.UTF_8);
+        String rawValue = new String(buf, offset, length, StandardCharsets.UTF_8);
         if ( "0000-00-00".equals(rawValue)) {
             return null;
         }
@@ -215,11 +270,11 @@ public class MariaDbValueObject implements ValueObject {
             }
             return rawValue;
         }
-        int day = ((rawBytes[1] & 0xff)
-                | ((rawBytes[2] & 0xff) << 8)
-                | ((rawBytes[3] & 0xff) << 16)
-                | ((rawBytes[4] & 0xff) << 24));
-        int hour = rawBytes[5];
+        int day = ((buf[offset + 1] & 0xff)
+                | ((buf[offset + 2] & 0xff) << 8)
+                | ((buf[offset + 3] & 0xff) << 16)
+                | ((buf[offset + 4] & 0xff) << 24));
+        int hour = buf[offset + 5];
         int timeHour = hour + day * 24;
 
         String hourString;
@@ -230,7 +285,7 @@ public class MariaDbValueObject implements ValueObject {
         }
 
         String minuteString;
-        int minutes = rawBytes[6];
+        int minutes = buf[offset + 6];
         if (minutes < 10) {
             minuteString = "0" + minutes;
         } else {
@@ -238,7 +293,7 @@ public class MariaDbValueObject implements ValueObject {
         }
 
         String secondString;
-        int seconds = rawBytes[7];
+        int seconds = buf[offset + 7];
         if (seconds < 10) {
             secondString = "0" + seconds;
         } else {
@@ -246,18 +301,18 @@ public class MariaDbValueObject implements ValueObject {
         }
 
         int microseconds = 0;
-        if (rawBytes.length > 8) {
-            microseconds = ((rawBytes[8] & 0xff)
-                    | (rawBytes[9] & 0xff) << 8
-                    | (rawBytes[10] & 0xff) << 16
-                    | (rawBytes[11] & 0xff) << 24);
+        if (length > 8) {
+            microseconds = ((buf[offset + 8] & 0xff)
+                    | (buf[offset + 9] & 0xff) << 8
+                    | (buf[offset + 10] & 0xff) << 16
+                    | (buf[offset + 11] & 0xff) << 24);
         }
 
         String microsecondString = Integer.toString(microseconds);
         while (microsecondString.length() < 6) {
             microsecondString = "0" + microsecondString;
         }
-        boolean negative = (rawBytes[0] == 0x01);
+        boolean negative = (buf[offset] == 0x01);
         return (negative ? "-" : "") + (hourString + ":" + minuteString + ":" + secondString + "." + microsecondString);
     }
 
@@ -268,19 +323,19 @@ public class MariaDbValueObject implements ValueObject {
      * @return byte
      */
     public byte getByte() throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return 0;
         }
         if (!this.isBinaryEncoded) {
             if (dataType == MariaDbType.BIT) {
-                return rawBytes[0];
+                return buf[offset];
             }
             return parseByte();
         } else {
             long value;
             switch (dataType) {
                 case BIT:
-                    return rawBytes[0];
+                    return buf[offset];
                 case TINYINT:
                     value = getTinyInt();
                     break;
@@ -316,16 +371,145 @@ public class MariaDbValueObject implements ValueObject {
         }
     }
 
+    /**
+     * Parse text value as a decimal number without exponent ("-123", "45.670") directly from bytes, without creating
+     * any String. On success, value is parsedUnscaled * 10^-parsedScale.
+     * @return false if value has another format or doesn't fit in a long : standard parsing must then be used.
+     */
+    private boolean parseTextDecimal() {
+        int pos = offset;
+        final int end = offset + length;
+        boolean negative = false;
+        if (pos < end && buf[pos] == '-') {
+            negative = true;
+            pos++;
+        }
+        //accumulating negatively, like Long.parseLong(), permit to parse Long.MIN_VALUE
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multMin = limit / 10;
+        long result = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; pos < end; pos++) {
+            int digit = buf[pos] - '0';
+            if (digit < 0 || digit > 9) {
+                if (buf[pos] == '.' && scale == -1 && digits > 0) {
+                    scale = 0;
+                    continue;
+                }
+                return false;
+            }
+            if (result < multMin) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+            digits++;
+            if (scale != -1) {
+                scale++;
+            }
+        }
+        if (digits == 0 || scale == 0 || (negative && result == 0)) {
+            //empty, ending with '.', or negative zero (must stay -0.0 for float/double)
+            return false;
+        }
+        parsedUnscaled = negative ? result : -result;
+        parsedScale = (scale == -1) ? 0 : scale;
+        return true;
+    }
+
+    /**
+     * Parse text value as an integer directly from bytes. Decimal values with only "0" in decimal part, like "1.0000"
+     * (can be the case if getting an integer from a database decimal value) are accepted, truncating decimal part.
+     * On success, value is parsedUnscaled.
+     * @return false if value has another format or doesn't fit in a long : standard parsing must then be used.
+     */
+    private boolean parseTextInteger() {
+        if (dataType == MariaDbType.FLOAT || dataType == MariaDbType.DOUBLE || !parseTextDecimal()) {
+            return false;
+        }
+        if (parsedScale > 0 && parsedUnscaled != 0) {
+            if (parsedScale >= LONG_POWERS_OF_TEN.length || parsedUnscaled % LONG_POWERS_OF_TEN[parsedScale] != 0) {
+                return false;
+            }
+            parsedUnscaled /= LONG_POWERS_OF_TEN[parsedScale];
+        }
+        parsedScale = 0;
+        return true;
+    }
+
+    /**
+     * Get double value of a text encoded number.
+     * Decimals with small unscaled value are decoded from bytes : unscaled value and power of ten being exact
+     * doubles, division is correctly rounded, like Double.valueOf().
+     * @return double value
+     */
+    private double parseDouble() {
+        if (parseTextDecimal()) {
+            if (parsedScale == 0) {
+                return (double) parsedUnscaled;
+            }
+            if (parsedScale < DOUBLE_POWERS_OF_TEN.length && parsedUnscaled <= MAX_EXACT_DOUBLE
+                    && parsedUnscaled >= -MAX_EXACT_DOUBLE) {
+                return parsedUnscaled / DOUBLE_POWERS_OF_TEN[parsedScale];
+            }
+        }
+        return Double.valueOf(new String(buf, offset, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get float value of a text encoded number, decoded from bytes when exact like parseDouble().
+     * @return float value
+     */
+    private float parseFloat() {
+        if (parseTextDecimal()) {
+            if (parsedScale == 0) {
+                return (float) parsedUnscaled;
+            }
+            if (parsedScale < FLOAT_POWERS_OF_TEN.length && parsedUnscaled <= MAX_EXACT_FLOAT
+                    && parsedUnscaled >= -MAX_EXACT_FLOAT) {
+                return (float) parsedUnscaled / FLOAT_POWERS_OF_TEN[parsedScale];
+            }
+        }
+        return Float.valueOf(new String(buf, offset, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get BigDecimal value of a text encoded number, decoded from bytes when unscaled value fits in a long.
+     * Scale is the number of decimal digits, like new BigDecimal(String).
+     * @return BigDecimal value
+     */
+    private BigDecimal parseBigDecimal() {
+        if (parseTextDecimal()) {
+            return BigDecimal.valueOf(parsedUnscaled, parsedScale);
+        }
+        return new BigDecimal(new String(buf, offset, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get BigInteger value of a text encoded integer, decoded from bytes when value fits in a long.
+     * @return BigInteger value
+     */
+    private BigInteger parseBigInteger() {
+        if (parseTextDecimal() && parsedScale == 0) {
+            return BigInteger.valueOf(parsedUnscaled);
+        }
+        return new BigInteger(new String(buf, offset, length, StandardCharsets.UTF_8));
+    }
+
     private int getTinyInt() throws SQLException {
-        int value = rawBytes[0];
+        int value = buf[offset];
         if (!columnInfo.isSigned()) {
-            value = (rawBytes[0] & 0xff);
+            value = (buf[offset] & 0xff);
         }
         return value;
     }
 
     private int getSmallInt() throws SQLException {
-        int value = ((rawBytes[0] & 0xff) | ((rawBytes[1] & 0xff) << 8));
+        int value = ((buf[offset] & 0xff) | ((buf[offset + 1] & 0xff) << 8));
         if (!columnInfo.isSigned()) {
             return value & 0xffff;
         }
@@ -334,10 +518,10 @@ public class MariaDbValueObject implements ValueObject {
     }
 
     private long getMediumInt() throws SQLException {
-        long value = ((rawBytes[0] & 0xff)
-                | (rawBytes[1] & 0xff) << 8
-                | (rawBytes[2] & 0xff) << 16
-                | (rawBytes[3] & 0xff) << 24);
+        long value = ((buf[offset] & 0xff)
+                | (buf[offset + 1] & 0xff) << 8
+                | (buf[offset + 2] & 0xff) << 16
+                | (buf[offset + 3] & 0xff) << 24);
         if (!columnInfo.isSigned()) {
             value = value & 0xffffffffL ;
         }
@@ -346,7 +530,15 @@ public class MariaDbValueObject implements ValueObject {
 
 
     private byte parseByte() throws SQLException {
-        String value = new String(rawBytes, StandardCharsets.UTF_8);
+        if (parseTextInteger()) {
+            long plainValue = parsedUnscaled;
+            if (plainValue < Byte.MIN_VALUE || plainValue > Byte.MAX_VALUE) {
+                throw new SQLException("Out of range value for column '" + columnInfo.getName() + "' : value " + plainValue
+                        + " is not in Byte range", "22003", 1264);
+            }
+            return (byte) plainValue;
+        }
+        String value = new String(buf, offset, length, StandardCharsets.UTF_8);
         try {
             switch (dataType) {
                 case FLOAT:
@@ -388,7 +580,7 @@ public class MariaDbValueObject implements ValueObject {
      * @return short
      */
     public short getShort() throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return 0;
         }
         if (!this.isBinaryEncoded) {
@@ -397,13 +589,13 @@ public class MariaDbValueObject implements ValueObject {
             long value;
             switch (dataType) {
                 case BIT:
-                    return rawBytes[0];
+                    return buf[offset];
                 case TINYINT:
                     value = getTinyInt();
                     break;
                 case SMALLINT:
                 case YEAR:
-                    value = ((rawBytes[0] & 0xff) | ((rawBytes[1] & 0xff) << 8));
+                    value = ((buf[offset] & 0xff) | ((buf[offset + 1] & 0xff) << 8));
                     if (columnInfo.isSigned()) {
                         return (short) value;
                     }
@@ -431,7 +623,15 @@ public class MariaDbValueObject implements ValueObject {
     }
 
     private short parseShort() throws SQLException {
-        String value = new String(rawBytes, StandardCharsets.UTF_8);
+        if (parseTextInteger()) {
+            long plainValue = parsedUnscaled;
+            if (plainValue < Short.MIN_VALUE || plainValue > Short.MAX_VALUE) {
+                throw new SQLException("Out of range value for column '" + columnInfo.getName() + "' : value " + plainValue
+                        + " is not in Short range", "22003", 1264);
+            }
+            return (short) plainValue;
+        }
+        String value = new String(buf, offset, length, StandardCharsets.UTF_8);
         try {
             switch (dataType) {
                 case FLOAT:
@@ -472,7 +672,7 @@ public class MariaDbValueObject implements ValueObject {
      * @return int
      */
     public int getInt() throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return 0;
         }
         if (!this.isBinaryEncoded) {
@@ -481,7 +681,7 @@ public class MariaDbValueObject implements ValueObject {
             long value;
             switch (dataType) {
                 case BIT:
-                    return rawBytes[0];
+                    return buf[offset];
                 case TINYINT:
                     value = getTinyInt();
                     break;
@@ -491,10 +691,10 @@ public class MariaDbValueObject implements ValueObject {
                     break;
                 case INTEGER:
                 case MEDIUMINT:
-                    value = ((rawBytes[0] & 0xff)
-                            | (rawBytes[1] & 0xff) << 8
-                            | (rawBytes[2] & 0xff) << 16
-                            | (rawBytes[3] & 0xff) << 24);
+                    value = ((buf[offset] & 0xff)
+                            | (buf[offset + 1] & 0xff) << 8
+                            | (buf[offset + 2] & 0xff) << 16
+                            | (buf[offset + 3] & 0xff) << 24);
                     if (columnInfo.isSigned()) {
                         return (int) value;
                     } else if (value < 0) {
@@ -519,7 +719,15 @@ public class MariaDbValueObject implements ValueObject {
     }
 
     private int parseInt() throws SQLException {
-        String value = new String(rawBytes, StandardCharsets.UTF_8);
+        if (parseTextInteger()) {
+            long plainValue = parsedUnscaled;
+            if (plainValue < Integer.MIN_VALUE || plainValue > Integer.MAX_VALUE) {
+                throw new SQLException("Out of range value for column '" + columnInfo.getName() + "' : value " + plainValue
+                        + " is not in Integer range", "22003", 1264);
+            }
+            return (int) plainValue;
+        }
+        String value = new String(buf, offset, length, StandardCharsets.UTF_8);
         try {
             switch (dataType) {
                 case FLOAT:
@@ -560,7 +768,7 @@ public class MariaDbValueObject implements ValueObject {
      * @return long
      */
     public long getLong() throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return 0;
         }
         if (!this.isBinaryEncoded) {
@@ -569,7 +777,7 @@ public class MariaDbValueObject implements ValueObject {
             long value;
             switch (dataType) {
                 case BIT:
-                    return rawBytes[0];
+                    return buf[offset];
                 case TINYINT:
                     value = getTinyInt();
                     break;
@@ -582,14 +790,14 @@ public class MariaDbValueObject implements ValueObject {
                     value = getMediumInt();
                     break;
                 case BIGINT:
-                    value = ((rawBytes[0] & 0xff)
-                            | ((long) (rawBytes[1] & 0xff) << 8)
-                            | ((long) (rawBytes[2] & 0xff) << 16)
-                            | ((long) (rawBytes[3] & 0xff) << 24)
-                            | ((long) (rawBytes[4] & 0xff) << 32)
-                            | ((long) (rawBytes[5] & 0xff) << 40)
-                            | ((long) (rawBytes[6] & 0xff) << 48)
-                            | ((long) (rawBytes[7] & 0xff) << 56));
+                    value = ((buf[offset] & 0xff)
+                            | ((long) (buf[offset + 1] & 0xff) << 8)
+                            | ((long) (buf[offset + 2] & 0xff) << 16)
+                            | ((long) (buf[offset + 3] & 0xff) << 24)
+                            | ((long) (buf[offset + 4] & 0xff) << 32)
+                            | ((long) (buf[offset + 5] & 0xff) << 40)
+                            | ((long) (buf[offset + 6] & 0xff) << 48)
+                            | ((long) (buf[offset + 7] & 0xff) << 56));
                     if (columnInfo.isSigned()) {
                         return value;
                     }
@@ -626,7 +834,10 @@ public class MariaDbValueObject implements ValueObject {
     }
 
     private long parseLong() throws SQLException {
-        String value = new String(rawBytes, StandardCharsets.UTF_8);
+        if (parseTextInteger()) {
+            return parsedUnscaled;
+        }
+        String value = new String(buf, offset, length, StandardCharsets.UTF_8);
         try {
             switch (dataType) {
                 case FLOAT:
@@ -668,16 +879,16 @@ public class MariaDbValueObject implements ValueObject {
      * @return float
      */
     public float getFloat() throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return 0;
         }
         if (!this.isBinaryEncoded) {
-            return Float.valueOf(new String(rawBytes, StandardCharsets.UTF_8));
+            return parseFloat();
         } else {
             long value;
             switch (dataType) {
                 case BIT:
-                    return rawBytes[0];
+                    return buf[offset];
                 case TINYINT:
                     value = getTinyInt();
                     break;
@@ -690,14 +901,14 @@ public class MariaDbValueObject implements ValueObject {
                     value = getMediumInt();
                     break;
                 case BIGINT:
-                    value = ((rawBytes[0] & 0xff)
-                            | ((long) (rawBytes[1] & 0xff) << 8)
-                            | ((long) (rawBytes[2] & 0xff) << 16)
-                            | ((long) (rawBytes[3] & 0xff) << 24)
-                            | ((long) (rawBytes[4] & 0xff) << 32)
-                            | ((long) (rawBytes[5] & 0xff) << 40)
-                            | ((long) (rawBytes[6] & 0xff) << 48)
-                            | ((long) (rawBytes[7] & 0xff) << 56));
+                    value = ((buf[offset] & 0xff)
+                            | ((long) (buf[offset + 1] & 0xff) << 8)
+                            | ((long) (buf[offset + 2] & 0xff) << 16)
+                            | ((long) (buf[offset + 3] & 0xff) << 24)
+                            | ((long) (buf[offset + 4] & 0xff) << 32)
+                            | ((long) (buf[offset + 5] & 0xff) << 40)
+                            | ((long) (buf[offset + 6] & 0xff) << 48)
+                            | ((long) (buf[offset + 7] & 0xff) << 56));
                     if (columnInfo.isSigned()) {
                         return value;
                     }
@@ -707,15 +918,15 @@ public class MariaDbValueObject implements ValueObject {
                             (byte) (value >> 0)});
                     return unsignedValue.floatValue();
                 case FLOAT:
-                    int valueFloat = ((rawBytes[0] & 0xff)
-                            | (rawBytes[1] & 0xff) << 8
-                            | (rawBytes[2] & 0xff) << 16
-                            | (rawBytes[3] & 0xff) << 24);
+                    int valueFloat = ((buf[offset] & 0xff)
+                            | (buf[offset + 1] & 0xff) << 8
+                            | (buf[offset + 2] & 0xff) << 16
+                            | (buf[offset + 3] & 0xff) << 24);
                     return Float.intBitsToFloat(valueFloat);
                 case DOUBLE:
                     return (float) getDouble();
                 default:
-                    return Float.valueOf(new String(rawBytes, StandardCharsets.UTF_8));
+                    return parseFloat();
             }
             return Float.valueOf(String.valueOf(value));
         }
@@ -726,15 +937,15 @@ public class MariaDbValueObject implements ValueObject {
      * @return double
      */
     public double getDouble() throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return 0;
         }
         if (!this.isBinaryEncoded) {
-            return Double.valueOf(new String(rawBytes, StandardCharsets.UTF_8));
+            return parseDouble();
         } else {
             switch (dataType) {
                 case BIT:
-                    return rawBytes[0];
+                    return buf[offset];
                 case TINYINT:
                     return getTinyInt();
                 case SMALLINT:
@@ -744,14 +955,14 @@ public class MariaDbValueObject implements ValueObject {
                 case MEDIUMINT:
                     return getMediumInt();
                 case BIGINT:
-                    long valueLong = ((rawBytes[0] & 0xff)
-                            | ((long) (rawBytes[1] & 0xff) << 8)
-                            | ((long) (rawBytes[2] & 0xff) << 16)
-                            | ((long) (rawBytes[3] & 0xff) << 24)
-                            | ((long) (rawBytes[4] & 0xff) << 32)
-                            | ((long) (rawBytes[5] & 0xff) << 40)
-                            | ((long) (rawBytes[6] & 0xff) << 48)
-                            | ((long) (rawBytes[7] & 0xff) << 56)
+                    long valueLong = ((buf[offset] & 0xff)
+                            | ((long) (buf[offset + 1] & 0xff) << 8)
+                            | ((long) (buf[offset + 2] & 0xff) << 16)
+                            | ((long) (buf[offset + 3] & 0xff) << 24)
+                            | ((long) (buf[offset + 4] & 0xff) << 32)
+                            | ((long) (buf[offset + 5] & 0xff) << 40)
+                            | ((long) (buf[offset + 6] & 0xff) << 48)
+                            | ((long) (buf[offset + 7] & 0xff) << 56)
                     );
                     if (columnInfo.isSigned()) {
                         return valueLong;
@@ -764,17 +975,17 @@ public class MariaDbValueObject implements ValueObject {
                 case FLOAT:
                     return getFloat();
                 case DOUBLE:
-                    long valueDouble = ((rawBytes[0] & 0xff)
-                            | ((long) (rawBytes[1] & 0xff) << 8)
-                            | ((long) (rawBytes[2] & 0xff) << 16)
-                            | ((long) (rawBytes[3] & 0xff) << 24)
-                            | ((long) (rawBytes[4] & 0xff) << 32)
-                            | ((long) (rawBytes[5] & 0xff) << 40)
-                            | ((long) (rawBytes[6] & 0xff) << 48)
-                            | ((long) (rawBytes[7] & 0xff) << 56));
+                    long valueDouble = ((buf[offset] & 0xff)
+                            | ((long) (buf[offset + 1] & 0xff) << 8)
+                            | ((long) (buf[offset + 2] & 0xff) << 16)
+                            | ((long) (buf[offset + 3] & 0xff) << 24)
+                            | ((long) (buf[offset + 4] & 0xff) << 32)
+                            | ((long) (buf[offset + 5] & 0xff) << 40)
+                            | ((long) (buf[offset + 6] & 0xff) << 48)
+                            | ((long) (buf[offset + 7] & 0xff) << 56));
                     return Double.longBitsToDouble(valueDouble);
                 default:
-                    return Double.valueOf(new String(rawBytes, StandardCharsets.UTF_8));
+                    return parseDouble();
             }
         }
     }
@@ -784,15 +995,15 @@ public class MariaDbValueObject implements ValueObject {
      * @return Bigdecimal value
      */
     public BigDecimal getBigDecimal() throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
         if (!this.isBinaryEncoded) {
-            return new BigDecimal(new String(rawBytes, StandardCharsets.UTF_8));
+            return parseBigDecimal();
         } else {
             switch (dataType) {
                 case BIT:
-                    return BigDecimal.valueOf((long) rawBytes[0]);
+                    return BigDecimal.valueOf((long) buf[offset]);
                 case TINYINT:
                     return BigDecimal.valueOf((long) getTinyInt());
                 case SMALLINT:
@@ -802,14 +1013,14 @@ public class MariaDbValueObject implements ValueObject {
                 case MEDIUMINT:
                     return BigDecimal.valueOf(getMediumInt());
                 case BIGINT:
-                    long value = ((rawBytes[0] & 0xff)
-                            | ((long) (rawBytes[1] & 0xff) << 8)
-                            | ((long) (rawBytes[2] & 0xff) << 16)
-                            | ((long) (rawBytes[3] & 0xff) << 24)
-                            | ((long) (rawBytes[4] & 0xff) << 32)
-                            | ((long) (rawBytes[5] & 0xff) << 40)
-                            | ((long) (rawBytes[6] & 0xff) << 48)
-                            | ((long) (rawBytes[7] & 0xff) << 56)
+                    long value = ((buf[offset] & 0xff)
+                            | ((long) (buf[offset + 1] & 0xff) << 8)
+                            | ((long) (buf[offset + 2] & 0xff) << 16)
+                            | ((long) (buf[offset + 3] & 0xff) << 24)
+                            | ((long) (buf[offset + 4] & 0xff) << 32)
+                            | ((long) (buf[offset + 5] & 0xff) << 40)
+                            | ((long) (buf[offset + 6] & 0xff) << 48)
+                            | ((long) (buf[offset + 7] & 0xff) << 56)
                     );
                     if (columnInfo.isSigned()) {
                         return new BigDecimal(String.valueOf(BigInteger.valueOf(value))).setScale(columnInfo.getDecimals());
@@ -824,14 +1035,21 @@ public class MariaDbValueObject implements ValueObject {
                 case DOUBLE:
                     return BigDecimal.valueOf(getDouble());
                 default:
-                    return new BigDecimal(new String(rawBytes, StandardCharsets.UTF_8));
+                    return parseBigDecimal();
             }
         }
 
     }
 
+    /**
+     * Get a copy of raw data.
+     * @return raw data, or null if value is NULL.
+     */
     public byte[] getBytes() {
-        return rawBytes;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        return Arrays.copyOfRange(buf, offset, offset + length);
     }
 
     /**
@@ -839,37 +1057,37 @@ public class MariaDbValueObject implements ValueObject {
      * @return bigInteger
      */
     public BigInteger getBigInteger() throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
         if (!this.isBinaryEncoded) {
-            return new BigInteger(new String(rawBytes, StandardCharsets.UTF_8));
+            return parseBigInteger();
         } else {
             switch (dataType) {
                 case BIT:
-                    return BigInteger.valueOf((long) rawBytes[0]);
+                    return BigInteger.valueOf((long) buf[offset]);
                 case TINYINT:
-                    return BigInteger.valueOf((long) (columnInfo.isSigned() ? getByte() : (rawBytes[0] & 0xff)));
+                    return BigInteger.valueOf((long) (columnInfo.isSigned() ? getByte() : (buf[offset] & 0xff)));
                 case SMALLINT:
                 case YEAR:
-                    short valueShort = (short) ((rawBytes[0] & 0xff) | ((rawBytes[1] & 0xff) << 8));
+                    short valueShort = (short) ((buf[offset] & 0xff) | ((buf[offset + 1] & 0xff) << 8));
                     return BigInteger.valueOf((long) (columnInfo.isSigned() ? valueShort : (valueShort & 0xffff)));
                 case INTEGER:
                 case MEDIUMINT:
-                    int valueInt = ((rawBytes[0] & 0xff)
-                            | (rawBytes[1] & 0xff) << 8
-                            | (rawBytes[2] & 0xff) << 16
-                            | (rawBytes[3] & 0xff) << 24);
+                    int valueInt = ((buf[offset] & 0xff)
+                            | (buf[offset + 1] & 0xff) << 8
+                            | (buf[offset + 2] & 0xff) << 16
+                            | (buf[offset + 3] & 0xff) << 24);
                     return BigInteger.valueOf(((columnInfo.isSigned()) ? valueInt : (valueInt >= 0) ? valueInt : valueInt & 0xffffffffL));
                 case BIGINT:
-                    long value = ((rawBytes[0] & 0xff)
-                            | ((long) (rawBytes[1] & 0xff) << 8)
-                            | ((long) (rawBytes[2] & 0xff) << 16)
-                            | ((long) (rawBytes[3] & 0xff) << 24)
-                            | ((long) (rawBytes[4] & 0xff) << 32)
-                            | ((long) (rawBytes[5] & 0xff) << 40)
-                            | ((long) (rawBytes[6] & 0xff) << 48)
-                            | ((long) (rawBytes[7] & 0xff) << 56)
+                    long value = ((buf[offset] & 0xff)
+                            | ((long) (buf[offset + 1] & 0xff) << 8)
+                            | ((long) (buf[offset + 2] & 0xff) << 16)
+                            | ((long) (buf[offset + 3] & 0xff) << 24)
+                            | ((long) (buf[offset + 4] & 0xff) << 32)
+                            | ((long) (buf[offset + 5] & 0xff) << 40)
+                            | ((long) (buf[offset + 6] & 0xff) << 48)
+                            | ((long) (buf[offset + 7] & 0xff) << 56)
                     );
                     if (columnInfo.isSigned()) {
                         return BigInteger.valueOf(value);
@@ -884,7 +1102,7 @@ public class MariaDbValueObject implements ValueObject {
                 case DOUBLE:
                     return BigInteger.valueOf((long) getDouble());
                 default:
-                    return new BigInteger(new String(rawBytes, StandardCharsets.UTF_8));
+                    return parseBigInteger();
             }
         }
 
@@ -897,12 +1115,21 @@ public class MariaDbValueObject implements ValueObject {
      * @throws ParseException if raw data cannot be parse
      */
     public Date getDate(Calendar cal) throws ParseException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
 
         if (!this.isBinaryEncoded) {
-            String rawValue = new String(rawBytes, StandardCharsets.UTF_8);
+            if (dataType == MariaDbType.DATE && length == 10) {
+                int year = digits(0, 4);
+                int month = digits(5, 2);
+                int day = digits(8, 2);
+                if (year >= 0 && month >= 1 && month <= 12 && day >= 0) {
+                    //like Date(year - 1900, month - 1, day)
+                    return new Date(TemporalCodec.get(TimeZone.getDefault()).toEpochMillis(year, month, day, 0, 0, 0, 0));
+                }
+            }
+            String rawValue = new String(buf, offset, length, StandardCharsets.UTF_8);
             String zeroDate = "0000-00-00";
 
             if (rawValue.equals(zeroDate)) {
@@ -924,7 +1151,7 @@ public class MariaDbValueObject implements ValueObject {
                     );
                 case YEAR:
                     int year = Integer.parseInt(rawValue);
-                    if (rawBytes.length == 2 && columnInfo.getLength() == 2) {
+                    if (length == 2 && columnInfo.getLength() == 2) {
                         if (year <= 69) {
                             year += 2000;
                         } else {
@@ -953,10 +1180,17 @@ public class MariaDbValueObject implements ValueObject {
      * @throws ParseException if raw data cannot be parse
      */
     public Time getTime(Calendar cal) throws ParseException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
-        String raw = new String(rawBytes, StandardCharsets.UTF_8);
+        if (!this.isBinaryEncoded && dataType != MariaDbType.TIMESTAMP && dataType != MariaDbType.DATETIME
+                && dataType != MariaDbType.DATE) {
+            Time time = parseTextTime();
+            if (time != null) {
+                return time;
+            }
+        }
+        String raw = new String(buf, offset, length, StandardCharsets.UTF_8);
         String zeroDate = "0000-00-00";
         if (raw.equals(zeroDate)) {
             return null;
@@ -966,10 +1200,7 @@ public class MariaDbValueObject implements ValueObject {
             if (dataType == MariaDbType.TIMESTAMP || dataType == MariaDbType.DATETIME) {
                 return new Time(getTimestamp(cal).getTime());
             } else if (dataType == MariaDbType.DATE) {
-                Calendar zeroCal = Calendar.getInstance();
-                zeroCal.set(1970, 0, 1, 0, 0, 0);
-                zeroCal.set(Calendar.MILLISECOND, 0);
-                return new Time(zeroCal.getTimeInMillis());
+                return new Time(epochStartMillis());
             } else {
                 if (!options.useLegacyDatetimeCode && (raw.startsWith("-") || raw.split(":").length != 3 || raw.indexOf(":") > 3)) {
                     throw new ParseException("Time format \"" + raw + "\" incorrect, must be HH:mm:ss", 0);
@@ -1008,17 +1239,21 @@ public class MariaDbValueObject implements ValueObject {
             case DATETIME:
                 return new Date(getTimestamp(cal).getTime());
             default:
-                if (rawBytes.length == 0) {
+                if (length == 0) {
                     return null;
                 }
                 int year;
                 int month;
                 int day;
 
-                year = ((rawBytes[0] & 0xff) | (rawBytes[1] & 0xff) << 8);
-                month = rawBytes[2];
-                day = rawBytes[3];
+                year = ((buf[offset] & 0xff) | (buf[offset + 1] & 0xff) << 8);
+                month = buf[offset + 2];
+                day = buf[offset + 3];
 
+                TemporalCodec codec = TemporalCodec.getDefault();
+                if (codec != null) {
+                    return new Date(codec.toEpochMillis(year, month, day, 0, 0, 0, 0));
+                }
                 Calendar calendar = Calendar.getInstance();
                 /*if (!options.useLegacyDatetimeCode) {
                     c = cal;
@@ -1047,43 +1282,43 @@ public class MariaDbValueObject implements ValueObject {
                 Timestamp ts = binaryTimestamp(cal);
                 return new Time(ts.getTime());
             case DATE:
-                Calendar tmpCalendar = Calendar.getInstance();
-                tmpCalendar.clear();
-                tmpCalendar.set(1970, 0, 1, 0, 0, 0);
-                tmpCalendar.set(Calendar.MILLISECOND, 0);
-                return new Time(tmpCalendar.getTimeInMillis());
+                return new Time(epochStartMillis());
             default:
-                Calendar calendar = Calendar.getInstance();
-                calendar.clear();
                 int day = 0;
                 int hour = 0;
                 int minutes = 0;
                 int seconds = 0;
                 boolean negate = false;
-                if (rawBytes.length > 0) {
-                    negate = (rawBytes[0] & 0xff) == 0x01;
+                if (length > 0) {
+                    negate = (buf[offset] & 0xff) == 0x01;
                 }
-                if (rawBytes.length > 4) {
-                    day = ((rawBytes[1] & 0xff)
-                            | (rawBytes[2] & 0xff) << 8
-                            | (rawBytes[3] & 0xff) << 16
-                            | (rawBytes[4] & 0xff) << 24);
+                if (length > 4) {
+                    day = ((buf[offset + 1] & 0xff)
+                            | (buf[offset + 2] & 0xff) << 8
+                            | (buf[offset + 3] & 0xff) << 16
+                            | (buf[offset + 4] & 0xff) << 24);
                 }
-                if (rawBytes.length > 7) {
-                    hour = rawBytes[5];
-                    minutes = rawBytes[6];
-                    seconds = rawBytes[7];
+                if (length > 7) {
+                    hour = buf[offset + 5];
+                    minutes = buf[offset + 6];
+                    seconds = buf[offset + 7];
                 }
-                calendar.set(1970, 0, ((negate ? -1 : 1) * day) + 1, (negate ? -1 : 1) * hour, minutes, seconds);
-
                 int nanoseconds = 0;
-                if (rawBytes.length > 8) {
-                    nanoseconds = ((rawBytes[8] & 0xff)
-                            | (rawBytes[9] & 0xff) << 8
-                            | (rawBytes[10] & 0xff) << 16
-                            | (rawBytes[11] & 0xff) << 24);
+                if (length > 8) {
+                    nanoseconds = ((buf[offset + 8] & 0xff)
+                            | (buf[offset + 9] & 0xff) << 8
+                            | (buf[offset + 10] & 0xff) << 16
+                            | (buf[offset + 11] & 0xff) << 24);
                 }
 
+                TemporalCodec codec = TemporalCodec.getDefault();
+                if (codec != null) {
+                    return new Time(codec.toEpochMillis(1970, 1, ((negate ? -1 : 1) * day) + 1, (negate ? -1 : 1) * hour,
+                            minutes, seconds, nanoseconds / 1000));
+                }
+                Calendar calendar = Calendar.getInstance();
+                calendar.clear();
+                calendar.set(1970, 0, ((negate ? -1 : 1) * day) + 1, (negate ? -1 : 1) * hour, minutes, seconds);
                 calendar.set(Calendar.MILLISECOND, nanoseconds / 1000);
 
                 return new Time(calendar.getTimeInMillis());
@@ -1092,7 +1327,7 @@ public class MariaDbValueObject implements ValueObject {
 
 
     private Timestamp binaryTimestamp(Calendar cal) throws ParseException {
-        if (rawBytes.length == 0) {
+        if (length == 0) {
             return null;
         }
         int year;
@@ -1104,59 +1339,71 @@ public class MariaDbValueObject implements ValueObject {
         int microseconds = 0;
 
         if (dataType == MariaDbType.TIME) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.clear();
-
             boolean negate = false;
-            if (rawBytes.length > 0) {
-                negate = (rawBytes[0] & 0xff) == 0x01;
+            if (length > 0) {
+                negate = (buf[offset] & 0xff) == 0x01;
             }
-            if (rawBytes.length > 4) {
-                day = ((rawBytes[1] & 0xff)
-                        | (rawBytes[2] & 0xff) << 8
-                        | (rawBytes[3] & 0xff) << 16
-                        | (rawBytes[4] & 0xff) << 24);
+            if (length > 4) {
+                day = ((buf[offset + 1] & 0xff)
+                        | (buf[offset + 2] & 0xff) << 8
+                        | (buf[offset + 3] & 0xff) << 16
+                        | (buf[offset + 4] & 0xff) << 24);
             }
-            if (rawBytes.length > 7) {
-                hour = rawBytes[5];
-                minutes = rawBytes[6];
-                seconds = rawBytes[7];
+            if (length > 7) {
+                hour = buf[offset + 5];
+                minutes = buf[offset + 6];
+                seconds = buf[offset + 7];
             }
 
-            if (rawBytes.length > 8) {
-                microseconds = ((rawBytes[8] & 0xff)
-                        | (rawBytes[9] & 0xff) << 8
-                        | (rawBytes[10] & 0xff) << 16
-                        | (rawBytes[11] & 0xff) << 24);
+            if (length > 8) {
+                microseconds = ((buf[offset + 8] & 0xff)
+                        | (buf[offset + 9] & 0xff) << 8
+                        | (buf[offset + 10] & 0xff) << 16
+                        | (buf[offset + 11] & 0xff) << 24);
             }
 
-            calendar.set(1970, 0, ((negate ? -1 : 1) * day) + 1, (negate ? -1 : 1) * hour, minutes, seconds);
-            Timestamp tt = new Timestamp(calendar.getTimeInMillis());
+            Timestamp tt;
+            TemporalCodec codec = TemporalCodec.getDefault();
+            if (codec != null) {
+                tt = new Timestamp(codec.toEpochMillis(1970, 1, ((negate ? -1 : 1) * day) + 1, (negate ? -1 : 1) * hour,
+                        minutes, seconds, 0));
+            } else {
+                Calendar calendar = Calendar.getInstance();
+                calendar.clear();
+                calendar.set(1970, 0, ((negate ? -1 : 1) * day) + 1, (negate ? -1 : 1) * hour, minutes, seconds);
+                tt = new Timestamp(calendar.getTimeInMillis());
+            }
             tt.setNanos(microseconds * 1000);
             return tt;
         } else {
-            year = ((rawBytes[0] & 0xff) | (rawBytes[1] & 0xff) << 8);
-            month = rawBytes[2];
-            day = rawBytes[3];
-            if (rawBytes.length > 4) {
-                hour = rawBytes[4];
-                minutes = rawBytes[5];
-                seconds = rawBytes[6];
-
-                if (rawBytes.length > 7) {
-                    microseconds = ((rawBytes[7] & 0xff)
-                            | (rawBytes[8] & 0xff) << 8
-                            | (rawBytes[9] & 0xff) << 16
-                            | (rawBytes[10] & 0xff) << 24);
+            year = ((buf[offset] & 0xff) | (buf[offset + 1] & 0xff) << 8);
+            month = buf[offset + 2];
+            day = buf[offset + 3];
+            if (length > 4) {
+                hour = buf[offset + 4];
+                minutes = buf[offset + 5];
+                seconds = buf[offset + 6];
+
+                if (length > 7) {
+                    microseconds = ((buf[offset + 7] & 0xff)
+                            | (buf[offset + 8] & 0xff) << 8
+                            | (buf[offset + 9] & 0xff) << 16
+                            | (buf[offset + 10] & 0xff) << 24);
                 }
             }
         }
 
+        Timestamp tt;
+        TemporalCodec codec = options.useLegacyDatetimeCode ? TemporalCodec.getDefault() : TemporalCodec.get(cal);
+        if (codec != null) {
+            tt = new Timestamp(codec.toEpochMillis(year, month, day, hour, minutes, seconds, 0));
+            tt.setNanos(microseconds * 1000);
+            return tt;
+        }
         Calendar calendar = Calendar.getInstance();
         if (!options.useLegacyDatetimeCode) {
             calendar = cal;
         }
-        Timestamp tt;
         synchronized (calendar) {
             calendar.set(year, month - 1, day, hour, minutes, seconds);
             tt = new Timestamp(calendar.getTimeInMillis());
@@ -1165,6 +1412,123 @@ public class MariaDbValueObject implements ValueObject {
         return tt;
     }
 
+    /**
+     * Parse an unsigned decimal number of fixed length.
+     * @param pos position in value
+     * @param count number of digits
+     * @return value, or -1 if not only digits
+     */
+    private int digits(int pos, int count) {
+        int value = 0;
+        for (int i = offset + pos; i < offset + pos + count; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parse fractional part of seconds, at position pos, as nanoseconds.
+     * @param pos position of '.' in value
+     * @return nanoseconds, or -1 if not a valid fractional part
+     */
+    private int fractionalNanos(int pos) {
+        if (pos == length) {
+            return 0;
+        }
+        if (buf[offset + pos] != '.' || length - pos > 10) {
+            return -1;
+        }
+        int nanos = 0;
+        for (int i = 1; i < 10; i++) {
+            int digit = 0;
+            if (pos + i < length) {
+                digit = buf[offset + pos + i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+            }
+            nanos = nanos * 10 + digit;
+        }
+        return nanos;
+    }
+
+    /**
+     * Parse text "yyyy-MM-dd[ HH:mm:ss[.fffffffff]]" value directly from bytes, without Calendar.
+     * @param cal session calendar
+     * @return timestamp, or null if value has another format : standard parsing must then be used.
+     */
+    private Timestamp parseTextTimestamp(Calendar cal) {
+        if (length != 10 && length < 19) {
+            return null;
+        }
+        TemporalCodec codec = options.useLegacyDatetimeCode ? TemporalCodec.getDefault() : TemporalCodec.get(cal);
+        if (codec == null) {
+            return null;
+        }
+        int year = digits(0, 4);
+        int month = digits(5, 2);
+        int day = digits(8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 0) {
+            return null;
+        }
+        int hour = 0;
+        int minutes = 0;
+        int seconds = 0;
+        int nanos = 0;
+        if (length >= 19) {
+            hour = digits(11, 2);
+            minutes = digits(14, 2);
+            seconds = digits(17, 2);
+            nanos = fractionalNanos(19);
+            if (hour < 0 || minutes < 0 || seconds < 0 || nanos < 0) {
+                return null;
+            }
+        }
+        Timestamp timestamp = new Timestamp(codec.toEpochMillis(year, month, day, hour, minutes, seconds, nanos / 1000000));
+        timestamp.setNanos(nanos);
+        return timestamp;
+    }
+
+    /**
+     * Parse text "HH:mm:ss[.fffffffff]" value (hour can have 3 digits) directly from bytes, without Calendar.
+     * @return time, or null if value has another format : standard parsing must then be used.
+     */
+    private Time parseTextTime() {
+        int hourLength = (length >= 9 && buf[offset + 3] == ':') ? 3 : 2;
+        if (length < hourLength + 6 || buf[offset + hourLength] != ':' || buf[offset + hourLength + 3] != ':') {
+            return null;
+        }
+        TemporalCodec codec = TemporalCodec.getDefault();
+        int hour = digits(0, hourLength);
+        int minutes = digits(hourLength + 1, 2);
+        int seconds = digits(hourLength + 4, 2);
+        int nanos = fractionalNanos(hourLength + 6);
+        if (codec == null || hour < 0 || minutes < 0 || seconds < 0 || nanos < 0) {
+            return null;
+        }
+        return new Time(codec.toEpochMillis(1970, 1, 1, hour, minutes, seconds, nanos / 1000000));
+    }
+
+    /**
+     * Epoch milliseconds of 1970-01-01 00:00:00 in default time zone.
+     * @return milliseconds
+     */
+    private long epochStartMillis() {
+        TemporalCodec codec = TemporalCodec.getDefault();
+        if (codec != null) {
+            return codec.toEpochMillis(1970, 1, 1, 0, 0, 0, 0);
+        }
+        Calendar zeroCal = Calendar.getInstance();
+        zeroCal.clear();
+        zeroCal.set(1970, 0, 1, 0, 0, 0);
+        zeroCal.set(Calendar.MILLISECOND, 0);
+        return zeroCal.getTimeInMillis();
+    }
+
     private int extractNanos(String timestring) throws ParseException {
         int index = timestring.indexOf('.');
         if (index == -1) {
@@ -1194,11 +1558,17 @@ public class MariaDbValueObject implements ValueObject {
      * @throws ParseException if text value cannot be parse
      */
     public Timestamp getTimestamp(Calendar cal) throws ParseException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
         if (!this.isBinaryEncoded) {
-            String rawValue = new String(rawBytes, StandardCharsets.UTF_8);
+            if (dataType != MariaDbType.TIME) {
+                Timestamp timestamp = parseTextTimestamp(cal);
+                if (timestamp != null) {
+                    return timestamp;
+                }
+            }
+            String rawValue = new String(buf, offset, length, StandardCharsets.UTF_8);
             String zeroTimestamp = "0000-00-00 00:00:00";
             if (rawValue.equals(zeroTimestamp)) {
                 return null;
@@ -1258,10 +1628,10 @@ public class MariaDbValueObject implements ValueObject {
      * @return inputStream
      */
     public InputStream getInputStream() {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
-        return new ByteArrayInputStream(new String(rawBytes, StandardCharsets.UTF_8).getBytes());
+        return new ByteArrayInputStream(new String(buf, offset, length, StandardCharsets.UTF_8).getBytes());
     }
 
     /**
@@ -1269,10 +1639,10 @@ public class MariaDbValueObject implements ValueObject {
      * @return inputStream
      */
     public InputStream getBinaryInputStream() {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
-        return new ByteArrayInputStream(rawBytes);
+        return new ByteArrayInputStream(buf, offset, length);
     }
 
     /**
@@ -1280,19 +1650,19 @@ public class MariaDbValueObject implements ValueObject {
      * @return boolean
      */
     public boolean getBoolean() throws SQLException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return false;
         }
         if (!this.isBinaryEncoded) {
-            if (rawBytes.length == 1 && rawBytes[0] == 0) {
-                return false;
+            if (length == 1) {
+                return buf[offset] != 0 && buf[offset] != '0';
             }
-            final String rawVal = new String(rawBytes, StandardCharsets.UTF_8);
+            final String rawVal = new String(buf, offset, length, StandardCharsets.UTF_8);
             return !("false".equals(rawVal) || "0".equals(rawVal));
         } else {
             switch (dataType) {
                 case BIT:
-                    return rawBytes[0] != 0;
+                    return buf[offset] != 0;
                 case TINYINT:
                     return getTinyInt() != 0;
                 case SMALLINT:
@@ -1308,7 +1678,7 @@ public class MariaDbValueObject implements ValueObject {
                 case DOUBLE:
                     return getDouble() != 0;
                 default:
-                    final String rawVal = new String(rawBytes, StandardCharsets.UTF_8);
+                    final String rawVal = new String(buf, offset, length, StandardCharsets.UTF_8);
                     return !("false".equals(rawVal) || "0".equals(rawVal));
             }
         }
@@ -1321,12 +1691,12 @@ public class MariaDbValueObject implements ValueObject {
     public boolean isNull() {
         String zeroTimestamp = "0000-00-00 00:00:00";
         String zeroDate = "0000-00-00";
-        return (rawBytes == null
+        return (length == NULL_LENGTH
                 || (isBinaryEncoded && ((dataType == MariaDbType.DATE || dataType == MariaDbType.TIMESTAMP || dataType == MariaDbType.DATETIME)
-                && rawBytes.length == 0))
+                && length == 0))
                 || (!isBinaryEncoded && ((dataType == MariaDbType.TIMESTAMP || dataType == MariaDbType.DATETIME)
-                && zeroTimestamp.equals(new String(rawBytes, StandardCharsets.UTF_8))))
-                || (!isBinaryEncoded && (dataType == MariaDbType.DATE && zeroDate.equals(new String(rawBytes, StandardCharsets.UTF_8)))));
+                && zeroTimestamp.equals(new String(buf, offset, length, StandardCharsets.UTF_8))))
+                || (!isBinaryEncoded && (dataType == MariaDbType.DATE && zeroDate.equals(new String(buf, offset, length, StandardCharsets.UTF_8)))));
     }
 
     /**
@@ -1334,8 +1704,8 @@ public class MariaDbValueObject implements ValueObject {
      * @return length
      */
     public int getDisplayLength() {
-        if (rawBytes != null) {
-            return rawBytes.length;
+        if (length != NULL_LENGTH) {
+            return length;
         }
         return 4; //NULL
     }
@@ -1345,10 +1715,10 @@ public class MariaDbValueObject implements ValueObject {
      * @return blob.
      */
     public Blob getBlob() {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
-        return new MariaDbBlob(rawBytes);
+        return new MariaDbBlob(getBytes());
     }
 
     /**
@@ -1356,10 +1726,10 @@ public class MariaDbValueObject implements ValueObject {
      * @return clob.
      */
     public Clob getClob() {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
-        return new MariaDbClob(rawBytes);
+        return new MariaDbClob(getBytes());
     }
 
     /**
@@ -1370,22 +1740,22 @@ public class MariaDbValueObject implements ValueObject {
      * @throws ParseException if data cannot be parse
      */
     public Object getObject(int dataTypeMappingFlags, Calendar cal) throws SQLException, ParseException {
-        if (rawBytes == null) {
+        if (length == NULL_LENGTH) {
             return null;
         }
 
         switch (dataType) {
             case BIT:
                 if (columnInfo.getLength() == 1) {
-                    return rawBytes[0] != 0;
+                    return buf[offset] != 0;
                 }
-                return rawBytes;
+                return getBytes();
             case TINYINT:
                 if (options.tinyInt1isBit && columnInfo.getLength() == 1) {
                     if (!this.isBinaryEncoded) {
-                        return rawBytes[0] != '0';
+                        return buf[offset] != '0';
                     } else {
-                        return rawBytes[0] != 0;
+                        return buf[offset] != 0;
                     }
                 }
                 return getInt();
@@ -0,0 +1,114 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.queryresults;
+
+/**
+ * Row data : one buffer for the whole row, and for each column the offset and length of its value in this buffer.
+ * Values are decoded directly from the buffer, no array is created per column.
+ */
+public class RowData {
+    public static final int NULL_LENGTH = -1;
+
+    public byte[] buf;
+
+    /**
+     * Column positions : value of column i begin at positions[positionsOffset + 2 * i] and length is
+     * positions[positionsOffset + 2 * i + 1] (-1 if value is NULL).
+     */
+    public int[] positions;
+    public int positionsOffset;
+
+    /**
+     * Constructor.
+     * @param buf row buffer
+     * @param positions column value positions
+     */
+    public RowData(byte[] buf, int[] positions) {
+        this.buf = buf;
+        this.positions = positions;
+    }
+
+    /**
+     * Create a row from an array of values.
+     * @param values values (a null value correspond to NULL).
+     * @return row data
+     */
+    public static RowData create(byte[][] values) {
+        int size = 0;
+        for (byte[] value : values) {
+            if (value != null) {
+                size += value.length;
+            }
+        }
+        byte[] buf = new byte[size];
+        int[] positions = new int[values.length * 2];
+        int pos = 0;
+        for (int i = 0; i < values.length; i++) {
+            positions[2 * i] = pos;
+            if (values[i] == null) {
+                positions[2 * i + 1] = NULL_LENGTH;
+            } else {
+                System.arraycopy(values[i], 0, buf, pos, values[i].length);
+                positions[2 * i + 1] = values[i].length;
+                pos += values[i].length;
+            }
+        }
+        return new RowData(buf, positions);
+    }
+
+    public int getOffset(int index) {
+        return positions[positionsOffset + 2 * index];
+    }
+
+    public int getLength(int index) {
+        return positions[positionsOffset + 2 * index + 1];
+    }
+
+}
@@ -0,0 +1,360 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+package org.mariadb.jdbc.internal.queryresults;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Compact storage of result set rows.
+ * Row bytes are copied in large byte chunks, and column positions in a single int array (offset and length of each
+ * column of each row), so storing a row doesn't create any object.
+ * Access to a row by its number is direct : row data are read through a view, updated on each call to get().
+ *
+ * <p>When a memory limit is set, chunks that would exceed the limit are written to a temporary file once full, and
+ * mapped in memory. Rows of those chunks are then copied from the mapped region to a reusable buffer when read.
+ * Column positions always stay in heap, and are counted in the memory limit.</p>
+ */
+public class RowDataStore {
+    private static final int FIRST_CHUNK_SIZE = 8192;
+    private static final int MAX_CHUNK_SIZE = 1024 * 1024;
+    //some VM reserve header words in arrays
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int columnCount;
+    private final long maxMemory;
+    private byte[][] chunks = new byte[4][];
+    private int chunkCount;
+    private int chunkPosition;
+    private int nextChunkSize = FIRST_CHUNK_SIZE;
+    private int[] rowChunks = new int[16];
+    private int[] rowStarts = new int[16];
+    private int[] positions;
+    private int size;
+    private final RowData view = new RowData(null, null);
+
+    //spill to file
+    private int heapChunkCount;
+    private long heapBytes;
+    private MappedByteBuffer[] mappedChunks;
+    private byte[] spillBuffer;
+    private FileChannel spillChannel;
+    private File spillFile;
+    private long spillFileLength;
+    private byte[] readBuffer;
+    private int[] readPositions;
+
+    /**
+     * Create an empty store, without memory limit.
+     *
+     * @param columnCount number of columns
+     */
+    public RowDataStore(int columnCount) {
+        this(columnCount, 0);
+    }
+
+    /**
+     * Create an empty store.
+     *
+     * @param columnCount number of columns
+     * @param maxMemory maximum size in bytes of row data and column positions kept in heap before using a temporary
+     *                  file. 0 means no limit.
+     */
+    public RowDataStore(int columnCount, long maxMemory) {
+        this.columnCount = columnCount;
+        this.maxMemory = maxMemory;
+        positions = new int[16 * 2 * columnCount];
+    }
+
+    /**
+     * Add a row. Row data are copied, so row can be reused by caller.
+     *
+     * @param row row to add
+     * @throws IOException if rows cannot be written to temporary file
+     */
+    public void add(RowData row) throws IOException {
+        int start = Integer.MAX_VALUE;
+        int end = 0;
+        for (int i = 0; i < columnCount; i++) {
+            int length = row.getLength(i);
+            if (length != RowData.NULL_LENGTH) {
+                int offset = row.getOffset(i);
+                start = Math.min(start, offset);
+                end = Math.max(end, offset + length);
+            }
+        }
+        if (start > end) {
+            //only NULL values
+            start = 0;
+            end = 0;
+        }
+        int rowLength = end - start;
+
+        if (size == rowChunks.length) {
+            grow();
+        }
+
+        byte[] chunk = reserve(rowLength);
+        System.arraycopy(row.buf, start, chunk, chunkPosition, rowLength);
+        rowChunks[size] = chunkCount - 1;
+        rowStarts[size] = chunkPosition;
+
+        int pos = size * 2 * columnCount;
+        for (int i = 0; i < columnCount; i++) {
+            int length = row.getLength(i);
+            positions[pos++] = (length == RowData.NULL_LENGTH) ? 0 : chunkPosition + row.getOffset(i) - start;
+            positions[pos++] = length;
+        }
+        chunkPosition += rowLength;
+        size++;
+    }
+
+    /**
+     * Double row capacity, limited by maximum array length of column positions.
+     *
+     * @throws IOException if no more rows can be stored
+     */
+    private void grow() throws IOException {
+        long capacity = Math.min(2L * size, MAX_ARRAY_LENGTH / (2L * Math.max(columnCount, 1)));
+        if (capacity <= size) {
+            throw new IOException("Result set too large : cannot store more than " + size + " rows of "
+                    + columnCount + " columns");
+        }
+        rowChunks = Arrays.copyOf(rowChunks, (int) capacity);
+        rowStarts = Arrays.copyOf(rowStarts, (int) capacity);
+        positions = Arrays.copyOf(positions, (int) capacity * 2 * columnCount);
+    }
+
+    /**
+     * Get a chunk that has at least length bytes available after chunkPosition.
+     * Chunk size grows with result size (so small results stay small) up to 1Mb, and rows bigger than that have
+     * their own chunk.
+     * When memory limit is reached, new chunk use the spill buffer, and will be written to file when full.
+     *
+     * @param length needed length
+     * @return current chunk
+     * @throws IOException if previous chunk cannot be written to temporary file
+     */
+    private byte[] reserve(int length) throws IOException {
+        if (chunkCount > 0 && chunks[chunkCount - 1].length - chunkPosition >= length) {
+            return chunks[chunkCount - 1];
+        }
+        if (chunkCount > heapChunkCount) {
+            spill(chunkCount - 1);
+        }
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            if (mappedChunks != null) {
+                mappedChunks = Arrays.copyOf(mappedChunks, chunkCount * 2);
+            }
+        }
+        int chunkSize = Math.max(nextChunkSize, length);
+        nextChunkSize = Math.min(nextChunkSize * 2, MAX_CHUNK_SIZE);
+        byte[] chunk;
+        if (maxMemory > 0 && (chunkCount > heapChunkCount || heapBytes + indexBytes() + chunkSize > maxMemory)) {
+            if (spillBuffer == null || spillBuffer.length < chunkSize) {
+                spillBuffer = new byte[chunkSize];
+            }
+            chunk = spillBuffer;
+        } else {
+            chunk = new byte[chunkSize];
+            heapBytes += chunkSize;
+            heapChunkCount++;
+        }
+        chunks[chunkCount++] = chunk;
+        chunkPosition = 0;
+        return chunk;
+    }
+
+    /**
+     * Size in bytes of row index arrays (row chunk, row start and column positions), always kept in heap.
+     *
+     * @return index size in bytes
+     */
+    private long indexBytes() {
+        return 4L * (rowChunks.length + rowStarts.length + positions.length);
+    }
+
+    /**
+     * Write chunk to temporary file and replace it by the mapped file region.
+     *
+     * @param chunkIndex chunk index
+     * @throws IOException if file cannot be created or written
+     */
+    private void spill(int chunkIndex) throws IOException {
+        if (spillChannel == null) {
+            spillFile = File.createTempFile("mariadb-resultset", ".tmp");
+            spillChannel = new RandomAccessFile(spillFile, "rw").getChannel();
+            //on most OS, file can be deleted right away, data being kept until channel and mapping are released
+            if (spillFile.delete()) {
+                spillFile = null;
+            } else {
+                spillFile.deleteOnExit();
+            }
+            mappedChunks = new MappedByteBuffer[chunks.length];
+        }
+        ByteBuffer source = ByteBuffer.wrap(chunks[chunkIndex], 0, chunkPosition);
+        long filePosition = spillFileLength;
+        while (source.hasRemaining()) {
+            filePosition += spillChannel.write(source, filePosition);
+        }
+        mappedChunks[chunkIndex] = spillChannel.map(FileChannel.MapMode.READ_ONLY, spillFileLength, chunkPosition);
+        spillFileLength = filePosition;
+        chunks[chunkIndex] = null;
+    }
+
+    /**
+     * Get row data. Returned object is a view that is updated on next call, so must not be kept.
+     *
+     * @param rowNumber row number, starts at 0
+     * @return row data
+     */
+    public RowData get(int rowNumber) {
+        byte[] chunk = chunks[rowChunks[rowNumber]];
+        if (chunk == null) {
+            return getSpilled(rowNumber);
+        }
+        view.buf = chunk;
+        view.positions = positions;
+        view.positionsOffset = rowNumber * 2 * columnCount;
+        return view;
+    }
+
+    /**
+     * Read row data from mapped file region to read buffer.
+     *
+     * @param rowNumber row number
+     * @return row data
+     */
+    private RowData getSpilled(int rowNumber) {
+        if (readPositions == null) {
+            readPositions = new int[2 * columnCount];
+        }
+        int start = rowStarts[rowNumber];
+        int end = start;
+        int pos = rowNumber * 2 * columnCount;
+        for (int i = 0; i < columnCount; i++) {
+            int offset = positions[pos++];
+            int length = positions[pos++];
+            if (length == RowData.NULL_LENGTH) {
+                readPositions[2 * i] = 0;
+            } else {
+                readPositions[2 * i] = offset - start;
+                end = Math.max(end, offset + length);
+            }
+            readPositions[2 * i + 1] = length;
+        }
+        int rowLength = end - start;
+        if (readBuffer == null || readBuffer.length < rowLength) {
+            readBuffer = new byte[Math.max(rowLength, 1024)];
+        }
+        MappedByteBuffer mapped = mappedChunks[rowChunks[rowNumber]];
+        mapped.position(start);
+        mapped.get(readBuffer, 0, rowLength);
+
+        view.buf = readBuffer;
+        view.positions = readPositions;
+        view.positionsOffset = 0;
+        return view;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all rows. First chunk is kept to be reused for next rows, if in heap.
+     */
+    public void clear() {
+        for (int i = 1; i < chunkCount; i++) {
+            chunks[i] = null;
+        }
+        chunkCount = Math.min(heapChunkCount, 1);
+        heapChunkCount = chunkCount;
+        heapBytes = (chunkCount == 1) ? chunks[0].length : 0;
+        chunkPosition = 0;
+        size = 0;
+        releaseFile();
+    }
+
+    /**
+     * Release temporary file, if any.
+     * Channel is closed and file deleted, but mapped regions cannot be explicitly unmapped : they are released when
+     * garbage collected. On OS that doesn't permit deleting a mapped file, file is then deleted on JVM exit.
+     */
+    public void close() {
+        releaseFile();
+        readBuffer = null;
+    }
+
+    private void releaseFile() {
+        //mapped regions are unmapped once garbage collected
+        mappedChunks = null;
+        spillBuffer = null;
+        spillFileLength = 0;
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+            } catch (IOException ioe) {
+                //eat exception
+            }
+            spillChannel = null;
+        }
+        if (spillFile != null) {
+            spillFile.delete();
+            spillFile = null;
+        }
+    }
+
+}
@@ -49,6 +49,7 @@ OF SUCH DAMAGE.
 
 package org.mariadb.jdbc.internal.queryresults;
 
+import org.mariadb.jdbc.internal.util.Options;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
 
@@ -62,6 +63,9 @@ public abstract class SelectQueryResult extends AbstractQueryResult {
     ColumnInformation[] columnInformation;
     int columnInformationLength;
     short warningCount;
+    boolean binaryProtocol;
+    Options options;
+    private MariaDbValueObject reusableValueObject;
 
     public ColumnInformation[] getColumnInformation() {
         return columnInformation;
@@ -99,14 +103,48 @@ public abstract class SelectQueryResult extends AbstractQueryResult {
         throw new SQLFeatureNotSupportedException("scrolling result set not supported");
     }
 
+    /**
+     * Gets the current row, checking that column at position index exist.
+     *
+     * @param index the column position, starts at 0
+     * @return current row data
+     * @throws NoSuchColumnException if there is no current row or if the column does not exist
+     */
+    protected abstract RowData getRowData(int index) throws NoSuchColumnException;
+
     /**
      * Gets the value object at position index, starts at 0.
+     * Data are not copied : value object reference the row buffer.
      *
      * @param index the position, starts at 0
      * @return the value object at position index
      * @throws NoSuchColumnException if the column does not exist
      */
-    public abstract ValueObject getValueObject(int index) throws NoSuchColumnException;
+    public ValueObject getValueObject(int index) throws NoSuchColumnException {
+        RowData row = getRowData(index);
+        return new MariaDbValueObject(row.buf, row.getOffset(index), row.getLength(index), columnInformation[index],
+                binaryProtocol, options);
+    }
+
+    /**
+     * Gets the value at position index, using the same value object for every call on this result.
+     * Returned object is only valid until the next call, and must not be kept : this permit primitive getters
+     * (getInt, getLong, ...) to decode values without any allocation per column.
+     *
+     * @param index the position, starts at 0
+     * @return a value object pointing to the value at position index
+     * @throws NoSuchColumnException if the column does not exist
+     */
+    public ValueObject getReusableValueObject(int index) throws NoSuchColumnException {
+        RowData row = getRowData(index);
+        if (reusableValueObject == null) {
+            reusableValueObject = new MariaDbValueObject(row.buf, row.getOffset(index), row.getLength(index),
+                    columnInformation[index], binaryProtocol, options);
+        } else {
+            reusableValueObject.reset(row.buf, row.getOffset(index), row.getLength(index), columnInformation[index]);
+        }
+        return reusableValueObject;
+    }
 
 
     /**
@@ -121,4 +159,8 @@ public abstract class SelectQueryResult extends AbstractQueryResult {
     public abstract boolean isBeforeFirst();
 
     public abstract boolean isAfterLast();
+
+    public boolean isBinaryProtocol() {
+        return binaryProtocol;
+    }
 }
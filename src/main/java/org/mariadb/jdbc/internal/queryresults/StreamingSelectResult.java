@@ -1,7 +1,6 @@
 package org.mariadb.jdbc.internal.queryresults;
 
 import org.mariadb.jdbc.internal.util.buffer.ReadUtil;
-import org.mariadb.jdbc.internal.packet.read.RawPacket;
 import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
 import org.mariadb.jdbc.internal.packet.read.ReadResultPacketFactory;
 import org.mariadb.jdbc.internal.packet.result.EndOfFilePacket;
@@ -15,19 +14,26 @@ import org.mariadb.jdbc.internal.packet.result.BinaryRowPacket;
 import org.mariadb.jdbc.internal.packet.result.TextRowPacket;
 import org.mariadb.jdbc.internal.packet.result.RowPacket;
 import org.mariadb.jdbc.internal.util.constant.ServerStatus;
+import org.mariadb.jdbc.internal.util.dao.PrepareResult;
 import org.mariadb.jdbc.internal.util.dao.QueryException;
 
+import org.mariadb.jdbc.internal.packet.result.AbstractResultPacket;
+import org.mariadb.jdbc.internal.util.scheduler.ReadAheadExecutor;
+
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public class StreamingSelectResult extends SelectQueryResult {
-    public ValueObject[] values;
+    public RowData values;
     private ReadPacketFetcher packetFetcher;
     private AbstractConnectProtocol protocol;
     private boolean isEof;
     private boolean beforeFirst;
-    private boolean binaryProtocol;
     private RowPacket rowPacket;
+    private BlockingQueue<Object> readAheadQueue;
 
 
     /**
@@ -45,11 +51,12 @@ public class StreamingSelectResult extends SelectQueryResult {
         this.beforeFirst = true;
         this.isEof = false;
         this.binaryProtocol = binaryProtocol;
+        this.options = protocol.getOptions();
         protocol.activeResult = this;
         if (binaryProtocol) {
-            rowPacket = new BinaryRowPacket(columnInformation, protocol.getOptions(), columnInformationLength);
+            rowPacket = new BinaryRowPacket(columnInformation, columnInformationLength);
         } else {
-            rowPacket = new TextRowPacket(columnInformation, protocol.getOptions(), columnInformationLength);
+            rowPacket = new TextRowPacket(columnInformation, columnInformationLength);
         }
     }
 
@@ -64,45 +71,21 @@ public class StreamingSelectResult extends SelectQueryResult {
      * @param packetFetcher  packetfetcher
      * @param protocol       the current connection protocol class
      * @param binaryProtocol is the mysql protocol binary
+     * @param prepareResult  prepared statement whose column definitions are cached, when server may skip them. null otherwise
      * @return a StreamingQueryResult
      * @throws IOException    when something goes wrong while reading/writing from the server
      * @throws QueryException if there is an actual active result on the current connection
      */
     public static StreamingSelectResult createStreamingSelectResult(
-            ResultSetPacket packet, ReadPacketFetcher packetFetcher, AbstractQueryProtocol protocol, boolean binaryProtocol)
-            throws IOException, QueryException {
+            ResultSetPacket packet, ReadPacketFetcher packetFetcher, AbstractQueryProtocol protocol, boolean binaryProtocol,
+            PrepareResult prepareResult) throws IOException, QueryException {
 
         if (protocol.activeResult != null) {
             throw new QueryException("There is an active result set on the current connection, "
                     + "which must be closed prior to opening a new one");
         }
-        long fieldCount = packet.getFieldCount();
-        ColumnInformation[] ci = new ColumnInformation[(int) fieldCount];
-
-        for (int i = 0; i < fieldCount; i++) {
-            final RawPacket rawPacket = packetFetcher.getRawPacket();
-            //   byte b = rawPacket.getByteBuffer().get(0);
-
-            // We do not expect an error stream, but check it just for safety
-//            if (b == (byte) 0xff) {
-//                ErrorPacket errorPacket = new ErrorPacket(rawPacket.getByteBuffer());
-//                throw new QueryException("error when reading field stream " + errorPacket.getMessage(),
-//                        errorPacket.getErrorNumber(), errorPacket.getSqlState());
-//            }
-//            // We do not expect OK or EOF packets either
-//            if (b == 0 || b == (byte) 0xfe) {
-//                throw new QueryException("Packets out of order when trying to read field stream - " +
-//                        "got stream starting with byte " + b + "stream content (hex) = "
-//                        + MasterProtocol.hexdump(rawPacket.getByteBuffer(), 0));
-//            }
-
-            try {
-                ci[i] = new ColumnInformation(rawPacket.getByteBuffer());
-            } catch (Exception e) {
-                throw new QueryException("Error when trying to parse field stream : " + e + ",stream content (hex) = "
-                        + MasterProtocol.hexdump(rawPacket.getByteBuffer(), 0), 0, "HY000", e);
-            }
-        }
+        ColumnInformation[] ci = readColumnInformation(packet, packetFetcher, prepareResult);
+        //CLIENT_DEPRECATE_EOF is not negotiated : EOF packet is sent even when column definitions are skipped
         ByteBuffer bufferEof = packetFetcher.getReusableBuffer();
         if (!ReadUtil.eofIsNext(bufferEof)) {
             throw new QueryException("Packets out of order when reading field packets, expected was EOF stream. "
@@ -112,32 +95,161 @@ public class StreamingSelectResult extends SelectQueryResult {
 
     }
 
+    /**
+     * Read column definition packets (not the EOF packet that follow).
+     * @param packet        the result set stream from the server
+     * @param packetFetcher packetfetcher
+     * @return column information
+     * @throws IOException    when something goes wrong while reading from the server
+     * @throws QueryException if a column definition cannot be parsed
+     */
+    static ColumnInformation[] readColumnInformation(ResultSetPacket packet, ReadPacketFetcher packetFetcher)
+            throws IOException, QueryException {
+        return ColumnInformation.readColumns(packetFetcher, (int) packet.getFieldCount());
+    }
+
+    /**
+     * Get result-set column definitions.
+     * When MARIADB_CLIENT_CACHE_METADATA is negotiated, server skips column definitions (the EOF packet that follow is
+     * still sent) of a prepared statement if unchanged since last sent : the columns cached in prepareResult are then used.
+     * Otherwise column definitions are read, and cached in prepareResult for next executions.
+     *
+     * @param packet        the result set stream from the server
+     * @param packetFetcher packetfetcher
+     * @param prepareResult prepared statement whose column definitions are cached, null if not executing a prepared statement
+     * @return column information
+     * @throws IOException    when something goes wrong while reading from the server
+     * @throws QueryException if a column definition cannot be parsed, or no cached column definitions correspond
+     */
+    static ColumnInformation[] readColumnInformation(ResultSetPacket packet, ReadPacketFetcher packetFetcher,
+                                                     PrepareResult prepareResult) throws IOException, QueryException {
+        if (packet.isMetadataFollows()) {
+            ColumnInformation[] ci = readColumnInformation(packet, packetFetcher);
+            if (prepareResult != null) {
+                prepareResult.setColumns(ci);
+            }
+            return ci;
+        }
+        if (prepareResult == null || prepareResult.getColumns() == null
+                || prepareResult.getColumns().length != packet.getFieldCount()) {
+            throw new QueryException("Server has skipped result-set metadata, but no corresponding column definitions are cached",
+                    0, "HY000");
+        }
+        return prepareResult.getColumns();
+    }
+
+    /**
+     * Read rows in advance in a background task : rows are read and decoded while current rows are processed.
+     * Task ends when EOF or error packet is read; the packet fetcher must not be used by anything else
+     * until then (result set is the active result of the connection, so the connection is blocked anyway).
+     *
+     * @param rows maximum number of rows read in advance
+     */
+    public void startReadAhead(int rows) {
+        readAheadQueue = new ArrayBlockingQueue<>(rows + 1);
+        ReadAheadExecutor.getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                readAhead(readAheadQueue);
+            }
+        });
+    }
+
+    private void readAhead(BlockingQueue<Object> queue) {
+        Object item;
+        try {
+            for (; ; ) {
+                ByteBuffer buffer = packetFetcher.getReusableBuffer();
+                byte initialByte = buffer.get(0);
+                if (initialByte == (byte) 0xff || (initialByte == (byte) 0xfe && buffer.limit() < 9)) {
+                    item = ReadResultPacketFactory.createResultPacket(buffer);
+                    break;
+                }
+                if (!putReadAhead(queue, rowPacket.getRow(packetFetcher, buffer))) {
+                    return;
+                }
+            }
+        } catch (IOException ioe) {
+            item = ioe;
+        } catch (RuntimeException re) {
+            item = new IOException("Error reading rows : " + re.getMessage(), re);
+        }
+        putReadAhead(queue, item);
+    }
+
+    private boolean putReadAhead(BlockingQueue<Object> queue, Object item) {
+        try {
+            while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                if (!protocol.isConnected()) {
+                    //connection has been closed without reading result set
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Get next item read in advance. Wait is not interrupted, since the packet fetcher cannot be used
+     * before read-ahead task has finished.
+     *
+     * @return a row, or the packet / exception that ended read-ahead task
+     */
+    private Object takeReadAhead() {
+        boolean interrupted = false;
+        try {
+            for (; ; ) {
+                try {
+                    return readAheadQueue.take();
+                } catch (InterruptedException ie) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Override
     public boolean next() throws IOException, QueryException {
         if (isEof) {
             return false;
         }
 
+        if (readAheadQueue != null) {
+            Object item = takeReadAhead();
+            if (item instanceof RowData) {
+                values = (RowData) item;
+                return true;
+            }
+            readAheadQueue = null;
+            if (item instanceof IOException) {
+                throw (IOException) item;
+            }
+            AbstractResultPacket resultPacket = (AbstractResultPacket) item;
+            if (resultPacket.getResultType() == AbstractResultPacket.ResultType.ERROR) {
+                throw handleError((ErrorPacket) resultPacket);
+            }
+            handleEof((EndOfFilePacket) resultPacket);
+            return false;
+        }
+
         ByteBuffer buffer = packetFetcher.getReusableBuffer();
         byte initialByte = buffer.get(0);
 
         //is error Packet
         if (initialByte == (byte) 0xff) {
-            protocol.activeResult = null;
-            protocol.moreResults = false;
-            ErrorPacket errorPacket = (ErrorPacket) ReadResultPacketFactory.createResultPacket(buffer);
-            throw new QueryException(errorPacket.getMessage(), errorPacket.getErrorNumber(), errorPacket.getSqlState());
+            throw handleError((ErrorPacket) ReadResultPacketFactory.createResultPacket(buffer));
         }
 
         //is EOF stream
         if ((initialByte == (byte) 0xfe && buffer.limit() < 9)) {
-            final EndOfFilePacket endOfFilePacket = (EndOfFilePacket) ReadResultPacketFactory.createResultPacket(buffer);
-            protocol.activeResult = null;
-            protocol.moreResults = ((endOfFilePacket.getStatusFlags() & ServerStatus.MORE_RESULTS_EXISTS) != 0);
-            warningCount = endOfFilePacket.getWarningCount();
-            protocol.hasWarnings = (warningCount > 0);
-            isEof = true;
-            values = null;
+            handleEof((EndOfFilePacket) ReadResultPacketFactory.createResultPacket(buffer));
             return false;
         }
 
@@ -145,6 +257,21 @@ public class StreamingSelectResult extends SelectQueryResult {
         return true;
     }
 
+    private QueryException handleError(ErrorPacket errorPacket) {
+        protocol.activeResult = null;
+        protocol.moreResults = false;
+        return new QueryException(errorPacket.getMessage(), errorPacket.getErrorNumber(), errorPacket.getSqlState());
+    }
+
+    private void handleEof(EndOfFilePacket endOfFilePacket) {
+        protocol.activeResult = null;
+        protocol.moreResults = ((endOfFilePacket.getStatusFlags() & ServerStatus.MORE_RESULTS_EXISTS) != 0);
+        warningCount = endOfFilePacket.getWarningCount();
+        protocol.hasWarnings = (warningCount > 0);
+        isEof = true;
+        values = null;
+    }
+
     /**
      * Close resultset.
      */
@@ -174,15 +301,9 @@ public class StreamingSelectResult extends SelectQueryResult {
         }
     }
 
-    /**
-     * Gets the value at position i in the result set. i starts at zero.
-     *
-     * @param index index, starts at 0
-     * @return the value
-     */
     @Override
-    public ValueObject getValueObject(int index) throws NoSuchColumnException {
-        return values[index];
+    protected RowData getRowData(int index) throws NoSuchColumnException {
+        return values;
     }
 
     public int getRows() {
@@ -197,8 +318,4 @@ public class StreamingSelectResult extends SelectQueryResult {
         return isEof;
     }
 
-    public boolean isBinaryProtocol() {
-        return binaryProtocol;
-    }
-
 }
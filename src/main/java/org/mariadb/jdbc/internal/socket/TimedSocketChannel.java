@@ -0,0 +1,180 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson, Trond Norbye
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.socket;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Non-blocking SocketChannel used with blocking semantic.
+ * Reads honor the socket SO_TIMEOUT value (as set by Socket.setSoTimeout()), like a classic socket InputStream does.
+ */
+public class TimedSocketChannel {
+    private final SocketChannel channel;
+    private final Selector selector;
+    private final SelectionKey key;
+
+    /**
+     * Configure a connected channel for selector based blocking operations.
+     *
+     * @param channel connected socket channel
+     * @throws IOException if channel cannot be configured
+     */
+    public TimedSocketChannel(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        channel.configureBlocking(false);
+        selector = Selector.open();
+        key = channel.register(selector, 0);
+    }
+
+    /**
+     * Read available bytes into buffer, waiting for at least one byte.
+     *
+     * @param dst destination buffer
+     * @return number of bytes read, or -1 if end of stream is reached
+     * @throws IOException if connection error occur
+     * @throws SocketTimeoutException if no data is received before socket timeout
+     */
+    public int read(ByteBuffer dst) throws IOException {
+        int read = channel.read(dst);
+        if (read != 0) {
+            return read;
+        }
+
+        int timeout = channel.socket().getSoTimeout();
+        long deadline = (timeout > 0) ? System.currentTimeMillis() + timeout : 0;
+        key.interestOps(SelectionKey.OP_READ);
+        while (true) {
+            long wait = 0;
+            if (timeout > 0) {
+                wait = deadline - System.currentTimeMillis();
+                if (wait <= 0) {
+                    throw new SocketTimeoutException("Read timed out");
+                }
+            }
+            selector.select(wait);
+            selector.selectedKeys().clear();
+            read = channel.read(dst);
+            if (read != 0) {
+                return read;
+            }
+        }
+    }
+
+    /**
+     * Read bytes already available, without waiting.
+     *
+     * @param dst destination buffer
+     * @return number of bytes read, or -1 if end of stream is reached
+     * @throws IOException if connection error occur
+     */
+    public int readAvailable(ByteBuffer dst) throws IOException {
+        return channel.read(dst);
+    }
+
+    /**
+     * Write all buffer remaining bytes.
+     *
+     * @param src buffer to send
+     * @throws IOException if connection error occur
+     */
+    public void write(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            if (channel.write(src) == 0) {
+                key.interestOps(SelectionKey.OP_WRITE);
+                selector.select();
+                selector.selectedKeys().clear();
+            }
+        }
+    }
+
+    /**
+     * Send file content, without copying it in java heap.
+     *
+     * @param file file channel
+     * @param position file position of first byte to send
+     * @param count number of bytes to send
+     * @throws IOException if connection error occur, or if file is shorter than expected
+     */
+    public void transferFrom(FileChannel file, long position, long count) throws IOException {
+        while (count > 0) {
+            long sent = file.transferTo(position, count, channel);
+            if (sent > 0) {
+                position += sent;
+                count -= sent;
+            } else if (position >= file.size()) {
+                throw new EOFException("File has been truncated during transfer");
+            } else {
+                key.interestOps(SelectionKey.OP_WRITE);
+                selector.select();
+                selector.selectedKeys().clear();
+            }
+        }
+    }
+
+    /**
+     * Close selector and channel.
+     *
+     * @throws IOException if any error occur
+     */
+    public void close() throws IOException {
+        try {
+            selector.close();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.stream;
+
+import org.mariadb.jdbc.CompressionStatistics;
+import org.mariadb.jdbc.internal.util.Options;
+
+/**
+ * Connection compression policy : decide if packets must be compressed and with which deflate level, and count
+ * compression results.
+ * <p>
+ * With adaptive compression, deflate level is lowered when packets compress very well (fast levels compress them
+ * nearly as well) or when compression is costly, and raised (up to configured level) when compression ratio is
+ * average. Packets are classified by command (LOCAL INFILE content and other packets following a command being a
+ * class of their own). After MAX_FAILURES consecutive packets of a class that didn't compress enough, packets of this
+ * class are sent without trying compression, checking again every PROBE_INTERVAL packets.
+ * </p>
+ * Counters are updated by connection thread, and can be read from any thread.
+ */
+public class CompressionPolicy {
+    public static final int CONTINUATION = 256;
+    private static final int MAX_FAILURES = 3;
+    private static final int PROBE_INTERVAL = 32;
+    private static final float LOWER_LEVEL_RATIO = 0.25f;
+    private static final float RAISE_LEVEL_RATIO = 0.6f;
+    //above 20 ns per byte (50MB/s), compression is considered costly
+    private static final long COSTLY_NANOS_PER_KB = 20 * 1024;
+
+    private final int maxLevel;
+    private final int threshold;
+    private final float maxRatio;
+    private final boolean adaptive;
+
+    private final int[] failures = new int[CONTINUATION + 1];
+    private final int[] skips = new int[CONTINUATION + 1];
+    private volatile int level;
+
+    private volatile long compressedPackets;
+    private volatile long uncompressedPackets;
+    private volatile long incompressiblePackets;
+    private volatile long skippedPackets;
+    private volatile long bytesBeforeCompression;
+    private volatile long bytesAfterCompression;
+    private volatile long compressionNanos;
+
+    /**
+     * Default policy : deflate level 6, packets smaller than 16kb are not compressed, compression must reduce size by
+     * 10% at least.
+     */
+    public CompressionPolicy() {
+        this(6, 16 * 1024, 90, false);
+    }
+
+    public CompressionPolicy(Options options) {
+        this(options.compressionLevel, options.compressionThreshold, options.compressionMaxRatio,
+                options.adaptiveCompression);
+    }
+
+    /**
+     * Create policy.
+     *
+     * @param level deflate level. With adaptive policy, maximum deflate level
+     * @param threshold packets smaller than threshold are sent uncompressed
+     * @param maxRatioPercent maximum ratio in percent between compressed and initial size
+     * @param adaptive must deflate level and compression attempts be adapted
+     */
+    public CompressionPolicy(int level, int threshold, int maxRatioPercent, boolean adaptive) {
+        this.maxLevel = level;
+        this.level = level;
+        this.threshold = threshold;
+        this.maxRatio = maxRatioPercent / 100f;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Must packet be compressed.
+     *
+     * @param payloadClass packet command, or CONTINUATION
+     * @param length packet length
+     * @return true if compression must be tried
+     */
+    public boolean mustCompress(int payloadClass, int length) {
+        if (length <= threshold) {
+            uncompressedPackets++;
+            return false;
+        }
+        if (adaptive && failures[payloadClass] >= MAX_FAILURES) {
+            if (++skips[payloadClass] < PROBE_INTERVAL) {
+                skippedPackets++;
+                uncompressedPackets++;
+                return false;
+            }
+            skips[payloadClass] = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Maximum compressed length for compressed packet to be sent.
+     *
+     * @param length packet length
+     * @return maximum compressed length (excluded)
+     */
+    public int maxCompressedLength(int length) {
+        return (int) (maxRatio * length);
+    }
+
+    /**
+     * Record compression result.
+     *
+     * @param payloadClass packet command, or CONTINUATION
+     * @param length packet length
+     * @param compressedLength compressed length, or -1 if packet did not compress enough
+     * @param nanos compression duration
+     */
+    public void compressionResult(int payloadClass, int length, int compressedLength, long nanos) {
+        compressionNanos += nanos;
+        if (compressedLength == -1) {
+            incompressiblePackets++;
+            uncompressedPackets++;
+            if (adaptive) {
+                failures[payloadClass]++;
+            }
+            return;
+        }
+
+        compressedPackets++;
+        bytesBeforeCompression += length;
+        bytesAfterCompression += compressedLength;
+        if (adaptive) {
+            failures[payloadClass] = 0;
+            skips[payloadClass] = 0;
+            float ratio = ((float) compressedLength) / length;
+            boolean costly = nanos * 1024 / length > COSTLY_NANOS_PER_KB;
+            if ((ratio < LOWER_LEVEL_RATIO || costly) && level > 1) {
+                level--;
+            } else if (ratio > RAISE_LEVEL_RATIO && !costly && level < maxLevel) {
+                level++;
+            }
+        }
+    }
+
+    /**
+     * Current deflate level.
+     *
+     * @return deflate level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Number of packets sent compressed.
+     *
+     * @return number of packets
+     */
+    public long getCompressedPackets() {
+        return compressedPackets;
+    }
+
+    /**
+     * Number of packets sent uncompressed (small packets, packets not compressing enough and skipped packets).
+     *
+     * @return number of packets
+     */
+    public long getUncompressedPackets() {
+        return uncompressedPackets;
+    }
+
+    /**
+     * Number of packets compressed, but sent uncompressed since not compressing enough.
+     *
+     * @return number of packets
+     */
+    public long getIncompressiblePackets() {
+        return incompressiblePackets;
+    }
+
+    /**
+     * Number of packets sent without trying compression, their class not compressing enough.
+     *
+     * @return number of packets
+     */
+    public long getSkippedPackets() {
+        return skippedPackets;
+    }
+
+    /**
+     * Initial size of packets sent compressed.
+     *
+     * @return size in bytes
+     */
+    public long getBytesBeforeCompression() {
+        return bytesBeforeCompression;
+    }
+
+    /**
+     * Compressed size of packets sent compressed.
+     *
+     * @return size in bytes
+     */
+    public long getBytesAfterCompression() {
+        return bytesAfterCompression;
+    }
+
+    /**
+     * Time spent compressing (including packets sent uncompressed since not compressing enough).
+     *
+     * @return duration in nanoseconds
+     */
+    public long getCompressionNanos() {
+        return compressionNanos;
+    }
+
+    /**
+     * Read-only copy of current counters.
+     *
+     * @return counters snapshot
+     */
+    public CompressionStatistics getStatistics() {
+        return new CompressionStatistics(level, adaptive, compressedPackets, uncompressedPackets, incompressiblePackets,
+                skippedPackets, bytesBeforeCompression, bytesAfterCompression, compressionNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionPolicy{level=" + level
+                + ", adaptive=" + adaptive
+                + ", compressedPackets=" + compressedPackets
+                + ", uncompressedPackets=" + uncompressedPackets
+                + ", incompressiblePackets=" + incompressiblePackets
+                + ", skippedPackets=" + skippedPackets
+                + ", bytesBeforeCompression=" + bytesBeforeCompression
+                + ", bytesAfterCompression=" + bytesAfterCompression
+                + ", compressionNanos=" + compressionNanos
+                + "}";
+    }
+}
@@ -2,7 +2,6 @@ package org.mariadb.jdbc.internal.stream;
 
 import org.mariadb.jdbc.internal.util.buffer.ReadUtil;
 
-import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -10,15 +9,41 @@ import java.security.InvalidParameterException;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 
+/**
+ * Read compression protocol stream.
+ * Compressed packets are decompressed using connection inflater directly into caller buffer, compressed content
+ * being read into a reusable buffer.
+ * When zstd compression has been negotiated, packets are decompressed at once into a reusable buffer, then read from
+ * this buffer.
+ */
 public class DecompressInputStream extends InputStream {
+    private static final int REUSABLE_BUFFER_LENGTH = 1024 * 1024;
+
     InputStream baseStream;
     int remainingBytes;
     byte[] header;
     boolean doDecompress;
-    ByteArrayInputStream decompressedByteStream;
+    private final Inflater inflater = new Inflater();
+    private byte[] compressedBuffer = new byte[0];
+    private final byte[] singleByte = new byte[1];
+    private final ZstdCodec zstdCodec;
+    private byte[] decompressedBuffer = new byte[0];
+    private byte[] decompressed;
+    private int decompressedPos;
 
     public DecompressInputStream(InputStream baseStream) {
+        this(baseStream, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param baseStream socket input stream
+     * @param zstdCodec  zstd codec if zstd compression has been negotiated, null for zlib
+     */
+    public DecompressInputStream(InputStream baseStream, ZstdCodec zstdCodec) {
         this.baseStream = baseStream;
+        this.zstdCodec = zstdCodec;
         header = new byte[7];
     }
 
@@ -35,7 +60,13 @@ public class DecompressInputStream extends InputStream {
         int ret;
         int bytesToRead = Math.min(remainingBytes, len);
         if (doDecompress) {
-            ret = decompressedByteStream.read(bytes, off, bytesToRead);
+            if (zstdCodec != null) {
+                System.arraycopy(decompressed, decompressedPos, bytes, off, bytesToRead);
+                decompressedPos += bytesToRead;
+                ret = bytesToRead;
+            } else {
+                ret = inflate(bytes, off, bytesToRead);
+            }
         } else {
             ret = baseStream.read(bytes, off, bytesToRead);
         }
@@ -54,16 +85,27 @@ public class DecompressInputStream extends InputStream {
 
     @Override
     public int read() throws IOException {
-        byte[] buffer = new byte[1];
-        if (read(buffer) == 0) {
+        if (read(singleByte) == 0) {
             return -1;
         }
-        return (buffer[0] & 0xff);
+        return (singleByte[0] & 0xff);
     }
 
+    private int inflate(byte[] bytes, int off, int len) throws IOException {
+        try {
+            int read = inflater.inflate(bytes, off, len);
+            if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                throw new IOException("Invalid stream length after decompression, " + remainingBytes
+                        + " bytes missing");
+            }
+            return read;
+        } catch (DataFormatException dfe) {
+            throw new IOException(dfe);
+        }
+    }
 
     /**
-     * Read stream header. If required, decompress compressed stream.
+     * Read stream header. If required, read compressed content, that will be decompressed when read.
      *
      * @throws IOException exception
      */
@@ -74,28 +116,41 @@ public class DecompressInputStream extends InputStream {
         if (decompressedLength != 0) {
             doDecompress = true;
             remainingBytes += decompressedLength;
-            byte[] compressedBuffer = new byte[compressedLength];
-            byte[] decompressedBuffer = new byte[decompressedLength];
-            ReadUtil.readFully(baseStream, compressedBuffer);
-            Inflater inflater = new Inflater();
-            inflater.setInput(compressedBuffer);
-            try {
-                int actualUncompressBytes = inflater.inflate(decompressedBuffer);
-                if (actualUncompressBytes != decompressedLength) {
-                    throw new IOException("Invalid stream length after decompression " + actualUncompressBytes + ",expected "
-                            + decompressedLength);
+            byte[] compressed = compressedBuffer;
+            if (compressed.length < compressedLength) {
+                compressed = new byte[compressedLength];
+                if (compressedLength <= REUSABLE_BUFFER_LENGTH) {
+                    compressedBuffer = compressed;
                 }
-            } catch (DataFormatException dfe) {
-                throw new IOException(dfe);
             }
-            inflater.end();
-            decompressedByteStream = new ByteArrayInputStream(decompressedBuffer);
-
+            ReadUtil.readFully(baseStream, compressed, 0, compressedLength);
+            if (zstdCodec != null) {
+                decompressed = decompressedBuffer;
+                if (decompressed.length < decompressedLength) {
+                    decompressed = new byte[decompressedLength];
+                    if (decompressedLength <= REUSABLE_BUFFER_LENGTH) {
+                        decompressedBuffer = decompressed;
+                    }
+                }
+                zstdCodec.decompress(compressed, compressedLength, decompressed, decompressedLength);
+                decompressedPos = 0;
+            } else {
+                inflater.reset();
+                inflater.setInput(compressed, 0, compressedLength);
+            }
         } else {
             doDecompress = false;
             remainingBytes += compressedLength;
-            decompressedByteStream = null;
         }
     }
 
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        if (zstdCodec != null) {
+            zstdCodec.close();
+        }
+        baseStream.close();
+    }
+
 }
@@ -0,0 +1,349 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.stream;
+
+import org.mariadb.jdbc.LoadDataRowWriter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterWriter;
+import org.mariadb.jdbc.internal.util.UnsafeString;
+import org.mariadb.jdbc.internal.util.scheduler.ReadAheadExecutor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Encode rows of a "LOAD DATA LOCAL INFILE" command in LOAD DATA default format.
+ * Rows are encoded in a chunk while previous chunk is send to server by a write-behind task, so encoding and socket
+ * writes are overlapped. Only one chunk is send at a time, keeping packet order.
+ */
+public class LocalInfileRowWriter extends OutputStream implements LoadDataRowWriter {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final byte[] NULL_VALUE = {'\\', 'N'};
+    private static final byte[] LONG_MIN_VALUE = String.valueOf(Long.MIN_VALUE).getBytes();
+
+    private final PacketOutputStream writer;
+    private final Calendar calendar;
+    private final boolean useFractionalSeconds;
+    private final boolean writeBehind;
+
+    private byte[] buf = new byte[CHUNK_SIZE];
+    private byte[] spare;
+    private int pos;
+    private int seq;
+    private Future<Void> pending;
+    private IOException sendException;
+
+    /**
+     * Create row writer.
+     *
+     * @param writer server output stream
+     * @param seq first content packet sequence number
+     * @param calendar session calendar, used for timestamps and time. null will use default time zone
+     * @param useFractionalSeconds must fractional seconds be send to server
+     * @param writeBehind must chunks be send by a write-behind task. if false, chunks are send by caller thread
+     */
+    public LocalInfileRowWriter(PacketOutputStream writer, int seq, Calendar calendar, boolean useFractionalSeconds,
+                                boolean writeBehind) {
+        this.writer = writer;
+        this.seq = seq;
+        this.calendar = calendar;
+        this.useFractionalSeconds = useFractionalSeconds;
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Write a row.
+     *
+     * @param values row values
+     * @throws IOException if any error occur when sending data to server
+     */
+    public void writeRow(Object... values) throws IOException {
+        checkSendException();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                write('\t');
+            }
+            writeValue(values[i]);
+        }
+        write('\n');
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            write(NULL_VALUE, 0, 2);
+        } else if (value instanceof String) {
+            writeEscaped((String) value);
+        } else if (value instanceof byte[]) {
+            writeEscaped((byte[]) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            write(((Boolean) value) ? '1' : '0');
+        } else if (value instanceof BigDecimal) {
+            writeAscii(((BigDecimal) value).toPlainString());
+        } else if (value instanceof Number) {
+            //BigInteger, Double, Float, ...
+            writeAscii(value.toString());
+        } else if (value instanceof Timestamp) {
+            ParameterWriter.writeTimestampValue(this, (Timestamp) value, calendar, useFractionalSeconds);
+        } else if (value instanceof Time) {
+            ParameterWriter.writeTimeValue(this, (Time) value, calendar, useFractionalSeconds);
+        } else if (value instanceof Date) {
+            ParameterWriter.writeDateValue(this, ((Date) value).getTime());
+        } else if (value instanceof java.util.Date) {
+            ParameterWriter.writeTimestampValue(this, new Timestamp(((java.util.Date) value).getTime()), calendar,
+                    useFractionalSeconds);
+        } else {
+            writeEscaped(value.toString());
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            write(LONG_MIN_VALUE, 0, LONG_MIN_VALUE.length);
+            return;
+        }
+        if (buf.length - pos < 20) {
+            flushChunk();
+        }
+        if (value < 0) {
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        pos += digits;
+    }
+
+    private void writeAscii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            write(value.charAt(i));
+        }
+    }
+
+    private int escape(int value) {
+        switch (value) {
+            case '\\':
+                return '\\';
+            case '\t':
+                return 't';
+            case '\n':
+                return 'n';
+            case '\r':
+                return 'r';
+            case 0:
+                return '0';
+            default:
+                return -1;
+        }
+    }
+
+    private void writeEscaped(byte[] bytes) throws IOException {
+        for (byte value : bytes) {
+            if (buf.length - pos < 2) {
+                flushChunk();
+            }
+            int escaped = escape(value);
+            if (escaped == -1) {
+                buf[pos++] = value;
+            } else {
+                buf[pos++] = '\\';
+                buf[pos++] = (byte) escaped;
+            }
+        }
+    }
+
+    /**
+     * Write string UTF-8 encoded, escaping special characters.
+     *
+     * @param value string value
+     * @throws IOException if any error occur when sending data to server
+     */
+    private void writeEscaped(String value) throws IOException {
+        char[] chars = UnsafeString.getChars(value);
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (buf.length - pos < 4) {
+                flushChunk();
+            }
+            char ch = chars[i];
+            if (ch < 0x80) {
+                int escaped = escape(ch);
+                if (escaped == -1) {
+                    buf[pos++] = (byte) ch;
+                } else {
+                    buf[pos++] = '\\';
+                    buf[pos++] = (byte) escaped;
+                }
+            } else if (ch < 0x800) {
+                buf[pos++] = (byte) (0xc0 | (ch >> 6));
+                buf[pos++] = (byte) (0x80 | (ch & 0x3f));
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(ch, chars[++i]);
+                buf[pos++] = (byte) (0xf0 | (codePoint >> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(ch)) {
+                //unpaired surrogate
+                buf[pos++] = '?';
+            } else {
+                buf[pos++] = (byte) (0xe0 | (ch >> 12));
+                buf[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+                buf[pos++] = (byte) (0x80 | (ch & 0x3f));
+            }
+        }
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        if (pos == buf.length) {
+            flushChunk();
+        }
+        buf[pos++] = (byte) value;
+    }
+
+    @Override
+    public void write(byte[] bytes, int off, int len) throws IOException {
+        while (len > 0) {
+            if (pos == buf.length) {
+                flushChunk();
+            }
+            int length = Math.min(len, buf.length - pos);
+            System.arraycopy(bytes, off, buf, pos, length);
+            pos += length;
+            off += length;
+            len -= length;
+        }
+    }
+
+    private void checkSendException() throws IOException {
+        if (sendException != null) {
+            throw sendException;
+        }
+    }
+
+    /**
+     * Wait for chunk being send to server.
+     *
+     * @throws IOException if chunk could not be send
+     */
+    private void waitPending() throws IOException {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            sendException = (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendException = new IOException("Interrupted while sending LOAD DATA content", e);
+        } finally {
+            pending = null;
+        }
+        checkSendException();
+    }
+
+    /**
+     * Send current chunk to server and continue encoding in another chunk.
+     *
+     * @throws IOException if previous chunk could not be send
+     */
+    private void flushChunk() throws IOException {
+        waitPending();
+        if (!writeBehind) {
+            seq = writer.sendFilePart(buf, pos, seq);
+            pos = 0;
+            return;
+        }
+
+        final byte[] bytes = buf;
+        final int length = pos;
+        pending = ReadAheadExecutor.getExecutor().submit(new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+                seq = writer.sendFilePart(bytes, length, seq);
+                return null;
+            }
+        });
+        buf = (spare != null) ? spare : new byte[CHUNK_SIZE];
+        spare = bytes;
+        pos = 0;
+    }
+
+    /**
+     * Send remaining content and end LOAD DATA content.
+     *
+     * @throws IOException if any error occur when sending data to server
+     */
+    public void finish() throws IOException {
+        waitPending();
+        if (pos > 0) {
+            seq = writer.sendFilePart(buf, pos, seq);
+            pos = 0;
+        }
+        writer.writeEmptyPacket(seq);
+    }
+}
@@ -1,14 +1,16 @@
 package org.mariadb.jdbc.internal.stream;
 
-import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.sql.Timestamp;
 import java.util.Calendar;
-import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Deflater;
 
 import org.mariadb.jdbc.internal.util.ByteArrayBuffer;
 import org.mariadb.jdbc.internal.util.ByteBufUnsafe;
@@ -17,10 +19,10 @@ import org.mariadb.jdbc.internal.util.Utf8;
 
 public class PacketOutputStream extends OutputStream {
     // private final static Logger log = LoggerFactory.getLogger(PacketOutputStream.class);
-    private static final int MIN_COMPRESSION_SIZE = 16 * 1024;
-    private static final float MIN_COMPRESSION_RATIO = 0.9f;
     private static final int MAX_PACKET_LENGTH = 0x00ffffff;
     private static final int HEADER_LENGTH = 4;
+    private static final int COMPRESSION_HEADER_LENGTH = 7;
+    private static final int REUSABLE_COMPRESSION_BUFFER_LENGTH = 1024 * 1024;
     
     public final ByteArrayBuffer buffer;
     int seqNo;
@@ -30,11 +32,21 @@ public class PacketOutputStream extends OutputStream {
     boolean checkPacketLength;
     int maxRewritableLengthAllowed;
     boolean useCompression;
+    boolean streaming;
+    long streamedLength;
+    private long sentBytes;
     
     private final OutputStream outputStream;
     private volatile boolean closed = false;
     
     private final byte[] header = new byte[HEADER_LENGTH];
+    private final byte[] compressHeader = new byte[COMPRESSION_HEADER_LENGTH];
+    private int compressSeqNo;
+    private Deflater deflater;
+    private CompressionPolicy compressionPolicy;
+    private ZstdCodec zstdCodec;
+    private byte[] compressInput;
+    private byte[] compressOutput;
     
     /**
      * Initialization with server outputStream.
@@ -51,6 +63,26 @@ public class PacketOutputStream extends OutputStream {
     
     public void setUseCompression(boolean useCompression) {
         this.useCompression = useCompression;
+        if (useCompression && compressionPolicy == null) {
+            compressionPolicy = new CompressionPolicy();
+        }
+    }
+
+    public void setCompressionPolicy(CompressionPolicy compressionPolicy) {
+        this.compressionPolicy = compressionPolicy;
+    }
+
+    public CompressionPolicy getCompressionPolicy() {
+        return compressionPolicy;
+    }
+
+    /**
+     * Compress packets using zstd instead of zlib, when CLIENT_ZSTD_COMPRESSION_ALGORITHM has been negotiated.
+     *
+     * @param zstdCodec zstd codec, null to use zlib
+     */
+    public void setZstdCodec(ZstdCodec zstdCodec) {
+        this.zstdCodec = zstdCodec;
     }
     
     /**
@@ -72,6 +104,8 @@ public class PacketOutputStream extends OutputStream {
         }
         this.seqNo = seqNo;
         this.checkPacketLength = checkPacketLength;
+        this.streaming = false;
+        this.streamedLength = 0;
     }
     
     /**
@@ -101,6 +135,7 @@ public class PacketOutputStream extends OutputStream {
         buf[2] = ((byte) 0);
         buf[3] = ((byte) seqNo);
         outputStream.write(buf, 0, 4);
+        outputStream.flush();
     }
     
     /**
@@ -121,9 +156,91 @@ public class PacketOutputStream extends OutputStream {
         writeEmptyPacket(lastSeq);
     }
     
+    /**
+     * Used to send LOAD DATA INFILE file content, from file current position. End of data is indicated by stream of
+     * length 0. File must be a regular file : content is sent up to the channel size.
+     * When writing to a socket channel without compression, packet headers are written inline and file content is
+     * send using FileChannel.transferTo(), without being copied in java heap. Otherwise (SSL, compression), file
+     * content is read chunk by chunk in a reused buffer.
+     *
+     * @param file
+     *            file channel to send
+     * @param seq
+     *            stream sequence number
+     * @throws IOException
+     *             if any error occur during data send to server
+     */
+    public void sendFile(FileChannel file, int seq) throws IOException {
+        long position = file.position();
+        long remaining = file.size() - position;
+        //packet of MAX_PACKET_LENGTH would be read by server as not ended
+        int chunkSize = Math.min(maxPacketSize, MAX_PACKET_LENGTH - 1);
+        boolean transfer = !useCompression && outputStream instanceof SocketChannelOutputStream;
+        int offset = useCompression ? 0 : HEADER_LENGTH;
+        byte[] packet = null;
+
+        while (remaining > 0) {
+            int length = (int) Math.min(remaining, chunkSize);
+            if (transfer) {
+                writeHeader(header, 0, length, seq++);
+                outputStream.write(header, 0, HEADER_LENGTH);
+                ((SocketChannelOutputStream) outputStream).transferFrom(file, position, length);
+            } else {
+                if (packet == null) {
+                    //first chunk is the biggest
+                    packet = new byte[offset + length];
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(packet, offset, length);
+                while (chunk.hasRemaining()) {
+                    if (file.read(chunk, position + chunk.position() - offset) < 0) {
+                        throw new EOFException("unexpected end of file, file has been truncated during send");
+                    }
+                }
+                if (useCompression) {
+                    seq = sendFilePart(packet, length, seq);
+                } else {
+                    writeHeader(packet, 0, length, seq++);
+                    outputStream.write(packet, 0, HEADER_LENGTH + length);
+                }
+            }
+            position += length;
+            remaining -= length;
+        }
+        file.position(position);
+        writeEmptyPacket(seq);
+    }
+
+    private static void writeHeader(byte[] bytes, int offset, int length, int seq) {
+        bytes[offset] = (byte) (length & 0xff);
+        bytes[offset + 1] = (byte) (length >>> 8);
+        bytes[offset + 2] = (byte) (length >>> 16);
+        bytes[offset + 3] = (byte) seq;
+    }
+
+    /**
+     * Used to send a part of LOAD DATA INFILE content. Caller must end content using writeEmptyPacket() with
+     * returned sequence.
+     *
+     * @param bytes
+     *            content part
+     * @param length
+     *            content part length
+     * @param seq
+     *            stream sequence number
+     * @return next stream sequence number
+     * @throws IOException
+     *             if any error occur during data send to server
+     */
+    public int sendFilePart(byte[] bytes, int length, int seq) throws IOException {
+        startPacket(seq, false);
+        this.buffer.put(bytes, 0, length);
+        finishPacket();
+        return lastSeq;
+    }
+
     /**
      * Send stream to server.
-     * 
+     *
      * @param is
      *            inputStream to send
      * @throws IOException
@@ -202,6 +319,64 @@ public class PacketOutputStream extends OutputStream {
         this.buffer.recycle();
         this.lastSeq = this.seqNo;
         this.seqNo = -1;
+        this.streaming = false;
+        this.streamedLength = 0;
+    }
+
+    /**
+     * Permit current command to be streamed : full packets will be send by {@link #flushFullPackets()} before command
+     * end, so buffer never contains more than a packet. Must be called after {@link #startPacket(int)}.
+     * Command size being unknown before end, if max_allowed_packet is exceeded after packets have been send,
+     * connection must be reset.
+     */
+    public void startStreaming() {
+        this.streaming = true;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Indicate if packets of current command have already been send to server. If command cannot be finished (error
+     * during send, or when reading a streamed parameter), server is waiting for the remaining packets : connection must
+     * be reset.
+     *
+     * @return true if current command is partially send
+     */
+    public boolean isCommandPartiallySent() {
+        return streamedLength > 0;
+    }
+
+    /**
+     * When streaming, send buffered full packets (of maxPacketSize bytes) of current command to server. Remaining
+     * bytes are kept in buffer. Does nothing if not streaming or if buffer doesn't contain a full packet.
+     *
+     * @throws IOException if any connection error occur, or if max_allowed_packet is exceeded
+     */
+    public void flushFullPackets() throws IOException {
+        if (!streaming || buffer.position() < maxPacketSize) {
+            return;
+        }
+        buffer.prepare();
+        int remaining = buffer.remaining();
+        int length = remaining - remaining % maxPacketSize;
+        checkPacketMaxSize(streamedLength + length);
+        if (useCompression) {
+            flushWithCompression(length, false);
+        } else {
+            flushRaw(length, false);
+        }
+        streamedLength += length;
+        sentBytes += length;
+
+        //keep the beginning of next packet
+        byte[] rest = new byte[remaining - length];
+        if (rest.length > 0 && buffer.get(rest, 0, rest.length) != rest.length) {
+            throw new EOFException("Buffer content is shorter than expected");
+        }
+        buffer.recycle();
+        buffer.put(rest, 0, rest.length);
     }
     
     @Override
@@ -258,7 +433,7 @@ public class PacketOutputStream extends OutputStream {
         return true;
     }
     
-    private void checkPacketMaxSize(int limit) throws MaxAllowedPacketException {
+    private void checkPacketMaxSize(long limit) throws MaxAllowedPacketException {
         if (checkPacketLength && maxAllowedPacket > 0 && limit > (maxAllowedPacket - 1)) {
             this.seqNo = -1;
             throw new MaxAllowedPacketException("max_allowed_packet exceeded. stream size " + limit
@@ -270,50 +445,93 @@ public class PacketOutputStream extends OutputStream {
     private void internalFlush() throws IOException {
         buffer.prepare();
         int limit = buffer.remaining();
-        if (limit > 0) {
-            checkPacketMaxSize(limit);
+        //when full packets have already been streamed, last packet must be send even if empty
+        if (limit > 0 || streamedLength > 0) {
+            checkPacketMaxSize(streamedLength + limit);
             if (useCompression) {
-                flushWithCompression(limit);
+                flushWithCompression(limit, true);
             } else {
-                flushRaw(limit);
+                flushRaw(limit, true);
             }
+            sentBytes += limit;
         }
     }
+
+    /**
+     * Number of command bytes sent to server since connection creation (packet headers excluded, before compression).
+     *
+     * @return sent bytes
+     */
+    public long getSentBytes() {
+        return sentBytes;
+    }
     
-    private void flushWithCompression(int limit) throws IOException {
-        int notCompressPosition = 0;
-        int expectedPacketSize = limit + HEADER_LENGTH * ((limit / maxPacketSize) + 1);
-        byte[] bufferBytes = new byte[expectedPacketSize];
-        
-        while (notCompressPosition < expectedPacketSize) {
-            int length = buffer.remaining();
-            if (length > maxPacketSize) {
-                length = maxPacketSize;
+    /**
+     * Send buffer content using compression protocol.
+     * Packets (headers and content) are streamed into a reusable buffer, each time this buffer is full, its content is
+     * compressed using connection deflater and send as a compressed packet.
+     *
+     * @param limit buffer content length
+     * @param last is it the end of command. If not, limit must be a multiple of maxPacketSize
+     * @throws IOException if any connection error occur
+     */
+    private void flushWithCompression(int limit, boolean last) throws IOException {
+        int streamLength = limit + HEADER_LENGTH * ((limit / maxPacketSize) + (last ? 1 : 0));
+        int capacity = Math.min(streamLength, maxPacketSize);
+        byte[] input = (compressInput != null && compressInput.length >= capacity) ? compressInput : new byte[capacity];
+        int inputLength = 0;
+        int written = 0;
+        //commands are classified by command byte, other packets (LOCAL INFILE content, ...) are continuation
+        int payloadClass = (seqNo == 0) ? -1 : CompressionPolicy.CONTINUATION;
+        if (streamedLength == 0) {
+            compressSeqNo = 0;
+        }
+
+        while (written < streamLength) {
+            int length = Math.min(buffer.remaining(), maxPacketSize);
+            byte[] header = this.header;
+            header[0] = (byte) (length & 0xff);
+            header[1] = (byte) (length >>> 8);
+            header[2] = (byte) (length >>> 16);
+            header[3] = (byte) seqNo++;
+            for (int i = 0; i < HEADER_LENGTH; i++) {
+                if (inputLength == input.length) {
+                    compressAndSend(input, inputLength, payloadClass);
+                    inputLength = 0;
+                }
+                input[inputLength++] = header[i];
             }
-            
-            int indexHeader = notCompressPosition;
-            bufferBytes[notCompressPosition++] = 0x00;
-            bufferBytes[notCompressPosition++] = 0x00;
-            bufferBytes[notCompressPosition++] = 0x00;
-            bufferBytes[notCompressPosition++] = 0x00;
-            
-            if (length > 0) {
-                int read = buffer.get(bufferBytes, notCompressPosition, length);
-                notCompressPosition += read;
-                bufferBytes[indexHeader++] = (byte) (read & 0xff);
-                bufferBytes[indexHeader++] = (byte) (read >>> 8);
-                bufferBytes[indexHeader++] = (byte) (read >>> 16);
-                bufferBytes[indexHeader++] = (byte) seqNo++;
-                
+            written += HEADER_LENGTH + length;
+
+            while (length > 0) {
+                if (inputLength == input.length) {
+                    compressAndSend(input, inputLength, payloadClass);
+                    inputLength = 0;
+                }
+                int read = buffer.get(input, inputLength, Math.min(length, input.length - inputLength));
+                if (read == 0) {
+                    throw new EOFException("Buffer content is shorter than expected");
+                }
+                if (payloadClass == -1) {
+                    payloadClass = input[inputLength] & 0xff;
+                }
+                inputLength += read;
+                length -= read;
             }
         }
-        
-        // now bufferBytes in filled with uncompressed data
-        compressedAndSend(notCompressPosition, bufferBytes);
+        compressAndSend(input, inputLength, payloadClass);
+        outputStream.flush();
+
+        if (capacity <= REUSABLE_COMPRESSION_BUFFER_LENGTH) {
+            compressInput = input;
+        }
+        if (last) {
+            this.seqNo = compressSeqNo;
+        }
     }
-    
-    private void flushRaw(int limit) throws IOException {
-        int expectedPacketSize = limit + HEADER_LENGTH * ((limit / maxPacketSize) + 1);
+
+    private void flushRaw(int limit, boolean last) throws IOException {
+        int expectedPacketSize = limit + HEADER_LENGTH * ((limit / maxPacketSize) + (last ? 1 : 0));
         
         if (limit < maxPacketSize) {
             byte[] header = this.header;
@@ -344,73 +562,87 @@ public class PacketOutputStream extends OutputStream {
                 }
             }
         }
-        
+        outputStream.flush();
     }
     
     /**
-     * Compress datas and send them to database.
-     * 
-     * @param notCompressPosition
-     *            notCompressPosition
-     * @param bufferBytes
-     *            not compressed data buffer
-     * @throws IOException
-     *             if any compression or connection error occur
+     * Send data as a compressed packet. Data is compressed using connection deflater (or zstd codec if zstd compression
+     * has been negotiated) if compression policy permits it, and send uncompressed if compression isn't efficient
+     * enough.
+     *
+     * @param input data to send
+     * @param length data length
+     * @param payloadClass command of data, or CompressionPolicy.CONTINUATION
+     * @throws IOException if any connection error occur
      */
-    private void compressedAndSend(int notCompressPosition, byte[] bufferBytes) throws IOException {
-        this.seqNo = 0;
-        int position = 0;
-        int packetLength;
-        
-        while (position - notCompressPosition < 0) {
-            packetLength = Math.min(notCompressPosition - position, maxPacketSize);
-            boolean compressedPacketSend = false;
-            
-            if (packetLength > MIN_COMPRESSION_SIZE) {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                DeflaterOutputStream deflater = new DeflaterOutputStream(baos);
-                
-                deflater.write(bufferBytes, position, packetLength);
-                deflater.finish();
-                deflater.close();
-                
-                byte[] compressedBytes = baos.toByteArray();
-                baos.close();
-                
-                if (compressedBytes.length < (int) (MIN_COMPRESSION_RATIO * packetLength)) {
-                    
-                    int compressedLength = compressedBytes.length;
-                    writeCompressedHeader(compressedLength, packetLength, outputStream);
-                    outputStream.write(compressedBytes, 0, compressedLength);
-                    compressedPacketSend = true;
-                }
+    private void compressAndSend(byte[] input, int length, int payloadClass) throws IOException {
+        if (payloadClass == -1) {
+            payloadClass = CompressionPolicy.CONTINUATION;
+        }
+        if (compressionPolicy.mustCompress(payloadClass, length)) {
+            long start = System.nanoTime();
+
+            //compression stop as soon as result isn't small enough
+            int maxCompressedLength = compressionPolicy.maxCompressedLength(length);
+            byte[] output = (compressOutput != null && compressOutput.length >= maxCompressedLength)
+                    ? compressOutput : new byte[maxCompressedLength];
+            if (maxCompressedLength <= REUSABLE_COMPRESSION_BUFFER_LENGTH) {
+                compressOutput = output;
             }
-            
-            if (!compressedPacketSend) {
-                writeCompressedHeader(packetLength, 0, outputStream);
-                outputStream.write(bufferBytes, position, packetLength);
+
+            int compressedLength = (zstdCodec != null)
+                    ? zstdCodec.compress(input, length, output, maxCompressedLength)
+                    : deflate(input, length, output, maxCompressedLength);
+
+            if (compressedLength != -1 && compressedLength < maxCompressedLength) {
+                compressionPolicy.compressionResult(payloadClass, length, compressedLength, System.nanoTime() - start);
+                writeCompressedHeader(compressedLength, length);
+                outputStream.write(output, 0, compressedLength);
+                return;
             }
-            
-            position += packetLength;
-            outputStream.flush();
+            compressionPolicy.compressionResult(payloadClass, length, -1, System.nanoTime() - start);
         }
+        writeCompressedHeader(length, 0);
+        outputStream.write(input, 0, length);
     }
-    
-    private void writeCompressedHeader(int packetLength, int initialLength,
-                                       OutputStream outputStream) throws IOException {
-        byte[] header = new byte[7];
+
+    private int deflate(byte[] input, int length, byte[] output, int maxCompressedLength) {
+        if (deflater == null) {
+            deflater = new Deflater(compressionPolicy.getLevel());
+        } else {
+            deflater.reset();
+            deflater.setLevel(compressionPolicy.getLevel());
+        }
+        deflater.setInput(input, 0, length);
+        deflater.finish();
+
+        int compressedLength = 0;
+        while (!deflater.finished() && compressedLength < maxCompressedLength) {
+            compressedLength += deflater.deflate(output, compressedLength, maxCompressedLength - compressedLength);
+        }
+        return deflater.finished() ? compressedLength : -1;
+    }
+
+    private void writeCompressedHeader(int packetLength, int initialLength) throws IOException {
+        byte[] header = this.compressHeader;
         header[0] = (byte) (packetLength & 0xff);
         header[1] = (byte) ((packetLength >> 8) & 0xff);
         header[2] = (byte) ((packetLength >> 16) & 0xff);
-        header[3] = (byte) seqNo++;
+        header[3] = (byte) compressSeqNo++;
         header[4] = (byte) (initialLength & 0xff);
         header[5] = (byte) ((initialLength >> 8) & 0xff);
         header[6] = (byte) ((initialLength >> 16) & 0xff);
-        outputStream.write(header);
+        outputStream.write(header, 0, COMPRESSION_HEADER_LENGTH);
     }
-    
+
     @Override
     public void close() throws IOException {
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (zstdCodec != null) {
+            zstdCodec.close();
+        }
         buf.free();
         buffer.close();
         outputStream.close();
@@ -0,0 +1,171 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+package org.mariadb.jdbc.internal.stream;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.util.Native;
+
+import java.io.IOException;
+
+/**
+ * Zstandard compression of compression protocol packets, when CLIENT_ZSTD_COMPRESSION_ALGORITHM has been negotiated.
+ * zstd-jni is an optional dependency : this class is the only one referencing it, and must only be loaded when
+ * {@link #isAvailable()} is true.
+ * Compression / decompression contexts are created once by connection and reused for every packet.
+ */
+public class ZstdCodec {
+    public static final int DEFAULT_LEVEL = 3;
+
+    private static volatile Boolean available;
+
+    private final int level;
+    private ZstdCompressCtx compressCtx;
+    private ZstdDecompressCtx decompressCtx;
+
+    public ZstdCodec(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Indicate if zstd-jni library and its native part can be loaded.
+     *
+     * @return true if zstd compression can be used
+     */
+    public static boolean isAvailable() {
+        Boolean isAvailable = available;
+        if (isAvailable == null) {
+            try {
+                Native.load();
+                isAvailable = Native.isLoaded();
+            } catch (Throwable t) {
+                //library not in classpath, or native library cannot be loaded for this platform
+                isAvailable = Boolean.FALSE;
+            }
+            available = isAvailable;
+        }
+        return isAvailable;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Maximum compressed length of data. Compression into a smaller buffer may fail.
+     *
+     * @param length data length
+     * @return maximum compressed length
+     */
+    public static int compressBound(int length) {
+        return (int) Zstd.compressBound(length);
+    }
+
+    /**
+     * Compress data.
+     *
+     * @param src       data to compress
+     * @param srcLength data length
+     * @param dst       destination buffer
+     * @param dstLength maximum compressed length
+     * @return compressed length, or -1 if compressed data is bigger than dstLength
+     */
+    public int compress(byte[] src, int srcLength, byte[] dst, int dstLength) {
+        if (compressCtx == null) {
+            compressCtx = new ZstdCompressCtx();
+            compressCtx.setLevel(level);
+        }
+        try {
+            return compressCtx.compressByteArray(dst, 0, dstLength, src, 0, srcLength);
+        } catch (RuntimeException e) {
+            //ZstdException : destination buffer too small
+            return -1;
+        }
+    }
+
+    /**
+     * Decompress data.
+     *
+     * @param src       compressed data
+     * @param srcLength compressed data length
+     * @param dst       destination buffer
+     * @param dstLength expected decompressed length
+     * @throws IOException if data cannot be decompressed, or if decompressed length isn't the one expected
+     */
+    public void decompress(byte[] src, int srcLength, byte[] dst, int dstLength) throws IOException {
+        if (decompressCtx == null) {
+            decompressCtx = new ZstdDecompressCtx();
+        }
+        int length;
+        try {
+            length = decompressCtx.decompressByteArray(dst, 0, dstLength, src, 0, srcLength);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid zstd compressed packet : " + e.getMessage(), e);
+        }
+        if (length != dstLength) {
+            throw new IOException("Invalid stream length after decompression, " + (dstLength - length)
+                    + " bytes missing");
+        }
+    }
+
+    /**
+     * Release native contexts.
+     */
+    public void close() {
+        if (compressCtx != null) {
+            compressCtx.close();
+            compressCtx = null;
+        }
+        if (decompressCtx != null) {
+            decompressCtx.close();
+            decompressCtx = null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.mariadb.jdbc.internal.util;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -36,7 +37,9 @@ public final class ByteArrayBuffer {
     
     private int limit;
     
-    private int compressRead;
+    private int readIdx = -1;
+
+    private int readOffset;
     
     /**
      * Create a byte array buffer with first byte array element with one page size.
@@ -44,7 +47,6 @@ public final class ByteArrayBuffer {
     public ByteArrayBuffer() {
         this.current = first;
         this.limit = 0;
-        this.compressRead = 0;
         this.adr = current.address();
     }
     
@@ -76,7 +78,8 @@ public final class ByteArrayBuffer {
     public void recycle() {
         this.limit = 0;
         this.pos = 0;
-        this.compressRead = 0;
+        this.readIdx = -1;
+        this.readOffset = 0;
         recylce();
         this.current = this.first;
         this.adr = current.address();
@@ -92,23 +95,28 @@ public final class ByteArrayBuffer {
      * @param len
      *            The maximum number of bytes to be written to the given array
      * @return the number of bytes put into the given buffer.
+     * @throws IOException if stream content cannot be read
      */
-    public int get(byte[] bufferBytes, int off, int len) {
-        int index = off;
-        if (compressRead == 0) {
-            System.arraycopy(first.array(), 0, bufferBytes, index, first.pos());
-            index += first.pos();
-        }
-        for (int n = elemIdx; compressRead < n; compressRead++) {
-            if (pos + len > elem[compressRead].pos()) {
-                System.arraycopy(elem[compressRead].array(), 0, bufferBytes, index,
-                                 elem[compressRead].pos());
-                index += elem[compressRead].pos();
-            } else {
-                break;
+    public int get(byte[] bufferBytes, int off, int len) throws IOException {
+        int read = 0;
+        while (read < len) {
+            ByteBuf element = (readIdx == -1) ? first : elem[readIdx];
+            int available = element.pos() - readOffset;
+            if (available <= 0) {
+                if (readIdx + 1 >= elemIdx) {
+                    break;
+                }
+                readIdx++;
+                readOffset = 0;
+                continue;
             }
+            int length = Math.min(available, len - read);
+            element.copyTo(readOffset, bufferBytes, off + read, length);
+            readOffset += length;
+            read += length;
         }
-        return index - off;
+        pos += read;
+        return read;
     }
     
     /**
@@ -129,19 +137,31 @@ public final class ByteArrayBuffer {
         }
     }
     
-    int writePartPos = -1;
-    
+    private byte[] writePartChunk;
+
+    /**
+     * Write part of buffer content to the given {@link OutputStream}, reading sequentially from current position
+     * (see {@link #get(byte[], int, int)}).
+     *
+     * @param outputStream the output stream to write buffers.
+     * @param length number of bytes to write
+     * @throws IOException if any error occur during data send to server, or if buffer content is shorter than length
+     */
     public void writePartTo(OutputStream outputStream, int length) throws IOException {
-        if (writePartPos == -1) {
-            first.writeTo(outputStream);
-            length -= first.pos();
-            writePartPos++;
+        if (writePartChunk == null) {
+            writePartChunk = new byte[8192];
         }
-        while (writePartPos < elemIdx && length > 0) {
-           // length = elem[writePartPos++].writePartTo(outputStream, length);
+        byte[] chunk = writePartChunk;
+        while (length > 0) {
+            int read = get(chunk, 0, Math.min(chunk.length, length));
+            if (read == 0) {
+                throw new EOFException("Buffer content is shorter than expected");
+            }
+            outputStream.write(chunk, 0, read);
+            length -= read;
         }
     }
-    
+
     /**
      * prepare this byte array buffer to be written.
      */
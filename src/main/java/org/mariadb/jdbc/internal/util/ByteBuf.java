@@ -17,6 +17,17 @@ public interface ByteBuf {
 
     void writeTo(OutputStream os) throws IOException;
 
+    /**
+     * Copy part of this buffer content. Stream content can only be copied sequentially.
+     *
+     * @param index position of first byte to copy
+     * @param dest destination array
+     * @param off destination offset
+     * @param len number of bytes to copy
+     * @throws IOException if stream content cannot be read
+     */
+    void copyTo(int index, byte[] dest, int off, int len) throws IOException;
+
     byte[] array();
     
     long address();
@@ -43,6 +43,11 @@ final class ByteBufArray implements ByteBuf {
         os.write(array, off, pos);
     }
 
+    @Override
+    public void copyTo(int index, byte[] dest, int off, int len) {
+        System.arraycopy(array, this.off + index, dest, off, len);
+    }
+
     @Override
     public int pos() {
         return pos;
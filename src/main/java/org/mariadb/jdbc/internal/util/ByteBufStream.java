@@ -1,5 +1,6 @@
 package org.mariadb.jdbc.internal.util;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -48,6 +49,18 @@ final class ByteBufStream implements ByteBuf {
         }
     }
     
+    @Override
+    public void copyTo(int index, byte[] dest, int off, int len) throws IOException {
+        while (len > 0) {
+            int read = is.read(dest, off, len);
+            if (read == -1) {
+                throw new EOFException("stream ended before expected length");
+            }
+            off += read;
+            len -= read;
+        }
+    }
+
     @Override
     public byte[] array() {
         throw new UnsupportedOperationException();
@@ -68,6 +68,11 @@ public final class ByteBufUnsafe implements ByteBuf {
         }
     }
     
+    @Override
+    public void copyTo(int index, byte[] dest, int off, int len) {
+        UNSAFE.copyMemory(null, adr + index, dest, UnsafeUtil.BYTE_ARRAY_BASE_OFFSET + off, len);
+    }
+
     @Override
     public byte[] array() {
         final byte[] values;
@@ -0,0 +1,193 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+package org.mariadb.jdbc.internal.util;
+
+import org.mariadb.jdbc.internal.query.MariaDbClientParameterizeQuery;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Driver-wide cache of parsed client-side prepared statement templates.
+ * A template keeps the result of query parsing (immutable query parts, rewrite parts, rewritable insert detection),
+ * so preparing an already known query only clone a parameter array.
+ * Cache is bounded : when full, an arbitrary entry is removed before adding a new one.
+ */
+public final class ClientPrepareTemplateCache {
+    public static final int DEFAULT_MAX_SIZE = 1024;
+    private static final ClientPrepareTemplateCache INSTANCE = new ClientPrepareTemplateCache(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    private final ConcurrentHashMap<Key, Template> templates = new ConcurrentHashMap<>();
+
+    public ClientPrepareTemplateCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public static ClientPrepareTemplateCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get cached template.
+     *
+     * @param sql                initial sql
+     * @param noBackslashEscapes must backslash be escaped
+     * @param rewriteDetection   has rewritable insert detection been done
+     * @return template or null if not cached
+     */
+    public Template get(String sql, boolean noBackslashEscapes, boolean rewriteDetection) {
+        return templates.get(new Key(sql, noBackslashEscapes, rewriteDetection));
+    }
+
+    /**
+     * Add template to cache.
+     *
+     * @param sql                initial sql
+     * @param noBackslashEscapes must backslash be escaped
+     * @param rewriteDetection   has rewritable insert detection been done
+     * @param template           parsed template
+     */
+    public void put(String sql, boolean noBackslashEscapes, boolean rewriteDetection, Template template) {
+        if (templates.size() >= maxSize) {
+            Iterator<Key> iterator = templates.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        templates.putIfAbsent(new Key(sql, noBackslashEscapes, rewriteDetection), template);
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final boolean noBackslashEscapes;
+        private final boolean rewriteDetection;
+
+        Key(String sql, boolean noBackslashEscapes, boolean rewriteDetection) {
+            this.sql = sql;
+            this.noBackslashEscapes = noBackslashEscapes;
+            this.rewriteDetection = rewriteDetection;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            return noBackslashEscapes == key.noBackslashEscapes
+                    && rewriteDetection == key.rewriteDetection
+                    && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 4 * sql.hashCode() + (noBackslashEscapes ? 2 : 0) + (rewriteDetection ? 1 : 0);
+        }
+    }
+
+    /**
+     * Parsed client-side prepared statement. Never modified once created : statements use
+     * {@link #newQuery()} to get their own parameter array.
+     */
+    public static final class Template {
+        private final String sql;
+        private final boolean rewriteable;
+        private final String firstRewrite;
+        private final MariaDbClientParameterizeQuery query;
+
+        /**
+         * Constructor.
+         *
+         * @param sql          sql after end semicolon removal
+         * @param rewriteable  is query a rewritable insert
+         * @param firstRewrite common first part of rewritable insert
+         * @param query        parsed query
+         */
+        public Template(String sql, boolean rewriteable, String firstRewrite, MariaDbClientParameterizeQuery query) {
+            this.sql = sql;
+            this.rewriteable = rewriteable;
+            this.firstRewrite = firstRewrite;
+            this.query = query.cloneQuery();
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public boolean isRewriteable() {
+            return rewriteable;
+        }
+
+        public String getFirstRewrite() {
+            return firstRewrite;
+        }
+
+        /**
+         * Create a query sharing template parsed parts, with its own parameters.
+         *
+         * @return new query
+         */
+        public MariaDbClientParameterizeQuery newQuery() {
+            return query.cloneQuery();
+        }
+    }
+}
@@ -253,6 +253,7 @@ public enum DefaultOptions {
 
     /**
      * enable/disable prepare Statement cache, default true.
+     * Client-side prepared statements parsed templates are then shared using a driver-wide cache.
      */
     CACHEPREPSTMTS("cachePrepStmts", Boolean.TRUE, "1.3.0"),
 
@@ -321,7 +322,97 @@ public enum DefaultOptions {
     /**
      * Password for the client certificate keystore.
      */
-    CLIENT_CERTIFICATE_KEYSTORE_PASSWORD("clientCertificateKeyStorePassword", "1.3.0");
+    CLIENT_CERTIFICATE_KEYSTORE_PASSWORD("clientCertificateKeyStorePassword", "1.3.0"),
+
+    /**
+     * Use a NIO SocketChannel for TCP connections, reading packets in a direct buffer without intermediate copy.
+     * Not used if connection use SSL, compression, a custom socketFactory, pipe, localSocket or sharedMemory.
+     * default to false.
+     */
+    USE_NIO_TRANSPORT("useNioTransport", Boolean.FALSE, "1.4.0"),
+
+    /**
+     * When using streaming result sets (fetch size Integer.MIN_VALUE), number of rows read in advance by a background
+     * task, so network wait and row processing overlap.
+     * default to 0 (disabled).
+     */
+    STREAMING_READ_AHEAD("streamingReadAhead", new Integer(0), new Integer(0), Integer.MAX_VALUE, "1.4.0"),
+
+    /**
+     * Maximum memory in bytes used by row data of a cached result set. Past that size, rows are stored in a
+     * temporary file, mapped in memory when read.
+     * default to 0 (no limit).
+     */
+    MAX_RESULT_SET_MEMORY("maxResultSetMemory", new Integer(0), new Integer(0), Integer.MAX_VALUE, "1.4.0"),
+
+    /**
+     * Server prepared statement created with TYPE_FORWARD_ONLY result set type and a positive fetch size : execute
+     * using a read-only server cursor, rows being fetched fetch size at a time.
+     * default to false.
+     */
+    USE_CURSOR_FETCH("useCursorFetch", Boolean.FALSE, "1.4.0"),
+
+    /**
+     * Batch : send queries without waiting for each result, results being read afterward. Used for server prepared
+     * statements, and for text batches not using rewriteBatchedStatements or allowMultiQueries.
+     * Server then continue executing the batch after a failed query.
+     * default to false.
+     */
+    USE_BATCH_MULTI_SEND("useBatchMultiSend", Boolean.FALSE, "1.4.0"),
+
+    /**
+     * Batch of server prepared statement : if server support it (MariaDB 10.2+), send all parameters sets using
+     * COM_STMT_BULK_EXECUTE commands, each command containing as many parameters sets as max_allowed_packet permit.
+     * Not used if statement return a result-set, or if a parameter is a stream.
+     * default to false.
+     */
+    USE_BULK_STMTS("useBulkStmts", Boolean.FALSE, "1.4.0"),
+
+    /**
+     * Batch of server prepared INSERT ... VALUES statement : number of rows of the multi-rows INSERT prepared to
+     * execute the batch. Values are then sent in binary protocol, rewriteServerPrepBatchSize rows per execution.
+     * default to 0 (batch is not rewritten).
+     */
+    REWRITE_SERVER_PREP_BATCH_SIZE("rewriteServerPrepBatchSize", new Integer(0), new Integer(0), Integer.MAX_VALUE, "1.4.0"),
+
+    /**
+     * When using compression, deflate level (1 to 9). With adaptiveCompression, maximum deflate level.
+     * default to 6.
+     */
+    COMPRESSION_LEVEL("compressionLevel", new Integer(6), new Integer(1), new Integer(9), "1.4.0"),
+
+    /**
+     * When using compression, packets smaller than this size are sent uncompressed.
+     * default to 16384.
+     */
+    COMPRESSION_THRESHOLD("compressionThreshold", new Integer(16384), new Integer(0), Integer.MAX_VALUE, "1.4.0"),
+
+    /**
+     * When using compression, maximum compressed size / initial size ratio in percent. Compressed packets not smaller
+     * than that are sent uncompressed.
+     * default to 90.
+     */
+    COMPRESSION_MAX_RATIO("compressionMaxRatio", new Integer(90), new Integer(1), new Integer(100), "1.4.0"),
+
+    /**
+     * When using compression, adapt deflate level to compression ratio and cost, and stop trying to compress kinds of
+     * packets that don't compress (checking again periodically).
+     * default to false.
+     */
+    ADAPTIVE_COMPRESSION("adaptiveCompression", Boolean.FALSE, "1.4.0"),
+
+    /**
+     * When using compression, use zstd compression algorithm if server permits it and zstd-jni library is available.
+     * zlib is used otherwise.
+     * default to false.
+     */
+    USE_ZSTD_COMPRESSION("useZstdCompression", Boolean.FALSE, "1.4.0"),
+
+    /**
+     * When using zstd compression, zstd level (1 to 22).
+     * default to 3.
+     */
+    ZSTD_COMPRESSION_LEVEL("zstdCompressionLevel", new Integer(3), new Integer(1), new Integer(22), "1.4.0");
 
     protected final String name;
     protected final Object objType;
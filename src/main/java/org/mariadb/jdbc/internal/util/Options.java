@@ -98,6 +98,19 @@ public class Options {
     public boolean maximizeMysqlCompatibility;
     public boolean alwaysAutoGeneratedKeys;
     public boolean useServerPrepStmts;
+    public boolean useNioTransport;
+    public int streamingReadAhead;
+    public int maxResultSetMemory;
+    public boolean useCursorFetch;
+    public boolean useBatchMultiSend;
+    public boolean useBulkStmts;
+    public int rewriteServerPrepBatchSize;
+    public int compressionLevel;
+    public int compressionThreshold;
+    public int compressionMaxRatio;
+    public boolean adaptiveCompression;
+    public boolean useZstdCompression;
+    public int zstdCompressionLevel;
 
     //HA options
     public boolean assureReadOnly;
@@ -159,6 +172,19 @@ public class Options {
                 + ", failoverLoopRetries=" + failoverLoopRetries
                 + ", useLegacyDatetimeCode=" + useLegacyDatetimeCode
                 + ", maximizeMysqlCompatibility=" + maximizeMysqlCompatibility
+                + ", useNioTransport=" + useNioTransport
+                + ", streamingReadAhead=" + streamingReadAhead
+                + ", maxResultSetMemory=" + maxResultSetMemory
+                + ", useCursorFetch=" + useCursorFetch
+                + ", useBatchMultiSend=" + useBatchMultiSend
+                + ", useBulkStmts=" + useBulkStmts
+                + ", rewriteServerPrepBatchSize=" + rewriteServerPrepBatchSize
+                + ", compressionLevel=" + compressionLevel
+                + ", compressionThreshold=" + compressionThreshold
+                + ", compressionMaxRatio=" + compressionMaxRatio
+                + ", adaptiveCompression=" + adaptiveCompression
+                + ", useZstdCompression=" + useZstdCompression
+                + ", zstdCompressionLevel=" + zstdCompressionLevel
                 + "}";
     }
 
@@ -243,6 +269,45 @@ public class Options {
         if (useServerPrepStmts != options.useServerPrepStmts) {
             return false;
         }
+        if (useNioTransport != options.useNioTransport) {
+            return false;
+        }
+        if (streamingReadAhead != options.streamingReadAhead) {
+            return false;
+        }
+        if (maxResultSetMemory != options.maxResultSetMemory) {
+            return false;
+        }
+        if (useCursorFetch != options.useCursorFetch) {
+            return false;
+        }
+        if (useBatchMultiSend != options.useBatchMultiSend) {
+            return false;
+        }
+        if (useBulkStmts != options.useBulkStmts) {
+            return false;
+        }
+        if (rewriteServerPrepBatchSize != options.rewriteServerPrepBatchSize) {
+            return false;
+        }
+        if (compressionLevel != options.compressionLevel) {
+            return false;
+        }
+        if (compressionThreshold != options.compressionThreshold) {
+            return false;
+        }
+        if (compressionMaxRatio != options.compressionMaxRatio) {
+            return false;
+        }
+        if (adaptiveCompression != options.adaptiveCompression) {
+            return false;
+        }
+        if (useZstdCompression != options.useZstdCompression) {
+            return false;
+        }
+        if (zstdCompressionLevel != options.zstdCompressionLevel) {
+            return false;
+        }
         if (assureReadOnly != options.assureReadOnly) {
             return false;
         }
@@ -0,0 +1,359 @@
+/*
+MariaDB Client for Java
+
+Copyright (c) 2012 Monty Program Ab.
+
+This library is free software; you can redistribute it and/or modify it under
+the terms of the GNU Lesser General Public License as published by the Free
+Software Foundation; either version 2.1 of the License, or (at your option)
+any later version.
+
+This library is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+for more details.
+
+You should have received a copy of the GNU Lesser General Public License along
+with this library; if not, write to Monty Program Ab info@montyprogram.com.
+
+This particular MariaDB Client for Java file is work
+derived from a Drizzle-JDBC. Drizzle-JDBC file which is covered by subject to
+the following copyright and notice provisions:
+
+Copyright (c) 2009-2011, Marcus Eriksson
+
+Redistribution and use in source and binary forms, with or without modification,
+are permitted provided that the following conditions are met:
+Redistributions of source code must retain the above copyright notice, this list
+of conditions and the following disclaimer.
+
+Redistributions in binary form must reproduce the above copyright notice, this
+list of conditions and the following disclaimer in the documentation and/or
+other materials provided with the distribution.
+
+Neither the name of the driver nor the names of its contributors may not be
+used to endorse or promote products derived from this software without specific
+prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS  AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+OF SUCH DAMAGE.
+*/
+
+package org.mariadb.jdbc.internal.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conversion between local date-time fields and epoch milliseconds for a time zone, without Calendar.
+ *
+ * <p>Local fields are converted to a count of local milliseconds with proleptic Gregorian arithmetic, and time zone
+ * offsets are cached by day : a day is cached with its offset when offset is the same during this day and the
+ * surrounding days, so that conversion in both directions is a subtraction/addition. Days near an offset
+ * transition, dates before 1583 (Julian calendar) or after 9999 use a GregorianCalendar, so results are identical to
+ * a lenient GregorianCalendar of this time zone.</p>
+ *
+ * <p>Codecs are shared by time zone and thread safe.</p>
+ */
+public final class TemporalCodec {
+    private static final long DAY_MILLIS = 86400000L;
+    private static final int CACHE_SIZE = 1024;
+    private static final int TRANSITION = Integer.MIN_VALUE;
+    private static final long NO_ENTRY = ((long) Integer.MIN_VALUE) << 32;
+    private static final int MAX_CODECS = 64;
+
+    //days since epoch of 1583-01-01 and 9999-12-31, range of fast conversion.
+    private static final long MIN_DAY = daysFromCivil(1583, 1, 1);
+    private static final long MAX_DAY = daysFromCivil(9999, 12, 31);
+    private static final Date DEFAULT_GREGORIAN_CHANGE = new GregorianCalendar().getGregorianChange();
+    private static final boolean DEFAULT_CALENDAR_IS_GREGORIAN = Calendar.getInstance().getClass() == GregorianCalendar.class;
+
+    private static final Map<TimeZone, TemporalCodec> codecs = new HashMap<>();
+    private static volatile TemporalCodec lastCodec;
+
+    private final TimeZone timeZone;
+    private final GregorianCalendar calendar;
+    //entries are day << 32 | offset
+    private final AtomicLongArray offsets = new AtomicLongArray(CACHE_SIZE);
+
+    private TemporalCodec(TimeZone timeZone) {
+        this.timeZone = timeZone;
+        this.calendar = new GregorianCalendar(timeZone);
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            offsets.set(i, NO_ENTRY);
+        }
+    }
+
+    /**
+     * Get codec of a time zone.
+     *
+     * @param timeZone time zone
+     * @return codec
+     */
+    public static TemporalCodec get(TimeZone timeZone) {
+        TemporalCodec codec = lastCodec;
+        if (codec != null && (codec.timeZone == timeZone || codec.timeZone.equals(timeZone))) {
+            return codec;
+        }
+        synchronized (codecs) {
+            codec = codecs.get(timeZone);
+            if (codec == null) {
+                if (codecs.size() >= MAX_CODECS) {
+                    codecs.clear();
+                }
+                TimeZone copy = (TimeZone) timeZone.clone();
+                codec = new TemporalCodec(copy);
+                codecs.put(copy, codec);
+            }
+        }
+        lastCodec = codec;
+        return codec;
+    }
+
+    /**
+     * Get codec equivalent to a calendar.
+     *
+     * @param cal calendar
+     * @return codec, or null if calendar is not a lenient GregorianCalendar with standard Gregorian change.
+     */
+    public static TemporalCodec get(Calendar cal) {
+        if (cal == null || cal.getClass() != GregorianCalendar.class || !cal.isLenient()
+                || !DEFAULT_GREGORIAN_CHANGE.equals(((GregorianCalendar) cal).getGregorianChange())) {
+            return null;
+        }
+        return get(cal.getTimeZone());
+    }
+
+    /**
+     * Get codec equivalent to Calendar.getInstance().
+     *
+     * @return codec, or null if default calendar is not Gregorian (depending on locale).
+     */
+    public static TemporalCodec getDefault() {
+        if (!DEFAULT_CALENDAR_IS_GREGORIAN) {
+            return null;
+        }
+        return get(TimeZone.getDefault());
+    }
+
+    /**
+     * Epoch milliseconds of local date-time fields, with lenient Calendar semantics.
+     *
+     * @param year year
+     * @param month month, starting at 1
+     * @param day day of month
+     * @param hour hour of day
+     * @param minutes minutes
+     * @param seconds seconds
+     * @param millis milliseconds
+     * @return epoch milliseconds
+     */
+    public long toEpochMillis(int year, int month, int day, int hour, int minutes, int seconds, int millis) {
+        if (month >= 1 && month <= 12) {
+            long localMillis = (daysFromCivil(year, month, 1) + day - 1) * DAY_MILLIS
+                    + hour * 3600000L + minutes * 60000L + seconds * 1000L + millis;
+            int offset = offset(floorDiv(localMillis, DAY_MILLIS));
+            if (offset != TRANSITION) {
+                return localMillis - offset;
+            }
+        }
+        synchronized (calendar) {
+            calendar.clear();
+            calendar.set(year, month - 1, day, hour, minutes, seconds);
+            calendar.set(Calendar.MILLISECOND, millis);
+            return calendar.getTimeInMillis();
+        }
+    }
+
+    /**
+     * Write "yyyy-MM-dd" local date of epoch milliseconds, like SimpleDateFormat.
+     *
+     * @param out output stream
+     * @param epochMillis epoch milliseconds
+     * @throws IOException if any error occur when writing
+     */
+    public void writeDate(OutputStream out, long epochMillis) throws IOException {
+        long localMillis = toLocalMillis(epochMillis);
+        if (localMillis == Long.MIN_VALUE) {
+            synchronized (calendar) {
+                calendar.setTimeInMillis(epochMillis);
+                writeDate(out, calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                        calendar.get(Calendar.DAY_OF_MONTH));
+            }
+            return;
+        }
+        writeEpochDay(out, floorDiv(localMillis, DAY_MILLIS));
+    }
+
+    /**
+     * Write "yyyy-MM-dd HH:mm:ss" local date-time of epoch milliseconds, like SimpleDateFormat.
+     *
+     * @param out output stream
+     * @param epochMillis epoch milliseconds
+     * @throws IOException if any error occur when writing
+     */
+    public void writeDateTime(OutputStream out, long epochMillis) throws IOException {
+        long localMillis = toLocalMillis(epochMillis);
+        if (localMillis == Long.MIN_VALUE) {
+            synchronized (calendar) {
+                calendar.setTimeInMillis(epochMillis);
+                writeDate(out, calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                        calendar.get(Calendar.DAY_OF_MONTH));
+                out.write(' ');
+                writeTime(out, calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE),
+                        calendar.get(Calendar.SECOND));
+            }
+            return;
+        }
+        writeEpochDay(out, floorDiv(localMillis, DAY_MILLIS));
+        out.write(' ');
+        writeMillisOfDay(out, floorMod(localMillis, DAY_MILLIS));
+    }
+
+    /**
+     * Write "HH:mm:ss" local time of epoch milliseconds, like SimpleDateFormat.
+     *
+     * @param out output stream
+     * @param epochMillis epoch milliseconds
+     * @throws IOException if any error occur when writing
+     */
+    public void writeTime(OutputStream out, long epochMillis) throws IOException {
+        long localMillis = toLocalMillis(epochMillis);
+        if (localMillis == Long.MIN_VALUE) {
+            synchronized (calendar) {
+                calendar.setTimeInMillis(epochMillis);
+                writeTime(out, calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE),
+                        calendar.get(Calendar.SECOND));
+            }
+            return;
+        }
+        writeMillisOfDay(out, floorMod(localMillis, DAY_MILLIS));
+    }
+
+    /**
+     * Local milliseconds of epoch milliseconds.
+     *
+     * @param epochMillis epoch milliseconds
+     * @return local milliseconds, or Long.MIN_VALUE if Calendar must be used
+     */
+    private long toLocalMillis(long epochMillis) {
+        int offset = offset(floorDiv(epochMillis, DAY_MILLIS));
+        return (offset == TRANSITION) ? Long.MIN_VALUE : epochMillis + offset;
+    }
+
+    /**
+     * Time zone offset of a day, identical for local and UTC time of this day.
+     * Offset is checked on the previous and next day too, since offsets are less than a day, this cover all instants
+     * whose local or UTC time is during this day.
+     *
+     * @param day days since epoch
+     * @return offset in milliseconds, or TRANSITION if offset change, or day isn't in fast conversion range.
+     */
+    private int offset(long day) {
+        if (day < MIN_DAY || day > MAX_DAY) {
+            return TRANSITION;
+        }
+        int index = (int) (day & (CACHE_SIZE - 1));
+        long entry = offsets.get(index);
+        if ((entry >> 32) == day) {
+            return (int) entry;
+        }
+        long start = (day - 1) * DAY_MILLIS;
+        int offset = timeZone.getOffset(start);
+        if (timeZone.getOffset(start + DAY_MILLIS + DAY_MILLIS / 2) != offset
+                || timeZone.getOffset(start + 3 * DAY_MILLIS) != offset) {
+            offset = TRANSITION;
+        }
+        offsets.set(index, (day << 32) | (offset & 0xffffffffL));
+        return offset;
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date.
+     *
+     * @param year year
+     * @param month month, 1 to 12
+     * @param day day of month
+     * @return days since epoch
+     */
+    public static long daysFromCivil(int year, int month, int day) {
+        long adjustedYear = (month <= 2) ? year - 1 : year;
+        long era = floorDiv(adjustedYear, 400);
+        long yearOfEra = adjustedYear - era * 400;
+        long dayOfYear = (153 * (month + ((month > 2) ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static void writeEpochDay(OutputStream out, long epochDay) throws IOException {
+        long days = epochDay + 719468;
+        long era = floorDiv(days, 146097);
+        long dayOfEra = days - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) ((shiftedMonth < 10) ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + ((month <= 2) ? 1 : 0));
+        writeDate(out, year, month, day);
+    }
+
+    private static void writeDate(OutputStream out, int year, int month, int day) throws IOException {
+        if (year > 9999) {
+            out.write(String.valueOf(year).getBytes());
+        } else {
+            out.write('0' + year / 1000);
+            out.write('0' + (year / 100) % 10);
+            out.write('0' + (year / 10) % 10);
+            out.write('0' + year % 10);
+        }
+        out.write('-');
+        writeTwoDigits(out, month);
+        out.write('-');
+        writeTwoDigits(out, day);
+    }
+
+    private static void writeMillisOfDay(OutputStream out, long millisOfDay) throws IOException {
+        int secondOfDay = (int) (millisOfDay / 1000);
+        writeTime(out, secondOfDay / 3600, (secondOfDay / 60) % 60, secondOfDay % 60);
+    }
+
+    private static void writeTime(OutputStream out, int hour, int minutes, int seconds) throws IOException {
+        writeTwoDigits(out, hour);
+        out.write(':');
+        writeTwoDigits(out, minutes);
+        out.write(':');
+        writeTwoDigits(out, seconds);
+    }
+
+    private static void writeTwoDigits(OutputStream out, int value) throws IOException {
+        out.write('0' + value / 10);
+        out.write('0' + value % 10);
+    }
+
+    private static long floorDiv(long value, long divisor) {
+        long result = value / divisor;
+        return (value % divisor < 0) ? result - 1 : result;
+    }
+
+    private static long floorMod(long value, long divisor) {
+        long mod = value % divisor;
+        return (mod < 0) ? mod + divisor : mod;
+    }
+
+}
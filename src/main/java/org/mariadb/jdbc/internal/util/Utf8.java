@@ -150,4 +150,112 @@ public final class Utf8 {
         byteBuf.pos(pos);
     }
     
+    /**
+     * Write chars as an escaped string value of text protocol, in one pass : chars are escaped and utf-8 encoded
+     * directly into the byte array buffer.
+     * Escaped characters are quote only if noBackslashEscapes, or backslash, quote, double quote and 0 if not.
+     * Unpaired surrogates are written as '?', like String.getBytes("UTF-8").
+     *
+     * @param buffer the byte array buffer to write to.
+     * @param buf the source char array.
+     * @param off the offset in the char array.
+     * @param len the number of chars to write.
+     * @param noBackslashEscapes must backslash be escaped.
+     */
+    public static void writeEscaped(ByteArrayBuffer buffer, char[] buf, int off, int len, boolean noBackslashEscapes) {
+        int end = off + len;
+        while (off < end) {
+            ByteBuf byteBuf = buffer.current();
+            // a char takes at most 3 bytes (escaped ascii 2 bytes, surrogate pair 4 bytes)
+            int chunk = Math.min(end - off, (byteBuf.remaining() - 1) / 3);
+            if (chunk < 1) {
+                buffer.allocate();
+                continue;
+            }
+            off = writeEscaped(byteBuf, buf, off, off + chunk, end, noBackslashEscapes);
+        }
+    }
+
+    private static int writeEscaped(ByteBuf byteBuf, char[] buf, int off, int chunkEnd, int end, boolean noBackslashEscapes) {
+        long pos = byteBuf.pos() + byteBuf.address();
+
+        // ASCII only optimized loop
+        while (off < chunkEnd) {
+            char c = buf[off];
+            if (c >= 0x80 || mustBeEscaped(c, noBackslashEscapes)) {
+                break;
+            }
+            UNSAFE.putByte(pos++, (byte) c);
+            off++;
+        }
+
+        while (off < chunkEnd) {
+            char c = buf[off++];
+            if (c < 0x80) {
+                if (mustBeEscaped(c, noBackslashEscapes)) {
+                    UNSAFE.putByte(pos++, noBackslashEscapes ? (byte) '\'' : (byte) '\\');
+                }
+                UNSAFE.putByte(pos++, (byte) c);
+            } else if (c < 0x800) {
+                UNSAFE.putByte(pos++, (byte) (0xc0 | (c >> 6)));
+                UNSAFE.putByte(pos++, (byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && off < end && Character.isLowSurrogate(buf[off])) {
+                    int cp = Character.toCodePoint(c, buf[off++]);
+                    UNSAFE.putByte(pos++, (byte) (0xf0 | (cp >> 18)));
+                    UNSAFE.putByte(pos++, (byte) (0x80 | ((cp >> 12) & 0x3f)));
+                    UNSAFE.putByte(pos++, (byte) (0x80 | ((cp >> 6) & 0x3f)));
+                    UNSAFE.putByte(pos++, (byte) (0x80 | (cp & 0x3f)));
+                } else {
+                    UNSAFE.putByte(pos++, (byte) '?');
+                }
+            } else {
+                UNSAFE.putByte(pos++, (byte) (0xe0 | (c >> 12)));
+                UNSAFE.putByte(pos++, (byte) (0x80 | ((c >> 6) & 0x3f)));
+                UNSAFE.putByte(pos++, (byte) (0x80 | (c & 0x3f)));
+            }
+        }
+        byteBuf.pos(pos);
+        return off;
+    }
+
+    /**
+     * Length of chars once escaped and utf-8 encoded by {@link #writeEscaped(ByteArrayBuffer, char[], int, int, boolean)}.
+     *
+     * @param buf the source char array.
+     * @param off the offset in the char array.
+     * @param len the number of chars.
+     * @param noBackslashEscapes must backslash be escaped.
+     * @return number of bytes
+     */
+    public static long escapedLength(char[] buf, int off, int len, boolean noBackslashEscapes) {
+        long length = len;
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = buf[i];
+            if (c < 0x80) {
+                if (mustBeEscaped(c, noBackslashEscapes)) {
+                    length++;
+                }
+            } else if (c < 0x800) {
+                length++;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(buf[i + 1])) {
+                    // 4 bytes for 2 chars
+                    length += 2;
+                    i++;
+                }
+            } else {
+                length += 2;
+            }
+        }
+        return length;
+    }
+
+    private static boolean mustBeEscaped(char c, boolean noBackslashEscapes) {
+        if (noBackslashEscapes) {
+            return c == '\'';
+        }
+        return c == '\\' || c == '\'' || c == '"' || c == 0;
+    }
+
 }
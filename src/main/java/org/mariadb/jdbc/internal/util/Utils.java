@@ -66,6 +66,7 @@ import javax.net.SocketFactory;
 import java.io.IOException;
 import java.lang.reflect.Proxy;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
@@ -641,6 +642,9 @@ public class Utils {
             } catch (RuntimeException re) {
                 throw new IOException(re.getMessage(), re.getCause());
             }
+        } else if (urlParser.getOptions().useNioTransport && urlParser.getOptions().socketFactory == null
+                && !urlParser.getOptions().useSsl && !urlParser.getOptions().useCompression) {
+            return SocketChannel.open().socket();
         } else {
             SocketFactory socketFactory;
             String socketFactoryName = urlParser.getOptions().socketFactory;
@@ -72,14 +72,14 @@ public final class ReadUtil {
      */
     public static void readFully(InputStream stream, byte[] bytes, int off, int len) throws IOException {
         int remaining = len;
-        do {
+        while (remaining > 0) {
             int count = stream.read(bytes, off, remaining);
             if (count <= 0) {
                 throw new EOFException("unexpected end of stream, read " + (len - remaining) + " bytes from " + len);
             }
             remaining -= count;
             off += count;
-        } while (remaining > 0);
+        }
 
     }
 
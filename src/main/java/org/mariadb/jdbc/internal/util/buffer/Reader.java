@@ -49,11 +49,8 @@ OF SUCH DAMAGE.
 
 package org.mariadb.jdbc.internal.util.buffer;
 
-import org.mariadb.jdbc.internal.packet.read.RawPacket;
-
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 
 
@@ -243,41 +240,6 @@ public class Reader {
         return byteBuffer.remaining();
     }
 
-
-    /**
-     * Add stream to bytebuffer.
-     * @param rawPacket stream to add if needed
-     */
-    public void appendPacket(RawPacket rawPacket) {
-        ByteBuffer newBuffer = ByteBuffer.allocate(byteBuffer.capacity() + rawPacket.getByteBuffer().capacity()).order(ByteOrder.LITTLE_ENDIAN);
-        final int pos = byteBuffer.position();
-        byteBuffer.rewind();
-        newBuffer.put(byteBuffer);
-        newBuffer.put(rawPacket.getByteBuffer());
-        newBuffer.position(pos);
-        byteBuffer = newBuffer;
-    }
-
-    /**
-     * If next data length is not contain in byteBuffer, add stream.
-     * @param rawPacket stream to add if needed
-     * @param encLength next data remaining length to fetch
-     */
-    public void appendPacket(RawPacket rawPacket, long encLength) {
-        if (encLength < byteBuffer.capacity()) {
-            byteBuffer.rewind();
-            byteBuffer.put(rawPacket.getByteBuffer());
-        } else {
-            ByteBuffer newBuffer = ByteBuffer.allocate(byteBuffer.capacity() + rawPacket.getByteBuffer().capacity()).order(ByteOrder.LITTLE_ENDIAN);
-            final int pos = byteBuffer.position();
-            byteBuffer.rewind();
-            newBuffer.put(byteBuffer);
-            newBuffer.put(rawPacket.getByteBuffer());
-            newBuffer.position(pos);
-            byteBuffer = newBuffer;
-        }
-    }
-
     /**
      * Return next binary field length without moving cursor position.
      * @return next binary field length
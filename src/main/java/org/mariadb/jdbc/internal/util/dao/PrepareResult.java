@@ -55,7 +55,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 public class PrepareResult {
     private final int statementId;
-    private ColumnInformation[] columns;
+    private volatile ColumnInformation[] columns;
     private ColumnInformation[] parameters;
 
     //share indicator
@@ -129,6 +129,14 @@ public class PrepareResult {
         return columns;
     }
 
+    /**
+     * Update result-set column definitions, when server has sent them again on execution.
+     * @param columns columns information
+     */
+    public void setColumns(ColumnInformation[] columns) {
+        this.columns = columns;
+    }
+
     public ColumnInformation[] getParameters() {
         return parameters;
     }
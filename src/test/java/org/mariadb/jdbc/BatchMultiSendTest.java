@@ -0,0 +1,147 @@
+package org.mariadb.jdbc;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchMultiSendTest extends BaseTest {
+
+    /**
+     * Initialisation.
+     * @throws SQLException exception
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("batchmultisend", "id int not null primary key auto_increment, test varchar(20)");
+        createTable("batchmultisendkey", "id int not null primary key, test varchar(20)");
+        createTable("batchmultisendtext", "id int not null primary key, test varchar(20)");
+    }
+
+    @Test
+    public void bigBatch() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=true&useBatchMultiSend=true");
+            connection.createStatement().execute("TRUNCATE batchmultisend");
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO batchmultisend(test) VALUES (?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < 10000; i++) {
+                ps.setString(1, "v" + i);
+                ps.addBatch();
+            }
+            int[] updateCounts = ps.executeBatch();
+            assertEquals(10000, updateCounts.length);
+            for (int updateCount : updateCounts) {
+                assertEquals(1, updateCount);
+            }
+
+            ResultSet keys = ps.getGeneratedKeys();
+            for (int i = 1; i <= 10000; i++) {
+                assertTrue(keys.next());
+                assertEquals(i, keys.getInt(1));
+            }
+            assertFalse(keys.next());
+
+            ResultSet rs = connection.createStatement().executeQuery("SELECT count(*) FROM batchmultisend");
+            assertTrue(rs.next());
+            assertEquals(10000, rs.getInt(1));
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void batchWithError() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=true&useBatchMultiSend=true");
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO batchmultisendkey(id, test) VALUES (?, ?)");
+            for (int i = 0; i < 10; i++) {
+                //third insert fail, duplicate primary key
+                ps.setInt(1, i == 2 ? 1 : i);
+                ps.setString(2, "v" + i);
+                ps.addBatch();
+            }
+            try {
+                ps.executeBatch();
+                fail("exception should be throw above");
+            } catch (BatchUpdateException bue) {
+                int[] updateCounts = bue.getUpdateCounts();
+                assertEquals(10, updateCounts.length);
+                for (int i = 0; i < 10; i++) {
+                    assertEquals(i == 2 ? Statement.EXECUTE_FAILED : 1, updateCounts[i]);
+                }
+            }
+
+            //connection is still usable
+            ResultSet rs = connection.createStatement().executeQuery("SELECT count(*) FROM batchmultisendkey");
+            assertTrue(rs.next());
+            assertEquals(9, rs.getInt(1));
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void textBatch() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=false&allowMultiQueries=false&rewriteBatchedStatements=false"
+                    + "&useBatchMultiSend=true");
+            Statement stmt = connection.createStatement();
+            for (int i = 0; i < 100; i++) {
+                stmt.addBatch("INSERT INTO batchmultisendtext VALUES (" + i + ", 'v" + i + "')");
+            }
+            stmt.addBatch("UPDATE batchmultisendtext SET test = 'updated' WHERE id < 10");
+            stmt.addBatch("INSERT INTO batchmultisendtext VALUES (1, 'duplicate')");
+            stmt.addBatch("DELETE FROM batchmultisendtext WHERE id >= 90");
+            try {
+                stmt.executeBatch();
+                fail("exception should be throw above");
+            } catch (BatchUpdateException bue) {
+                int[] updateCounts = bue.getUpdateCounts();
+                assertEquals(103, updateCounts.length);
+                assertEquals(1, updateCounts[0]);
+                assertEquals(10, updateCounts[100]);
+                assertEquals(Statement.EXECUTE_FAILED, updateCounts[101]);
+                assertEquals(10, updateCounts[102]);
+            }
+
+            PreparedStatement ps = connection.prepareStatement("UPDATE batchmultisendtext SET test = ? WHERE id = ?");
+            for (int i = 0; i < 90; i++) {
+                ps.setString(1, "p" + i);
+                ps.setInt(2, i);
+                ps.addBatch();
+            }
+            int[] updateCounts = ps.executeBatch();
+            assertEquals(90, updateCounts.length);
+            for (int updateCount : updateCounts) {
+                assertEquals(1, updateCount);
+            }
+
+            ResultSet rs = stmt.executeQuery("SELECT count(*) FROM batchmultisendtext WHERE test LIKE 'p%'");
+            assertTrue(rs.next());
+            assertEquals(90, rs.getInt(1));
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+}
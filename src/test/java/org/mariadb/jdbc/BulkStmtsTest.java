@@ -0,0 +1,156 @@
+package org.mariadb.jdbc;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkStmtsTest extends BaseTest {
+
+    /**
+     * Initialisation.
+     * @throws SQLException exception
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("bulkstmts", "id int not null primary key auto_increment, test varchar(2000), other int");
+    }
+
+    @Test
+    public void bulkInsert() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=true&useBulkStmts=true");
+            Assume.assumeTrue(((MariaDbConnection) connection).getProtocol().supportsBulkOperations());
+            connection.createStatement().execute("TRUNCATE bulkstmts");
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                sb.append('a');
+            }
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO bulkstmts(test, other) VALUES (?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < 10000; i++) {
+                //enough data to need many commands with a default max_allowed_packet
+                ps.setString(1, sb.toString() + i);
+                if (i % 10 == 0) {
+                    ps.setNull(2, java.sql.Types.INTEGER);
+                } else {
+                    ps.setInt(2, i);
+                }
+                ps.addBatch();
+            }
+            int[] updateCounts = ps.executeBatch();
+            assertEquals(10000, updateCounts.length);
+            for (int updateCount : updateCounts) {
+                assertEquals(1, updateCount);
+            }
+
+            ResultSet keys = ps.getGeneratedKeys();
+            for (int i = 1; i <= 10000; i++) {
+                assertTrue(keys.next());
+                assertEquals(i, keys.getInt(1));
+            }
+            assertFalse(keys.next());
+
+            ResultSet rs = connection.createStatement().executeQuery("SELECT id, test, other FROM bulkstmts ORDER BY id");
+            for (int i = 0; i < 10000; i++) {
+                assertTrue(rs.next());
+                assertEquals(sb.toString() + i, rs.getString(2));
+                if (i % 10 == 0) {
+                    rs.getInt(3);
+                    assertTrue(rs.wasNull());
+                } else {
+                    assertEquals(i, rs.getInt(3));
+                }
+            }
+            assertFalse(rs.next());
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void bulkUpdate() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=true&useBulkStmts=true");
+            Assume.assumeTrue(((MariaDbConnection) connection).getProtocol().supportsBulkOperations());
+            connection.createStatement().execute("TRUNCATE bulkstmts");
+            connection.createStatement().execute("INSERT INTO bulkstmts(test, other) VALUES ('a', 1), ('b', 1), ('c', 2)");
+            PreparedStatement ps = connection.prepareStatement("UPDATE bulkstmts SET test = ? WHERE other = ?");
+            ps.setString(1, "x");
+            ps.setInt(2, 1);
+            ps.addBatch();
+            //type change : sent in another command
+            ps.setString(1, "y");
+            ps.setString(2, "2");
+            ps.addBatch();
+            int[] updateCounts = ps.executeBatch();
+            assertEquals(2, updateCounts.length);
+            //only the total of affected rows of a command is known : count by parameters set is unknown for UPDATE
+            assertEquals(Statement.SUCCESS_NO_INFO, updateCounts[0]);
+            assertEquals(Statement.SUCCESS_NO_INFO, updateCounts[1]);
+
+            ResultSet rs = connection.createStatement().executeQuery("SELECT test FROM bulkstmts ORDER BY id");
+            assertTrue(rs.next());
+            assertEquals("x", rs.getString(1));
+            assertTrue(rs.next());
+            assertEquals("x", rs.getString(1));
+            assertTrue(rs.next());
+            assertEquals("y", rs.getString(1));
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void bulkOnDuplicateKeyUpdate() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=true&useBulkStmts=true");
+            Assume.assumeTrue(((MariaDbConnection) connection).getProtocol().supportsBulkOperations());
+            connection.createStatement().execute("TRUNCATE bulkstmts");
+            connection.createStatement().execute("INSERT INTO bulkstmts(id, test, other) VALUES (1, 'a', 1), (2, 'b', 2)");
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO bulkstmts(id, test, other) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE test = VALUES(test)", Statement.RETURN_GENERATED_KEYS);
+            //2 unchanged existing rows and 2 new rows : total of affected rows equals the number of parameters sets
+            for (int i = 1; i <= 4; i++) {
+                ps.setInt(1, i);
+                ps.setString(2, String.valueOf((char) ('a' + i - 1)));
+                ps.setInt(3, i);
+                ps.addBatch();
+            }
+            int[] updateCounts = ps.executeBatch();
+            assertEquals(4, updateCounts.length);
+            for (int updateCount : updateCounts) {
+                assertEquals(Statement.SUCCESS_NO_INFO, updateCount);
+            }
+
+            ResultSet rs = connection.createStatement().executeQuery("SELECT id, test FROM bulkstmts ORDER BY id");
+            for (int i = 1; i <= 4; i++) {
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(1));
+                assertEquals(String.valueOf((char) ('a' + i - 1)), rs.getString(2));
+            }
+            assertFalse(rs.next());
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+package org.mariadb.jdbc;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CursorFetchTest extends BaseTest {
+    private Connection connection;
+
+    /**
+     * Initialisation.
+     * @throws SQLException exception
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("cursorfetch", "id int not null primary key auto_increment, test varchar(20)");
+        Statement stmt = sharedConnection.createStatement();
+        StringBuilder sb = new StringBuilder("INSERT INTO cursorfetch(test) VALUES ('v0')");
+        for (int i = 1; i < 1000; i++) {
+            sb.append(",('v").append(i).append("')");
+        }
+        stmt.execute(sb.toString());
+    }
+
+    @Before
+    public void openCursorConnection() throws SQLException {
+        connection = setConnection("&useCursorFetch=true");
+    }
+
+    @After
+    public void closeCursorConnection() throws SQLException {
+        connection.close();
+    }
+
+    private PreparedStatement prepareForwardOnly(String sql) throws SQLException {
+        return connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    @Test
+    public void fetchByGroup() throws SQLException {
+        PreparedStatement ps = prepareForwardOnly("SELECT id, test FROM cursorfetch WHERE id > ? ORDER BY id");
+        ps.setFetchSize(100);
+        ps.setInt(1, 0);
+        ResultSet rs = ps.executeQuery();
+        assertEquals(ResultSet.TYPE_FORWARD_ONLY, rs.getType());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(rs.next());
+            assertEquals(i + 1, rs.getInt(1));
+            assertEquals("v" + i, rs.getString(2));
+        }
+        assertFalse(rs.next());
+    }
+
+    @Test
+    public void exactMultipleOfFetchSize() throws SQLException {
+        PreparedStatement ps = prepareForwardOnly("SELECT id FROM cursorfetch WHERE id <= ? ORDER BY id");
+        ps.setFetchSize(10);
+        ps.setInt(1, 50);
+        ResultSet rs = ps.executeQuery();
+        int count = 0;
+        while (rs.next()) {
+            count++;
+        }
+        assertEquals(50, count);
+    }
+
+    @Test
+    public void otherQueriesBetweenFetch() throws SQLException {
+        PreparedStatement ps = prepareForwardOnly("SELECT id FROM cursorfetch WHERE id > ? ORDER BY id");
+        ps.setFetchSize(7);
+        ps.setInt(1, 0);
+        ResultSet rs = ps.executeQuery();
+        Statement other = connection.createStatement();
+        int count = 0;
+        while (rs.next()) {
+            count++;
+            if (count % 50 == 0) {
+                ResultSet otherRs = other.executeQuery("SELECT " + count);
+                assertTrue(otherRs.next());
+                assertEquals(count, otherRs.getInt(1));
+            }
+        }
+        assertEquals(1000, count);
+    }
+
+    @Test
+    public void closeBeforeEnd() throws SQLException {
+        PreparedStatement ps = prepareForwardOnly("SELECT id FROM cursorfetch WHERE id > ? ORDER BY id");
+        ps.setFetchSize(10);
+        ps.setInt(1, 0);
+        ResultSet rs = ps.executeQuery();
+        assertTrue(rs.next());
+        rs.close();
+
+        //statement can be executed again, and connection is usable
+        ps.setInt(1, 995);
+        rs = ps.executeQuery();
+        for (int i = 996; i <= 1000; i++) {
+            assertTrue(rs.next());
+            assertEquals(i, rs.getInt(1));
+        }
+        assertFalse(rs.next());
+        ResultSet otherRs = connection.createStatement().executeQuery("SELECT 1");
+        assertTrue(otherRs.next());
+    }
+
+    @Test
+    public void reExecuteClosePreviousCursor() throws SQLException {
+        PreparedStatement ps = prepareForwardOnly("SELECT id FROM cursorfetch WHERE id > ? ORDER BY id");
+        ps.setFetchSize(10);
+        ps.setInt(1, 0);
+        ResultSet rs = ps.executeQuery();
+        assertTrue(rs.next());
+
+        ps.setInt(1, 500);
+        ResultSet rs2 = ps.executeQuery();
+        try {
+            while (rs.next()) {
+                //rows already fetched are still readable
+            }
+            fail("Must have thrown an exception, cursor being closed");
+        } catch (SQLException sqle) {
+            assertTrue(sqle.getMessage().contains("cursor has been closed"));
+        }
+        rs.close();
+        int count = 0;
+        while (rs2.next()) {
+            count++;
+        }
+        assertEquals(500, count);
+    }
+
+    @Test
+    public void scrollableWithFetchSize() throws SQLException {
+        PreparedStatement ps = connection.prepareStatement("SELECT id FROM cursorfetch WHERE id > ? ORDER BY id");
+        assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, ps.getResultSetType());
+        ps.setFetchSize(10);
+        ps.setInt(1, 0);
+        ResultSet rs = ps.executeQuery();
+        assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, rs.getType());
+        assertTrue(rs.last());
+        assertEquals(1000, rs.getInt(1));
+        assertTrue(rs.absolute(20));
+        assertEquals(20, rs.getInt(1));
+        assertTrue(rs.previous());
+        assertEquals(19, rs.getInt(1));
+        rs.beforeFirst();
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt(1));
+    }
+
+    @Test
+    public void forwardOnlyWithoutOption() throws SQLException {
+        PreparedStatement ps = sharedConnection.prepareStatement("SELECT id FROM cursorfetch WHERE id > ? ORDER BY id",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(10);
+        ps.setInt(1, 0);
+        ResultSet rs = ps.executeQuery();
+        //useCursorFetch not set : result is read entirely
+        assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, rs.getType());
+        assertTrue(rs.last());
+        assertEquals(1000, rs.getInt(1));
+    }
+
+    @Test
+    public void noResultSetWithFetchSize() throws SQLException {
+        PreparedStatement ps = prepareForwardOnly("UPDATE cursorfetch SET test = test WHERE id = ?");
+        ps.setFetchSize(10);
+        ps.setInt(1, 1);
+        assertEquals(1, ps.executeUpdate());
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.mariadb.jdbc;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LoadDataRowsTest extends BaseTest {
+
+    /**
+     * Initialisation.
+     * @throws SQLException exception
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("loaddatarows", "id int not null primary key, test varchar(100), amount decimal(10,2) null, "
+                + "created datetime null");
+        createTable("loaddatarows2", "id int not null primary key, test varchar(100)");
+        createTable("loaddatarows3", "id int not null primary key, test varchar(100)", "engine=innodb");
+    }
+
+    @Test
+    public void loadRows() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            rows.add(new Object[]{i, (i % 10 == 0) ? null : "val\t\\ue\n" + i, i / 100d,
+                    new Timestamp(1450000000000L + i * 1000L)});
+        }
+        Connection connection = null;
+        try {
+            connection = setConnection();
+            assertEquals(10000, ((MariaDbConnection) connection).loadData("loaddatarows",
+                    new String[]{"id", "test", "amount", "created"}, rows.iterator()));
+            ResultSet rs = connection.createStatement().executeQuery("SELECT id, test, amount, created FROM loaddatarows ORDER BY id");
+            for (int i = 0; i < 10000; i++) {
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(1));
+                if (i % 10 == 0) {
+                    assertNull(rs.getString(2));
+                } else {
+                    assertEquals("val\t\\ue\n" + i, rs.getString(2));
+                }
+                assertEquals(i / 100d, rs.getDouble(3), 0.001);
+                assertEquals(new Timestamp(1450000000000L + i * 1000L), rs.getTimestamp(4));
+            }
+            assertFalse(rs.next());
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void loadRowsWithProducer() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection();
+            MariaDbStatement stmt = (MariaDbStatement) connection.createStatement();
+            int count = stmt.executeLoadData("LOAD DATA LOCAL INFILE 'dummy' INTO TABLE loaddatarows2 CHARACTER SET utf8mb4 (id, test)",
+                    new LoadDataRowProducer() {
+                        @Override
+                        public void produceRows(LoadDataRowWriter writer) throws IOException {
+                            for (int i = 0; i < 500; i++) {
+                                writer.writeRow(i, "é€" + i);
+                            }
+                        }
+                    });
+            assertEquals(500, count);
+            ResultSet rs = stmt.executeQuery("SELECT test FROM loaddatarows2 WHERE id = 499");
+            assertTrue(rs.next());
+            assertEquals("é€499", rs.getString(1));
+
+            //producer is not kept for next command
+            assertEquals(1, stmt.executeUpdate("INSERT INTO loaddatarows2 VALUES (1000, 'a')"));
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void producerError() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection();
+            connection.setAutoCommit(false);
+            try {
+                ((MariaDbConnection) connection).loadData("loaddatarows3", null, new LoadDataRowProducer() {
+                    @Override
+                    public void produceRows(LoadDataRowWriter writer) throws IOException, SQLException {
+                        writer.writeRow(1, "a");
+                        throw new SQLException("producer failure");
+                    }
+                });
+                fail("Must have thrown producer exception");
+            } catch (SQLException sqle) {
+                assertTrue(sqle.getMessage().contains("producer failure"));
+            }
+            connection.rollback();
+            Statement stmt = connection.createStatement();
+            ResultSet rs = stmt.executeQuery("SELECT count(*) FROM loaddatarows3");
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1));
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+}
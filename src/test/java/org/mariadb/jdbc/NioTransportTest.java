@@ -0,0 +1,107 @@
+package org.mariadb.jdbc;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NioTransportTest extends BaseTest {
+
+    /**
+     * Initialisation.
+     * @throws SQLException exception
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("niotransport", "id int not null primary key auto_increment, test longtext");
+    }
+
+    @Test
+    public void simpleQuery() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useNioTransport=true");
+            Statement stmt = connection.createStatement();
+            ResultSet rs = stmt.executeQuery("SELECT 1, 'a'");
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+            assertEquals("a", rs.getString(2));
+            assertFalse(rs.next());
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void multiplePacketsRows() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useNioTransport=true");
+            char[] chars = new char[200000];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('a' + i % 26);
+            }
+            String value = new String(chars);
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO niotransport(test) VALUES (?)");
+            for (int i = 0; i < 10; i++) {
+                ps.setString(1, value.substring(i * 1000));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+
+            ResultSet rs = connection.createStatement().executeQuery("SELECT test FROM niotransport ORDER BY id");
+            for (int i = 0; i < 10; i++) {
+                assertTrue(rs.next());
+                assertEquals(value.substring(i * 1000), rs.getString(1));
+            }
+            assertFalse(rs.next());
+
+            PreparedStatement select = connection.prepareStatement("SELECT id, test FROM niotransport WHERE id > ?");
+            select.setInt(1, 0);
+            rs = select.executeQuery();
+            int count = 0;
+            while (rs.next()) {
+                assertEquals(value.substring(count * 1000), rs.getString(2));
+                count++;
+            }
+            assertEquals(10, count);
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void socketTimeout() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useNioTransport=true&socketTimeout=500");
+            Statement stmt = connection.createStatement();
+            stmt.executeQuery("SELECT 1");
+            try {
+                stmt.executeQuery("SELECT sleep(1)");
+                fail("Must have thrown a timeout error");
+            } catch (SQLException e) {
+                //normal exception
+            }
+            assertTrue(connection.isClosed());
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+}
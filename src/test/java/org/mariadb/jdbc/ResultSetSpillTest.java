@@ -0,0 +1,62 @@
+package org.mariadb.jdbc;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResultSetSpillTest extends BaseTest {
+
+    /**
+     * Initialisation.
+     * @throws SQLException exception
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("resultsetspill", "id int not null primary key auto_increment, test varchar(100)");
+        Statement stmt = sharedConnection.createStatement();
+        StringBuilder sb = new StringBuilder("INSERT INTO resultsetspill(test) VALUES (REPEAT('a', 100))");
+        for (int i = 1; i < 5000; i++) {
+            sb.append(",(REPEAT('a', 100))");
+        }
+        stmt.execute(sb.toString());
+    }
+
+    @Test
+    public void scrollSpilledResult() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&maxResultSetMemory=16384");
+            Statement stmt = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            ResultSet rs = stmt.executeQuery("SELECT id, test FROM resultsetspill ORDER BY id");
+            for (int i = 1; i <= 5000; i++) {
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(1));
+            }
+            assertFalse(rs.next());
+
+            assertTrue(rs.absolute(2500));
+            assertEquals(2500, rs.getInt(1));
+            assertEquals(100, rs.getString(2).length());
+            assertTrue(rs.previous());
+            assertEquals(2499, rs.getInt(1));
+            assertTrue(rs.first());
+            assertEquals(1, rs.getInt(1));
+            assertTrue(rs.last());
+            assertEquals(5000, rs.getInt(1));
+            rs.close();
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+}
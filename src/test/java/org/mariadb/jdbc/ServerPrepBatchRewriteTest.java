@@ -0,0 +1,167 @@
+package org.mariadb.jdbc;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ServerPrepBatchRewriteTest extends BaseTest {
+
+    /**
+     * Initialisation.
+     * @throws SQLException exception
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("serverpreprewrite", "id int not null primary key auto_increment, test varchar(20), other int");
+        createTable("serverpreprewritedup", "id int not null primary key, test varchar(20)");
+    }
+
+    @Test
+    public void rewrittenInsert() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=true&rewriteServerPrepBatchSize=100");
+            connection.createStatement().execute("TRUNCATE serverpreprewrite");
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO serverpreprewrite(test, other) VALUES (?, CONCAT('(', ?, ')'))",
+                    Statement.RETURN_GENERATED_KEYS);
+            assertTrue(ps instanceof MariaDbServerPreparedStatement);
+            //2 batches, to reuse chunk statement, with a remaining part
+            for (int batch = 0; batch < 2; batch++) {
+                for (int i = 0; i < 250; i++) {
+                    ps.setString(1, "v" + i);
+                    ps.setInt(2, i);
+                    ps.addBatch();
+                }
+                int[] updateCounts = ps.executeBatch();
+                assertEquals(250, updateCounts.length);
+                for (int updateCount : updateCounts) {
+                    assertEquals(1, updateCount);
+                }
+                ResultSet keys = ps.getGeneratedKeys();
+                for (int i = 1; i <= 250; i++) {
+                    assertTrue(keys.next());
+                    assertEquals(batch * 250 + i, keys.getInt(1));
+                }
+                assertFalse(keys.next());
+            }
+
+            ResultSet rs = connection.createStatement().executeQuery("SELECT test, other FROM serverpreprewrite ORDER BY id");
+            for (int i = 0; i < 500; i++) {
+                assertTrue(rs.next());
+                assertEquals("v" + (i % 250), rs.getString(1));
+                assertEquals(i % 250, rs.getInt(2));
+            }
+            assertFalse(rs.next());
+            ps.close();
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void onDuplicateKeyUpdate() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=true&rewriteServerPrepBatchSize=10");
+            connection.createStatement().execute("TRUNCATE serverpreprewritedup");
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO serverpreprewritedup(id, test) VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE test = VALUES(test)");
+            for (int i = 0; i < 15; i++) {
+                ps.setInt(1, i % 5);
+                ps.setString(2, "v" + i);
+                ps.addBatch();
+            }
+            int[] updateCounts = ps.executeBatch();
+            assertEquals(15, updateCounts.length);
+            for (int updateCount : updateCounts) {
+                assertEquals(Statement.SUCCESS_NO_INFO, updateCount);
+            }
+            ResultSet rs = connection.createStatement().executeQuery("SELECT id, test FROM serverpreprewritedup ORDER BY id");
+            for (int i = 0; i < 5; i++) {
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(1));
+                assertEquals("v" + (i + 10), rs.getString(2));
+            }
+            assertFalse(rs.next());
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void onDuplicateKeyUpdateSameCount() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=true&rewriteServerPrepBatchSize=10");
+            connection.createStatement().execute("TRUNCATE serverpreprewritedup");
+            connection.createStatement().execute("INSERT INTO serverpreprewritedup(id, test) VALUES (0, 'v0'), (1, 'v1'), "
+                    + "(2, 'v2'), (3, 'v3'), (4, 'v4')");
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO serverpreprewritedup(id, test) VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE test = VALUES(test)", Statement.RETURN_GENERATED_KEYS);
+            //5 unchanged existing rows and 5 new rows : total of affected rows equals the number of parameters sets
+            for (int i = 0; i < 10; i++) {
+                ps.setInt(1, i);
+                ps.setString(2, "v" + i);
+                ps.addBatch();
+            }
+            int[] updateCounts = ps.executeBatch();
+            assertEquals(10, updateCounts.length);
+            for (int updateCount : updateCounts) {
+                assertEquals(Statement.SUCCESS_NO_INFO, updateCount);
+            }
+            ResultSet rs = connection.createStatement().executeQuery("SELECT id, test FROM serverpreprewritedup ORDER BY id");
+            for (int i = 0; i < 10; i++) {
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(1));
+                assertEquals("v" + i, rs.getString(2));
+            }
+            assertFalse(rs.next());
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void rewrittenInsertError() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&useServerPrepStmts=true&rewriteServerPrepBatchSize=10");
+            connection.createStatement().execute("TRUNCATE serverpreprewritedup");
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO serverpreprewritedup(id, test) VALUES (?, ?)");
+            for (int i = 0; i < 25; i++) {
+                //duplicate key in second chunk
+                ps.setInt(1, i == 15 ? 14 : i);
+                ps.setString(2, "v" + i);
+                ps.addBatch();
+            }
+            try {
+                ps.executeBatch();
+                fail("Must have thrown an exception, duplicate key");
+            } catch (BatchUpdateException bue) {
+                assertEquals(10, bue.getUpdateCounts().length);
+            }
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package org.mariadb.jdbc;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingReadAheadTest extends BaseTest {
+
+    /**
+     * Initialisation.
+     * @throws SQLException exception
+     */
+    @BeforeClass()
+    public static void initClass() throws SQLException {
+        createTable("readahead", "id int not null primary key auto_increment, test varchar(20)");
+        Statement stmt = sharedConnection.createStatement();
+        StringBuilder sb = new StringBuilder("INSERT INTO readahead(test) VALUES ('v0')");
+        for (int i = 1; i < 1000; i++) {
+            sb.append(",('v").append(i).append("')");
+        }
+        stmt.execute(sb.toString());
+    }
+
+    @Test
+    public void readAllRows() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&streamingReadAhead=10");
+            Statement stmt = connection.createStatement();
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            ResultSet rs = stmt.executeQuery("SELECT id, test FROM readahead ORDER BY id");
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(rs.next());
+                assertEquals(i + 1, rs.getInt(1));
+                assertEquals("v" + i, rs.getString(2));
+            }
+            assertFalse(rs.next());
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void queryBeforeEnd() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&streamingReadAhead=5");
+            Statement stmt = connection.createStatement();
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            ResultSet rs = stmt.executeQuery("SELECT id FROM readahead ORDER BY id");
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+
+            //remaining rows are skipped
+            ResultSet rs2 = connection.createStatement().executeQuery("SELECT 2");
+            assertTrue(rs2.next());
+            assertEquals(2, rs2.getInt(1));
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    public void multipleResults() throws SQLException {
+        Connection connection = null;
+        try {
+            connection = setConnection("&streamingReadAhead=2&allowMultiQueries=true");
+            Statement stmt = connection.createStatement();
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.execute("SELECT id FROM readahead WHERE id <= 10;SELECT 'b'");
+            ResultSet rs = stmt.getResultSet();
+            int count = 0;
+            while (rs.next()) {
+                count++;
+            }
+            assertEquals(10, count);
+            assertTrue(stmt.getMoreResults());
+            rs = stmt.getResultSet();
+            assertTrue(rs.next());
+            assertEquals("b", rs.getString(1));
+            assertFalse(rs.next());
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.mariadb.jdbc.internal.packet.dao;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
+import org.mariadb.jdbc.internal.util.dao.QueryException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ColumnInformationTest {
+
+    private static void writeString(ByteArrayOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeColumnPacket(ByteArrayOutputStream out, int seq, String table, String name, String orgName,
+                                          int charset, int type, int flags) throws IOException {
+        ByteArrayOutputStream packet = new ByteArrayOutputStream();
+        writeString(packet, "def");
+        writeString(packet, "testdb");
+        writeString(packet, table);
+        writeString(packet, "t_" + table);
+        writeString(packet, name);
+        writeString(packet, orgName);
+        packet.write(0x0c);
+        packet.write(new byte[]{(byte) charset, 0});
+        packet.write(new byte[]{11, 0, 0, 0});
+        packet.write(type);
+        packet.write(new byte[]{(byte) flags, (byte) (flags >> 8)});
+        packet.write(2);
+        packet.write(new byte[]{0, 0});
+        byte[] content = packet.toByteArray();
+        out.write(new byte[]{(byte) content.length, 0, 0, (byte) seq});
+        out.write(content);
+    }
+
+    @Test
+    public void readColumnDefinitions() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writeColumnPacket(stream, 2, "tab", "alias", "id", 63, 3, 32);
+        writeColumnPacket(stream, 3, "tab", "libellé", "libellé", 33, 253, 0);
+        writeColumnPacket(stream, 4, "other", "content", "content", 33, 252, 0);
+
+        ColumnInformation[] columns = ColumnInformation.readColumns(
+                new ReadPacketFetcher(new ByteArrayInputStream(stream.toByteArray())), 3);
+        assertEquals(3, columns.length);
+
+        ColumnInformation id = columns[0];
+        assertEquals(MariaDbType.INTEGER, id.getType());
+        assertEquals(63, id.getCharsetNumber());
+        assertEquals(11, id.getLength());
+        assertEquals(2, id.getDecimals());
+        assertFalse(id.isSigned());
+        assertEquals("alias", id.getName());
+        assertEquals("id", id.getOriginalName());
+        assertEquals("tab", id.getTable());
+        assertEquals("t_tab", id.getOriginalTable());
+        assertEquals("testdb", id.getDb());
+
+        ColumnInformation label = columns[1];
+        assertEquals(MariaDbType.VARSTRING, label.getType());
+        assertEquals(33, label.getCharsetNumber());
+        assertEquals("libellé", label.getName());
+        assertEquals("tab", label.getTable());
+
+        //text blob is reported as varchar
+        ColumnInformation content = columns[2];
+        assertEquals(MariaDbType.VARCHAR, content.getType());
+        assertEquals("content", content.getName());
+        assertEquals("t_other", content.getOriginalTable());
+    }
+
+    @Test
+    public void malformedColumnDefinition() throws Exception {
+        //catalog length announced bigger than packet
+        byte[] stream = new byte[]{3, 0, 0, 2, (byte) 0xfc, (byte) 0xff, (byte) 0xff};
+        try {
+            ColumnInformation.readColumns(new ReadPacketFetcher(new ByteArrayInputStream(stream)), 1);
+            fail("must have thrown an exception, column definition is malformed");
+        } catch (QueryException qe) {
+            assertTrue(qe.getMessage().contains("stream content (hex) = fcffff"));
+        }
+    }
+
+    @Test
+    public void createColumn() throws Exception {
+        ColumnInformation column = ColumnInformation.create("test", MariaDbType.BIGINT);
+        assertEquals(MariaDbType.BIGINT, column.getType());
+        assertEquals("test", column.getName());
+        assertEquals("test", column.getOriginalName());
+        assertTrue(column.isSigned());
+    }
+
+}
@@ -0,0 +1,115 @@
+package org.mariadb.jdbc.internal.packet.dao.parameters;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ParameterWriterTest {
+
+    /**
+     * Write parameter to packet buffer, as text protocol does.
+     */
+    private static byte[] packetValue(ParameterHolder parameter) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream pos = new PacketOutputStream(baos);
+        pos.startPacket(0, false);
+        parameter.writeTo(pos);
+        pos.finishPacket();
+        byte[] bytes = baos.toByteArray();
+        return Arrays.copyOfRange(bytes, 4, bytes.length);
+    }
+
+    /**
+     * Write parameter using generic OutputStream implementation.
+     */
+    private static byte[] streamValue(ParameterHolder parameter) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        parameter.writeTo(baos);
+        return baos.toByteArray();
+    }
+
+    private static void checkString(String value) throws Exception {
+        for (boolean noBackslashEscapes : new boolean[]{false, true}) {
+            StringParameter parameter = new StringParameter(value, noBackslashEscapes);
+            byte[] expected = streamValue(parameter);
+            assertArrayEquals(expected, packetValue(parameter));
+            assertEquals(expected.length, parameter.getApproximateTextProtocolLength());
+        }
+    }
+
+    @Test
+    public void strings() throws Exception {
+        checkString("");
+        checkString("abc");
+        checkString("it's a \"quoted\" \\ text with \0 inside");
+        checkString("éàü ça");
+        checkString("中文 and 日本語");
+        checkString("emoji 😀 and more 👍");
+        checkString("unpaired \ud83d surrogate \ude00");
+    }
+
+    @Test
+    public void longStrings() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append((char) ('a' + i % 26));
+            if (i % 7 == 0) {
+                sb.append('\'');
+            }
+            if (i % 11 == 0) {
+                sb.append("é");
+            }
+            if (i % 13 == 0) {
+                sb.append("😀");
+            }
+        }
+        checkString(sb.toString());
+        //surrogate pair on every possible buffer boundary
+        for (int shift = 0; shift < 4; shift++) {
+            sb.setLength(0);
+            for (int i = 0; i < shift; i++) {
+                sb.append('a');
+            }
+            for (int i = 0; i < 10000; i++) {
+                sb.append("😀");
+            }
+            checkString(sb.toString());
+        }
+    }
+
+    @Test
+    public void byteArrays() throws Exception {
+        byte[] bytes = new byte[5000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        for (boolean noBackslashEscapes : new boolean[]{false, true}) {
+            for (byte[] value : new byte[][]{new byte[0], "a'b\\c\"d".getBytes("UTF-8"), bytes}) {
+                ByteArrayParameter parameter = new ByteArrayParameter(value, noBackslashEscapes);
+                assertArrayEquals(streamValue(parameter), packetValue(parameter));
+            }
+        }
+    }
+
+    @Test
+    public void numbers() throws Exception {
+        long[] values = {0, 1, -1, 9, 10, -10, 99, 100, 12345, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1, 1000000000000000000L};
+        for (long value : values) {
+            LongParameter parameter = new LongParameter(value);
+            byte[] expected = String.valueOf(value).getBytes("UTF-8");
+            assertArrayEquals(expected, packetValue(parameter));
+            assertEquals(expected.length, parameter.getApproximateTextProtocolLength());
+        }
+        assertArrayEquals("-2147483648".getBytes("UTF-8"), packetValue(new IntParameter(Integer.MIN_VALUE)));
+        assertArrayEquals("-32768".getBytes("UTF-8"), packetValue(new ShortParameter(Short.MIN_VALUE)));
+        assertArrayEquals("-128".getBytes("UTF-8"), packetValue(new ByteParameter(Byte.MIN_VALUE)));
+        assertEquals(3, new ByteParameter((byte) 127).getApproximateTextProtocolLength());
+    }
+
+}
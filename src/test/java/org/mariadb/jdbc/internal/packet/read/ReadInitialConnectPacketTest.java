@@ -0,0 +1,63 @@
+package org.mariadb.jdbc.internal.packet.read;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbServerCapabilities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReadInitialConnectPacketTest {
+
+    private static ReadInitialConnectPacket greeting(int capabilities, int extendedCapabilities) throws Exception {
+        ByteArrayOutputStream packet = new ByteArrayOutputStream();
+        packet.write(10);
+        packet.write("5.5.5-10.6.4-MariaDB".getBytes(StandardCharsets.US_ASCII));
+        packet.write(0);
+        packet.write(new byte[]{7, 0, 0, 0}); //thread id
+        packet.write("12345678".getBytes(StandardCharsets.US_ASCII));
+        packet.write(0);
+        packet.write(new byte[]{(byte) capabilities, (byte) (capabilities >> 8)});
+        packet.write(8); //language
+        packet.write(new byte[]{2, 0}); //status
+        packet.write(new byte[]{(byte) (capabilities >> 16), (byte) (capabilities >> 24)});
+        packet.write(21);
+        packet.write(new byte[6]);
+        packet.write(new byte[]{(byte) extendedCapabilities, (byte) (extendedCapabilities >> 8),
+                (byte) (extendedCapabilities >> 16), (byte) (extendedCapabilities >> 24)});
+        packet.write("abcdefghijkl".getBytes(StandardCharsets.US_ASCII));
+        packet.write(0);
+        packet.write("mysql_native_password".getBytes(StandardCharsets.US_ASCII));
+        packet.write(0);
+
+        byte[] content = packet.toByteArray();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(new byte[]{(byte) content.length, 0, 0, 0});
+        stream.write(content);
+        return new ReadInitialConnectPacket(new ReadPacketFetcher(new ByteArrayInputStream(stream.toByteArray())));
+    }
+
+    @Test
+    public void mariaDbExtendedCapabilities() throws Exception {
+        int capabilities = MariaDbServerCapabilities.CLIENT_PROTOCOL_41 | MariaDbServerCapabilities.SECURE_CONNECTION
+                | MariaDbServerCapabilities.PLUGIN_AUTH;
+        ReadInitialConnectPacket packet = greeting(capabilities, (int) (MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA >>> 32));
+        assertEquals("10.6.4-MariaDB", packet.getServerVersion());
+        assertEquals(capabilities | MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA, packet.getServerCapabilities());
+        assertEquals(7, packet.getServerThreadId());
+        assertEquals("12345678abcdefghijkl", new String(packet.getSeed(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void extendedCapabilitiesIgnoredForMySql() throws Exception {
+        int capabilities = MariaDbServerCapabilities.CLIENT_MYSQL | MariaDbServerCapabilities.CLIENT_PROTOCOL_41
+                | MariaDbServerCapabilities.PLUGIN_AUTH;
+        ReadInitialConnectPacket packet = greeting(capabilities, -1);
+        assertEquals(capabilities, packet.getServerCapabilities());
+        assertTrue((packet.getServerCapabilities() & MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA) == 0);
+    }
+
+}
@@ -0,0 +1,144 @@
+package org.mariadb.jdbc.internal.packet.result;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
+import org.mariadb.jdbc.internal.queryresults.MariaDbValueObject;
+import org.mariadb.jdbc.internal.queryresults.RowData;
+import org.mariadb.jdbc.internal.util.DefaultOptions;
+import org.mariadb.jdbc.internal.util.Options;
+import org.mariadb.jdbc.internal.util.constant.HaMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RowPacketTest {
+    private static final Options options = DefaultOptions.defaultValues(HaMode.NONE);
+    private static final ColumnInformation[] columns = new ColumnInformation[]{
+            ColumnInformation.create("id", MariaDbType.INTEGER),
+            ColumnInformation.create("name", MariaDbType.VARCHAR),
+            ColumnInformation.create("other", MariaDbType.VARCHAR),
+            ColumnInformation.create("big", MariaDbType.BIGINT)
+    };
+
+    private static ByteBuffer buffer(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static MariaDbValueObject value(RowData row, int index, boolean binary) {
+        return new MariaDbValueObject(row.buf, row.getOffset(index), row.getLength(index), columns[index], binary, options);
+    }
+
+    @Test
+    public void textRow() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(3);
+        baos.write("123".getBytes(StandardCharsets.UTF_8));
+        byte[] name = "éa".getBytes(StandardCharsets.UTF_8);
+        baos.write(name.length);
+        baos.write(name);
+        baos.write(0xfb);
+        baos.write(2);
+        baos.write("-5".getBytes(StandardCharsets.UTF_8));
+
+        RowData row = new TextRowPacket(columns, columns.length).getRow(null, buffer(baos.toByteArray()));
+        assertEquals(123, value(row, 0, false).getInt());
+        assertEquals("éa", value(row, 1, false).getString());
+        assertTrue(value(row, 2, false).isNull());
+        assertNull(value(row, 2, false).getBytes());
+        assertEquals(-5L, value(row, 3, false).getLong());
+    }
+
+    @Test
+    public void binaryRow() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(0); //header
+        baos.write(1 << 4); //null bitmap : third column is null
+        baos.write(new byte[]{(byte) 0xfe, (byte) 0xff, (byte) 0xff, (byte) 0xff}); // -2
+        baos.write(3);
+        baos.write("abc".getBytes(StandardCharsets.UTF_8));
+        baos.write(new byte[]{1, 0, 0, 0, 0, 0, 0, 1});
+
+        RowData row = new BinaryRowPacket(columns, columns.length).getRow(null, buffer(baos.toByteArray()));
+        assertEquals(-2, value(row, 0, true).getInt());
+        assertEquals("abc", value(row, 1, true).getString());
+        assertTrue(value(row, 2, true).isNull());
+        assertEquals(0x0100000000000001L, value(row, 3, true).getLong());
+    }
+
+    @Test
+    public void multiPacketRow() throws Exception {
+        byte[] big = new byte[0xffffff + 10];
+        Arrays.fill(big, (byte) 'a');
+
+        ByteArrayOutputStream row = new ByteArrayOutputStream();
+        row.write(1);
+        row.write('1');
+        row.write(0xfe);
+        row.write(new byte[]{(byte) big.length, (byte) (big.length >> 8), (byte) (big.length >> 16), (byte) (big.length >> 24),
+                0, 0, 0, 0});
+        row.write(big);
+        row.write(0xfb);
+        row.write(1);
+        row.write('2');
+        byte[] rowBytes = row.toByteArray();
+
+        //first packet is read by caller, following packets are read from fetcher
+        ByteArrayOutputStream next = new ByteArrayOutputStream();
+        int remaining = rowBytes.length - 0xffffff;
+        next.write(new byte[]{(byte) remaining, (byte) (remaining >> 8), (byte) (remaining >> 16), 2});
+        next.write(rowBytes, 0xffffff, remaining);
+        ReadPacketFetcher fetcher = new ReadPacketFetcher(new ByteArrayInputStream(next.toByteArray()));
+
+        RowData rowData = new TextRowPacket(columns, columns.length)
+                .getRow(fetcher, buffer(Arrays.copyOf(rowBytes, 0xffffff)));
+        assertEquals(1, value(rowData, 0, false).getInt());
+        assertArrayEquals(big, value(rowData, 1, false).getBytes());
+        assertTrue(value(rowData, 2, false).isNull());
+        assertEquals(2, value(rowData, 3, false).getInt());
+    }
+
+    @Test
+    public void rowOfExactlyTwoPackets() throws Exception {
+        //row content is 2 * 0xffffff bytes : a third empty packet ends row.
+        byte[] big = new byte[2 * 0xffffff - 13];
+        for (int i = 0; i < big.length; i++) {
+            big[i] = (byte) i;
+        }
+        ByteArrayOutputStream row = new ByteArrayOutputStream();
+        row.write(1);
+        row.write('1');
+        row.write(0xfe);
+        row.write(new byte[]{(byte) big.length, (byte) (big.length >> 8), (byte) (big.length >> 16), (byte) (big.length >> 24),
+                0, 0, 0, 0});
+        row.write(big);
+        row.write(0xfb);
+        row.write(0xfb);
+        byte[] rowBytes = row.toByteArray();
+        assertEquals(2 * 0xffffff, rowBytes.length);
+
+        ByteArrayOutputStream next = new ByteArrayOutputStream();
+        next.write(new byte[]{(byte) 0xff, (byte) 0xff, (byte) 0xff, 2});
+        next.write(rowBytes, 0xffffff, 0xffffff);
+        next.write(new byte[]{0, 0, 0, 3});
+        ReadPacketFetcher fetcher = new ReadPacketFetcher(new ByteArrayInputStream(next.toByteArray()));
+
+        RowData rowData = new TextRowPacket(columns, columns.length)
+                .getRow(fetcher, buffer(Arrays.copyOf(rowBytes, 0xffffff)));
+        assertEquals(1, value(rowData, 0, false).getInt());
+        assertArrayEquals(big, value(rowData, 1, false).getBytes());
+        assertTrue(value(rowData, 2, false).isNull());
+        assertTrue(value(rowData, 3, false).isNull());
+    }
+
+}
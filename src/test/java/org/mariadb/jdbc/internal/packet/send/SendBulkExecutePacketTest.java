@@ -0,0 +1,168 @@
+package org.mariadb.jdbc.internal.packet.send;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.parameters.IntParameter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.NullParameter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.packet.dao.parameters.StringParameter;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SendBulkExecutePacketTest {
+
+    /**
+     * Stand-in server side : decode COM_STMT_BULK_EXECUTE commands.
+     */
+    private static class BulkCommand {
+        int statementId;
+        MariaDbType[] types;
+        List<Object[]> rows = new ArrayList<>();
+        int length;
+
+        static List<BulkCommand> read(byte[] bytes, int parameterCount) {
+            List<BulkCommand> commands = new ArrayList<>();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) {
+                int length = (buffer.get() & 0xff) + ((buffer.get() & 0xff) << 8) + ((buffer.get() & 0xff) << 16);
+                assertEquals(0, buffer.get()); //sequence
+                int end = buffer.position() + length;
+                BulkCommand command = new BulkCommand();
+                command.length = length;
+                assertEquals(SendBulkExecutePacket.COM_STMT_BULK_EXECUTE, buffer.get());
+                command.statementId = buffer.getInt();
+                assertEquals(SendBulkExecutePacket.SEND_TYPES_TO_SERVER, buffer.getShort());
+                command.types = new MariaDbType[parameterCount];
+                for (int i = 0; i < parameterCount; i++) {
+                    command.types[i] = MariaDbType.fromServer(buffer.get() & 0xff);
+                    assertEquals(0, buffer.get()); //flag
+                }
+                while (buffer.position() < end) {
+                    Object[] row = new Object[parameterCount];
+                    for (int i = 0; i < parameterCount; i++) {
+                        if (buffer.get() == SendBulkExecutePacket.INDICATOR_NULL) {
+                            continue;
+                        }
+                        if (command.types[i] == MariaDbType.INTEGER) {
+                            row[i] = buffer.getInt();
+                        } else {
+                            byte[] value = new byte[buffer.get() & 0xff];
+                            buffer.get(value);
+                            row[i] = new String(value, StandardCharsets.UTF_8);
+                        }
+                    }
+                    command.rows.add(row);
+                }
+                commands.add(command);
+            }
+            return commands;
+        }
+    }
+
+    private static ParameterHolder[] row(ParameterHolder... parameters) {
+        return parameters;
+    }
+
+    private static List<BulkCommand> sendAll(List<ParameterHolder[]> parametersList, int maxAllowedPacket) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.setMaxAllowedPacket(maxAllowedPacket);
+        int offset = 0;
+        while (offset < parametersList.size()) {
+            int sent = new SendBulkExecutePacket(42, parametersList, offset, 2, new MariaDbType[2]).send(writer);
+            assertTrue(sent > 0);
+            offset += sent;
+        }
+        return BulkCommand.read(baos.toByteArray(), 2);
+    }
+
+    @Test
+    public void allSetsInOneCommand() throws Exception {
+        List<ParameterHolder[]> parametersList = new ArrayList<>();
+        parametersList.add(row(new IntParameter(1), new StringParameter("a", false)));
+        parametersList.add(row(new IntParameter(2), new NullParameter()));
+        parametersList.add(row(new NullParameter(MariaDbType.INTEGER), new StringParameter("ccc", false)));
+
+        List<BulkCommand> commands = sendAll(parametersList, 1024 * 1024);
+        assertEquals(1, commands.size());
+        BulkCommand command = commands.get(0);
+        assertEquals(42, command.statementId);
+        assertEquals(MariaDbType.INTEGER, command.types[0]);
+        assertEquals(MariaDbType.VARCHAR, command.types[1]);
+        assertEquals(3, command.rows.size());
+        assertEquals(1, command.rows.get(0)[0]);
+        assertEquals("a", command.rows.get(0)[1]);
+        assertEquals(2, command.rows.get(1)[0]);
+        assertNull(command.rows.get(1)[1]);
+        assertNull(command.rows.get(2)[0]);
+        assertEquals("ccc", command.rows.get(2)[1]);
+    }
+
+    @Test
+    public void nullFirstSetUseFollowingType() throws Exception {
+        List<ParameterHolder[]> parametersList = new ArrayList<>();
+        parametersList.add(row(new NullParameter(), new NullParameter()));
+        parametersList.add(row(new NullParameter(), new StringParameter("b", false)));
+        parametersList.add(row(new IntParameter(3), new StringParameter("c", false)));
+
+        List<BulkCommand> commands = sendAll(parametersList, 1024 * 1024);
+        assertEquals(1, commands.size());
+        assertEquals(MariaDbType.INTEGER, commands.get(0).types[0]);
+        assertEquals(MariaDbType.VARCHAR, commands.get(0).types[1]);
+        assertEquals(3, commands.get(0).rows.size());
+        assertEquals(3, commands.get(0).rows.get(2)[0]);
+    }
+
+    @Test
+    public void splitOnTypeChange() throws Exception {
+        List<ParameterHolder[]> parametersList = new ArrayList<>();
+        parametersList.add(row(new IntParameter(1), new StringParameter("a", false)));
+        parametersList.add(row(new IntParameter(2), new StringParameter("b", false)));
+        parametersList.add(row(new StringParameter("3", false), new StringParameter("c", false)));
+        parametersList.add(row(new StringParameter("4", false), new StringParameter("d", false)));
+
+        List<BulkCommand> commands = sendAll(parametersList, 1024 * 1024);
+        assertEquals(2, commands.size());
+        assertEquals(MariaDbType.INTEGER, commands.get(0).types[0]);
+        assertEquals(2, commands.get(0).rows.size());
+        assertEquals(MariaDbType.VARCHAR, commands.get(1).types[0]);
+        assertEquals(2, commands.get(1).rows.size());
+        assertEquals("4", commands.get(1).rows.get(1)[0]);
+    }
+
+    @Test
+    public void splitOnMaxAllowedPacket() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append('x');
+        }
+        List<ParameterHolder[]> parametersList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            parametersList.add(row(new IntParameter(i), new StringParameter(sb.toString() + i, false)));
+        }
+
+        List<BulkCommand> commands = sendAll(parametersList, 4096);
+        assertTrue(commands.size() > 1);
+        int index = 0;
+        for (BulkCommand command : commands) {
+            assertTrue(command.length < 4096);
+            for (Object[] row : command.rows) {
+                assertEquals(index, row[0]);
+                assertEquals(sb.toString() + index, row[1]);
+                index++;
+            }
+        }
+        assertEquals(1000, index);
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.mariadb.jdbc.internal.packet.send;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbServerCapabilities;
+import org.mariadb.jdbc.internal.stream.PacketOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.assertEquals;
+
+public class SendSslConnectionRequestPacketTest {
+
+    @Test
+    public void extendedCapabilities() throws Exception {
+        long capabilities = MariaDbServerCapabilities.CLIENT_PROTOCOL_41 | MariaDbServerCapabilities.SSL
+                | MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new SendSslConnectionRequestPacket(capabilities, (byte) 33).send(new PacketOutputStream(baos));
+
+        ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        //header : 32 bytes packet, sequence 1
+        assertEquals(32 + (1 << 24), buffer.getInt());
+        assertEquals((int) capabilities, buffer.getInt());
+        assertEquals(1024 * 1024 * 1024, buffer.getInt());
+        assertEquals(33, buffer.get());
+        for (int i = 0; i < 19; i++) {
+            assertEquals(0, buffer.get());
+        }
+        assertEquals((int) (capabilities >>> 32), buffer.getInt());
+        assertEquals(0, buffer.remaining());
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.mariadb.jdbc.internal.queryresults;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ColumnLabelIndexTest {
+
+    private static ColumnInformation[] columns(String... names) {
+        ColumnInformation[] columns = new ColumnInformation[names.length];
+        for (int i = 0; i < names.length; i++) {
+            columns[i] = ColumnInformation.create(names[i], MariaDbType.VARCHAR);
+        }
+        return columns;
+    }
+
+    @Test
+    public void caseInsensitiveLookup() {
+        ColumnLabelIndex index = ColumnLabelIndex.get(columns("id", "Name", "CREATED_AT", "name"));
+        assertEquals(0, index.indexOf("id"));
+        assertEquals(0, index.indexOf("ID"));
+        assertEquals(1, index.indexOf("name"));
+        assertEquals(1, index.indexOf("NAME"));
+        assertEquals(2, index.indexOf("created_at"));
+        assertEquals(-1, index.indexOf("unknown"));
+        assertEquals(-1, index.indexOf(null));
+    }
+
+    @Test
+    public void manyColumns() {
+        String[] names = new String[200];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "col" + i;
+        }
+        ColumnLabelIndex index = ColumnLabelIndex.get(columns(names));
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(i, index.indexOf("COL" + i));
+        }
+    }
+
+    @Test
+    public void sharedBetweenIdenticalDefinitions() {
+        ColumnInformation[] columns = columns("a", "b");
+        ColumnLabelIndex index = ColumnLabelIndex.get(columns);
+        assertSame(index, ColumnLabelIndex.get(columns));
+        assertSame(index, ColumnLabelIndex.get(columns("a", "b")));
+    }
+
+}
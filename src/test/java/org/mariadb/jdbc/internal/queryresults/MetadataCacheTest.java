@@ -0,0 +1,167 @@
+package org.mariadb.jdbc.internal.queryresults;
+
+import org.junit.Test;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
+import org.mariadb.jdbc.internal.packet.read.ReadPacketFetcher;
+import org.mariadb.jdbc.internal.packet.result.ResultSetPacket;
+import org.mariadb.jdbc.internal.protocol.MasterProtocol;
+import org.mariadb.jdbc.internal.util.dao.PrepareResult;
+import org.mariadb.jdbc.internal.util.constant.ServerStatus;
+import org.mariadb.jdbc.internal.util.dao.QueryException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MetadataCacheTest {
+
+    private static ResultSetPacket resultSetPacket(byte... content) throws IOException {
+        return new ResultSetPacket(ByteBuffer.wrap(content).order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    private static PrepareResult prepareResult() {
+        return new PrepareResult(1, new ColumnInformation[]{
+                ColumnInformation.create("id", MariaDbType.INTEGER),
+                ColumnInformation.create("test", MariaDbType.VARCHAR)}, new ColumnInformation[0]);
+    }
+
+    private static void writeColumnPacket(ByteArrayOutputStream out, int seq, String name, int type) throws IOException {
+        ByteArrayOutputStream packet = new ByteArrayOutputStream();
+        for (String value : new String[]{"def", "testdb", "tab", "tab", name, name}) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            packet.write(bytes.length);
+            packet.write(bytes);
+        }
+        packet.write(new byte[]{0x0c, 63, 0, 20, 0, 0, 0, (byte) type, 0, 0, 0, 0, 0});
+        byte[] content = packet.toByteArray();
+        out.write(new byte[]{(byte) content.length, 0, 0, (byte) seq});
+        out.write(content);
+    }
+
+    private static void writePacket(ByteArrayOutputStream out, int seq, byte... content) throws IOException {
+        out.write(new byte[]{(byte) content.length, 0, 0, (byte) seq});
+        out.write(content);
+    }
+
+    private static void writeEof(ByteArrayOutputStream out, int seq, int warningCount, int status) throws IOException {
+        writePacket(out, seq, (byte) 0xfe, (byte) warningCount, (byte) 0, (byte) status, (byte) 0);
+    }
+
+    private static MasterProtocol protocol() throws Exception {
+        return new MasterProtocol(UrlParser.parse("jdbc:mariadb://localhost/test"), new ReentrantLock());
+    }
+
+    @Test
+    public void metadataSkipped() throws Exception {
+        ResultSetPacket packet = resultSetPacket((byte) 2, (byte) 0);
+        assertEquals(2, packet.getFieldCount());
+        assertFalse(packet.isMetadataFollows());
+
+        PrepareResult prepareResult = prepareResult();
+        ColumnInformation[] cached = prepareResult.getColumns();
+        //nothing must be read from stream
+        ReadPacketFetcher fetcher = new ReadPacketFetcher(new ByteArrayInputStream(new byte[0]));
+        assertSame(cached, StreamingSelectResult.readColumnInformation(packet, fetcher, prepareResult));
+    }
+
+    @Test
+    public void metadataSkippedWithoutCache() throws Exception {
+        ReadPacketFetcher fetcher = new ReadPacketFetcher(new ByteArrayInputStream(new byte[0]));
+        try {
+            StreamingSelectResult.readColumnInformation(resultSetPacket((byte) 2, (byte) 0), fetcher, null);
+            fail("must have thrown an exception, no metadata being cached");
+        } catch (QueryException qe) {
+            assertTrue(qe.getMessage().contains("skipped result-set metadata"));
+        }
+        try {
+            StreamingSelectResult.readColumnInformation(resultSetPacket((byte) 3, (byte) 0), fetcher, prepareResult());
+            fail("must have thrown an exception, cached metadata doesn't correspond");
+        } catch (QueryException qe) {
+            assertTrue(qe.getMessage().contains("skipped result-set metadata"));
+        }
+    }
+
+    @Test
+    public void metadataFollowsUpdateCache() throws Exception {
+        ResultSetPacket packet = resultSetPacket((byte) 2, (byte) 1);
+        assertTrue(packet.isMetadataFollows());
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writeColumnPacket(stream, 2, "id", 8);
+        writeColumnPacket(stream, 3, "other", 3);
+        PrepareResult prepareResult = prepareResult();
+        ColumnInformation[] columns = StreamingSelectResult.readColumnInformation(packet,
+                new ReadPacketFetcher(new ByteArrayInputStream(stream.toByteArray())), prepareResult);
+
+        assertEquals(2, columns.length);
+        assertEquals(MariaDbType.BIGINT, columns[0].getType());
+        assertEquals("other", columns[1].getName());
+        assertSame(columns, prepareResult.getColumns());
+    }
+
+    @Test
+    public void metadataSkippedStreamingReadsEof() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writeEof(stream, 2, 0, 0);
+        writePacket(stream, 3, (byte) 1, (byte) '5', (byte) 1, (byte) 'a');
+        writeEof(stream, 4, 0, 0);
+        ReadPacketFetcher fetcher = new ReadPacketFetcher(new ByteArrayInputStream(stream.toByteArray()));
+
+        StreamingSelectResult result = StreamingSelectResult.createStreamingSelectResult(
+                resultSetPacket((byte) 2, (byte) 0), fetcher, protocol(), false, prepareResult());
+        assertTrue(result.next());
+        assertEquals(5, result.getValueObject(0).getInt());
+        assertEquals("a", result.getValueObject(1).getString());
+        assertFalse(result.next());
+    }
+
+    @Test
+    public void metadataSkippedCursorReadsEof() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writeEof(stream, 2, 1, ServerStatus.CURSOR_EXISTS);
+        ByteArrayInputStream input = new ByteArrayInputStream(stream.toByteArray());
+        ReadPacketFetcher fetcher = new ReadPacketFetcher(input);
+
+        SelectQueryResult result = CursorSelectResult.createCursorSelectResult(
+                resultSetPacket((byte) 2, (byte) 0), fetcher, protocol(), 1, 10, prepareResult());
+        assertTrue(result instanceof CursorSelectResult);
+        assertEquals(1, result.getWarnings());
+        //EOF packet has been read
+        assertEquals(0, input.available());
+    }
+
+    @Test
+    public void metadataSkippedWithoutCursorReadsEof() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writeEof(stream, 2, 0, 0);
+        writePacket(stream, 3, (byte) 0, (byte) 0, (byte) 5, (byte) 0, (byte) 0, (byte) 0, (byte) 1, (byte) 'a');
+        writeEof(stream, 4, 0, 0);
+        ReadPacketFetcher fetcher = new ReadPacketFetcher(new ByteArrayInputStream(stream.toByteArray()));
+
+        SelectQueryResult result = CursorSelectResult.createCursorSelectResult(
+                resultSetPacket((byte) 2, (byte) 0), fetcher, protocol(), 1, 10, prepareResult());
+        assertTrue(result instanceof CachedSelectResult);
+        assertTrue(result.next());
+        assertEquals(5, result.getValueObject(0).getInt());
+        assertEquals("a", result.getValueObject(1).getString());
+        assertFalse(result.next());
+    }
+
+    @Test
+    public void resultSetPacketWithoutMetadataFlag() throws Exception {
+        assertTrue(resultSetPacket((byte) 5).isMetadataFollows());
+    }
+
+}
@@ -0,0 +1,124 @@
+package org.mariadb.jdbc.internal.queryresults;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
+import org.mariadb.jdbc.internal.util.DefaultOptions;
+import org.mariadb.jdbc.internal.util.Options;
+import org.mariadb.jdbc.internal.util.constant.HaMode;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ReusableValueObjectTest {
+    private static final Options options = DefaultOptions.defaultValues(HaMode.NONE);
+    private static final int ROWS = 10000;
+
+    private static ColumnInformation[] columns() {
+        return new ColumnInformation[]{
+                ColumnInformation.create("id", MariaDbType.INTEGER),
+                ColumnInformation.create("amount", MariaDbType.BIGINT),
+                ColumnInformation.create("label", MariaDbType.VARCHAR)
+        };
+    }
+
+    private static CachedSelectResult textResult() {
+        List<RowData> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(RowData.create(new byte[][]{
+                    String.valueOf(i).getBytes(StandardCharsets.UTF_8),
+                    String.valueOf(-1000000000000L * i).getBytes(StandardCharsets.UTF_8),
+                    (i % 2 == 0) ? null : "abc".getBytes(StandardCharsets.UTF_8)}));
+        }
+        return new CachedSelectResult(columns(), rows, (short) 0, false, options);
+    }
+
+    private static CachedSelectResult binaryResult() {
+        List<RowData> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            long amount = -1000000000000L * i;
+            rows.add(RowData.create(new byte[][]{
+                    new byte[]{(byte) i, (byte) (i >> 8), (byte) (i >> 16), (byte) (i >> 24)},
+                    new byte[]{(byte) amount, (byte) (amount >> 8), (byte) (amount >> 16), (byte) (amount >> 24),
+                            (byte) (amount >> 32), (byte) (amount >> 40), (byte) (amount >> 48), (byte) (amount >> 56)},
+                    (i % 2 == 0) ? null : "abc".getBytes(StandardCharsets.UTF_8)}));
+        }
+        return new CachedSelectResult(columns(), rows, (short) 0, true, options);
+    }
+
+    private static long readAll(SelectQueryResult result) throws Exception {
+        long sum = 0;
+        int row = 0;
+        while (result.next()) {
+            ValueObject id = result.getReusableValueObject(0);
+            assertEquals(row, id.getInt());
+            ValueObject amount = result.getReusableValueObject(1);
+            assertSame(id, amount);
+            long amountValue = amount.getLong();
+            assertEquals(-1000000000000L * row, amountValue);
+            assertEquals(row % 2 == 0, result.getReusableValueObject(2).isNull());
+            sum += amountValue;
+            row++;
+        }
+        assertEquals(ROWS, row);
+        return sum;
+    }
+
+    @Test
+    public void textDecoding() throws Exception {
+        readAll(textResult());
+    }
+
+    @Test
+    public void binaryDecoding() throws Exception {
+        readAll(binaryResult());
+    }
+
+    @Test
+    public void reusableValueObjectIsNotSharedWithValueObject() throws Exception {
+        CachedSelectResult result = textResult();
+        assertTrue(result.next());
+        assertTrue(result.next());
+        ValueObject label = result.getValueObject(2);
+        result.getReusableValueObject(0);
+        assertFalse(label.isNull());
+        assertEquals("abc", label.getString());
+    }
+
+    @Test
+    public void primitiveGettersDoNotAllocatePerRow() throws Exception {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        CachedSelectResult text = textResult();
+        CachedSelectResult binary = binaryResult();
+        //warm up, so reusable value objects exist before measure.
+        for (int i = 0; i < 3; i++) {
+            readAll(text);
+            text.moveRowPointerTo(-1);
+            readAll(binary);
+            binary.moveRowPointerTo(-1);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        readAll(text);
+        readAll(binary);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        //a value object per column would represent more than 40 bytes * 3 columns * 2 * ROWS.
+        assertTrue("allocated " + allocated + " bytes for " + (2 * ROWS) + " rows", allocated < 4 * ROWS);
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.mariadb.jdbc.internal.queryresults;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class RowDataStoreTest {
+
+    private static byte[][] values(int rowNumber) {
+        if (rowNumber == 500) {
+            //bigger than chunk size
+            byte[] big = new byte[3 * 1024 * 1024];
+            Arrays.fill(big, (byte) 'b');
+            return new byte[][]{big, null, new byte[0]};
+        }
+        return new byte[][]{
+                ("value" + rowNumber).getBytes(StandardCharsets.UTF_8),
+                (rowNumber % 3 == 0) ? null : String.valueOf(rowNumber).getBytes(StandardCharsets.UTF_8),
+                new byte[0]};
+    }
+
+    private static void assertRow(int rowNumber, RowData row) {
+        byte[][] expected = values(rowNumber);
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] == null) {
+                assertEquals(RowData.NULL_LENGTH, row.getLength(i));
+            } else {
+                assertArrayEquals(expected[i],
+                        Arrays.copyOfRange(row.buf, row.getOffset(i), row.getOffset(i) + row.getLength(i)));
+            }
+        }
+    }
+
+    @Test
+    public void randomAccess() throws Exception {
+        RowDataStore store = new RowDataStore(3);
+        for (int i = 0; i < 100000; i++) {
+            store.add(RowData.create(values(i)));
+        }
+        assertEquals(100000, store.size());
+        assertRow(99999, store.get(99999));
+        assertRow(500, store.get(500));
+        for (int i = 0; i < 100000; i += 7) {
+            assertRow(i, store.get(i));
+        }
+        assertRow(0, store.get(0));
+    }
+
+    @Test
+    public void rowWithOffset() throws Exception {
+        byte[] buf = "xxabcyyde".getBytes(StandardCharsets.UTF_8);
+        RowDataStore store = new RowDataStore(3);
+        store.add(new RowData(buf, new int[]{2, 3, 0, RowData.NULL_LENGTH, 7, 2}));
+        store.add(new RowData(buf, new int[]{0, RowData.NULL_LENGTH, 0, RowData.NULL_LENGTH, 0, RowData.NULL_LENGTH}));
+
+        RowData row = store.get(0);
+        assertEquals("abc", new String(row.buf, row.getOffset(0), row.getLength(0), StandardCharsets.UTF_8));
+        assertEquals(RowData.NULL_LENGTH, row.getLength(1));
+        assertEquals("de", new String(row.buf, row.getOffset(2), row.getLength(2), StandardCharsets.UTF_8));
+
+        row = store.get(1);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(RowData.NULL_LENGTH, row.getLength(i));
+        }
+    }
+
+    @Test
+    public void spillToFile() throws Exception {
+        RowDataStore store = new RowDataStore(3, 64 * 1024);
+        for (int i = 0; i < 100000; i++) {
+            store.add(RowData.create(values(i)));
+        }
+        assertEquals(100000, store.size());
+        for (int i = 99999; i >= 0; i -= 3) {
+            assertRow(i, store.get(i));
+        }
+        assertRow(500, store.get(500));
+        assertRow(501, store.get(501));
+
+        store.clear();
+        assertEquals(0, store.size());
+        for (int i = 0; i < 20000; i++) {
+            store.add(RowData.create(values(i)));
+        }
+        for (int i = 0; i < 20000; i += 11) {
+            assertRow(i, store.get(i));
+        }
+        store.close();
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.mariadb.jdbc.internal.queryresults;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbType;
+import org.mariadb.jdbc.internal.packet.dao.ColumnInformation;
+import org.mariadb.jdbc.internal.util.DefaultOptions;
+import org.mariadb.jdbc.internal.util.Options;
+import org.mariadb.jdbc.internal.util.constant.HaMode;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TextNumberParsingTest {
+    private static final Options options = DefaultOptions.defaultValues(HaMode.NONE);
+
+    private static MariaDbValueObject value(String text, MariaDbType type) {
+        //value is placed in a bigger buffer, to check that offset and length are used
+        byte[] bytes = ("xx" + text + "yy").getBytes(StandardCharsets.UTF_8);
+        return new MariaDbValueObject(bytes, 2, bytes.length - 4, ColumnInformation.create("test", type), false, options);
+    }
+
+    @Test
+    public void integers() throws SQLException {
+        String[] values = {"0", "1", "-1", "127", "-128", "2147483647", "-2147483648", "9223372036854775807",
+                "-9223372036854775808", "000123", "1.000", "-5.0"};
+        for (String text : values) {
+            long expected = Long.parseLong(text.contains(".") ? text.substring(0, text.indexOf('.')) : text);
+            assertEquals(text, expected, value(text, MariaDbType.BIGINT).getLong());
+            if (expected >= Integer.MIN_VALUE && expected <= Integer.MAX_VALUE) {
+                assertEquals(text, (int) expected, value(text, MariaDbType.INTEGER).getInt());
+            }
+            if (expected >= Short.MIN_VALUE && expected <= Short.MAX_VALUE) {
+                assertEquals(text, (short) expected, value(text, MariaDbType.SMALLINT).getShort());
+            }
+            if (expected >= Byte.MIN_VALUE && expected <= Byte.MAX_VALUE) {
+                assertEquals(text, (byte) expected, value(text, MariaDbType.TINYINT).getByte());
+            }
+        }
+    }
+
+    @Test
+    public void integerOutOfRange() {
+        String[][] values = {{"128", "TINYINT"}, {"2147483648", "INTEGER"}, {"9223372036854775808", "BIGINT"},
+                {"-9223372036854775809", "BIGINT"}, {"1.5", "INTEGER"}, {"12a", "BIGINT"}};
+        for (String[] value : values) {
+            MariaDbValueObject valueObject = value(value[0], MariaDbType.valueOf(value[1]));
+            try {
+                if ("TINYINT".equals(value[1])) {
+                    valueObject.getByte();
+                } else if ("INTEGER".equals(value[1])) {
+                    valueObject.getInt();
+                } else {
+                    valueObject.getLong();
+                }
+                fail("must have thrown exception for " + value[0]);
+            } catch (SQLException sqle) {
+                assertTrue(sqle.getMessage().contains("Out of range value"));
+                assertEquals("22003", sqle.getSQLState());
+            }
+        }
+    }
+
+    @Test
+    public void decimals() throws SQLException {
+        String[] values = {"0", "1.5", "-1.5", "0.1", "123.456", "-0.000001", "3.14159265358979", "12345678901234567.8",
+                "99999999999999999999.99", "1e10", "-0", "-0.0", "0.00000000000000000000001", "4.35"};
+        for (String text : values) {
+            assertEquals(text, Double.valueOf(text), value(text, MariaDbType.DOUBLE).getDouble(), 0d);
+            assertEquals(text, Double.doubleToLongBits(Double.valueOf(text)),
+                    Double.doubleToLongBits(value(text, MariaDbType.DECIMAL).getDouble()));
+            assertEquals(text, Float.floatToIntBits(Float.valueOf(text)),
+                    Float.floatToIntBits(value(text, MariaDbType.FLOAT).getFloat()));
+            if (!text.contains("e")) {
+                BigDecimal expected = new BigDecimal(text);
+                BigDecimal decoded = value(text, MariaDbType.DECIMAL).getBigDecimal();
+                assertEquals(text, expected, decoded);
+                assertEquals(text, expected.scale(), decoded.scale());
+            }
+        }
+    }
+
+    @Test
+    public void bigIntegers() throws SQLException {
+        String[] values = {"0", "-42", "9223372036854775807", "18446744073709551615"};
+        for (String text : values) {
+            assertEquals(text, new BigInteger(text), value(text, MariaDbType.BIGINT).getBigInteger());
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.Test;
+import org.mariadb.jdbc.CompressionStatistics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompressionPolicyTest {
+
+    private static byte[] command(int command, int length, boolean compressible) {
+        byte[] bytes = new byte[length];
+        if (compressible) {
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) ('a' + (i % 7));
+            }
+        } else {
+            new Random(length).nextBytes(bytes);
+        }
+        bytes[0] = (byte) command;
+        return bytes;
+    }
+
+    private static void send(PacketOutputStream writer, byte[] command) throws Exception {
+        writer.startPacket(0);
+        writer.write(command);
+        writer.finishPacket();
+    }
+
+    @Test
+    public void threshold() throws Exception {
+        CompressionPolicy policy = new CompressionPolicy(6, 1000, 90, false);
+        assertFalse(policy.mustCompress(3, 1000));
+        assertTrue(policy.mustCompress(3, 1001));
+        assertEquals(1, policy.getUncompressedPackets());
+        assertEquals(900, policy.maxCompressedLength(1000));
+    }
+
+    @Test
+    public void skipIncompressibleClass() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        CompressionPolicy policy = new CompressionPolicy(6, 100, 90, true);
+        writer.setCompressionPolicy(policy);
+        writer.setUseCompression(true);
+
+        //long data (0x18) commands contain already compressed data
+        for (int i = 0; i < 3; i++) {
+            send(writer, command(0x18, 20000, false));
+        }
+        assertEquals(3, policy.getIncompressiblePackets());
+        for (int i = 0; i < 31; i++) {
+            send(writer, command(0x18, 20000, false));
+        }
+        assertEquals(3, policy.getIncompressiblePackets());
+        assertEquals(31, policy.getSkippedPackets());
+
+        //other commands are still compressed
+        send(writer, command(0x03, 20000, true));
+        assertEquals(1, policy.getCompressedPackets());
+
+        //class is checked again periodically
+        send(writer, command(0x18, 20000, true));
+        assertEquals(2, policy.getCompressedPackets());
+        send(writer, command(0x18, 20000, true));
+        assertEquals(3, policy.getCompressedPackets());
+        assertEquals(31, policy.getSkippedPackets());
+        assertEquals(34, policy.getUncompressedPackets());
+
+        //packets are still valid
+        DecompressInputStream in = new DecompressInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        byte[] content = new byte[20004];
+        for (int i = 0; i < 37; i++) {
+            int read = 0;
+            while (read < content.length) {
+                read += in.read(content, read, content.length - read);
+            }
+        }
+        assertEquals(0, in.remainingBytes);
+    }
+
+    @Test
+    public void levelAdaptation() throws Exception {
+        CompressionPolicy policy = new CompressionPolicy(6, 100, 90, true);
+        //very good ratio : level lowered
+        policy.compressionResult(3, 10000, 1000, 10000);
+        assertEquals(5, policy.getLevel());
+        //average ratio : level raised, up to configured level
+        policy.compressionResult(3, 10000, 7000, 10000);
+        assertEquals(6, policy.getLevel());
+        policy.compressionResult(3, 10000, 7000, 10000);
+        assertEquals(6, policy.getLevel());
+        //costly compression : level lowered
+        policy.compressionResult(3, 10000, 5000, 10000 * 100);
+        assertEquals(5, policy.getLevel());
+        for (int i = 0; i < 10; i++) {
+            policy.compressionResult(3, 10000, 1000, 10000);
+        }
+        assertEquals(1, policy.getLevel());
+        assertEquals(14, policy.getCompressedPackets());
+        assertEquals(14 * 10000, policy.getBytesBeforeCompression());
+
+        //statistics are a snapshot, not updated afterward
+        CompressionStatistics statistics = policy.getStatistics();
+        policy.compressionResult(3, 10000, 1000, 10000);
+        assertEquals(14, statistics.getCompressedPackets());
+        assertEquals(14 * 10000, statistics.getBytesBeforeCompression());
+        assertEquals(1, statistics.getLevel());
+        assertTrue(statistics.isAdaptive());
+    }
+
+    @Test
+    public void fixedLevel() throws Exception {
+        CompressionPolicy policy = new CompressionPolicy(9, 100, 90, false);
+        for (int i = 0; i < 10; i++) {
+            policy.compressionResult(3, 10000, 1000, 10000);
+            policy.compressionResult(4, 10000, -1, 10000);
+        }
+        assertEquals(9, policy.getLevel());
+        assertTrue(policy.mustCompress(4, 10000));
+        assertEquals(0, policy.getSkippedPackets());
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.util.buffer.ReadUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompressionTest {
+
+    private static byte[] compressible(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + (i % 7));
+        }
+        return bytes;
+    }
+
+    private static byte[] random(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Read a command, as server would, after decompression.
+     *
+     * @param in decompressed stream
+     * @return command content
+     * @throws Exception if stream is not valid
+     */
+    private static byte[] readCommand(InputStream in) throws Exception {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] header = new byte[4];
+        int length;
+        do {
+            ReadUtil.readFully(in, header);
+            length = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+            byte[] packet = new byte[length];
+            if (length > 0) {
+                ReadUtil.readFully(in, packet);
+            }
+            content.write(packet);
+        } while (length == 0xffffff);
+        return content.toByteArray();
+    }
+
+    private static void roundTrip(byte[]... commands) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.setUseCompression(true);
+        for (byte[] command : commands) {
+            writer.startPacket(0);
+            //offset to ensure buffers referencing arrays respect offset
+            byte[] withOffset = new byte[command.length + 3];
+            System.arraycopy(command, 0, withOffset, 3, command.length);
+            writer.write(withOffset, 3, command.length);
+            writer.finishPacket();
+        }
+
+        DecompressInputStream in = new DecompressInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        for (byte[] command : commands) {
+            assertArrayEquals(command, readCommand(in));
+        }
+        assertEquals(0, in.remainingBytes);
+        in.close();
+    }
+
+    @Test
+    public void smallCommands() throws Exception {
+        roundTrip(new byte[]{3, 'a'}, compressible(100), random(5000), new byte[]{1});
+    }
+
+    @Test
+    public void compressedCommands() throws Exception {
+        roundTrip(compressible(50000), random(50000), compressible(300000), compressible(20000));
+    }
+
+    @Test
+    public void compressionIsEffective() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.setUseCompression(true);
+        writer.startPacket(0);
+        writer.write(compressible(500000));
+        writer.finishPacket();
+        assertTrue(baos.size() < 50000);
+    }
+
+    @Test
+    public void multiPacketCommand() throws Exception {
+        byte[] big = compressible(0xffffff * 2 + 10);
+        big[1000] = 1;
+        byte[] exact = random(0xffffff);
+        roundTrip(big, exact, Arrays.copyOf(big, 20));
+    }
+
+}
@@ -0,0 +1,93 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LocalInfileRowWriterTest {
+
+    /**
+     * Stand-in server side : read LOAD DATA content packets until empty packet.
+     *
+     * @param bytes packets
+     * @param firstSeq first packet sequence
+     * @return content
+     */
+    private static String readContent(byte[] bytes, int firstSeq) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        int pos = 0;
+        int seq = firstSeq;
+        while (true) {
+            int length = (bytes[pos] & 0xff) + ((bytes[pos + 1] & 0xff) << 8) + ((bytes[pos + 2] & 0xff) << 16);
+            assertEquals((byte) seq++, bytes[pos + 3]);
+            pos += 4;
+            if (length == 0) {
+                break;
+            }
+            content.write(bytes, pos, length);
+            pos += length;
+        }
+        assertEquals(bytes.length, pos);
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static LocalInfileRowWriter rowWriter(ByteArrayOutputStream baos, boolean writeBehind) {
+        return new LocalInfileRowWriter(new PacketOutputStream(baos), 2, Calendar.getInstance(TimeZone.getTimeZone("UTC")),
+                true, writeBehind);
+    }
+
+    @Test
+    public void valueFormat() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        LocalInfileRowWriter writer = rowWriter(baos, false);
+        writer.writeRow(1, "a\tb\\c\nd\re\u0000f", null, Long.MIN_VALUE, -45L, true, new BigDecimal("1E+3"));
+        writer.writeRow("é€😀", new byte[]{'x', '\n', (byte) 0xff}, Date.valueOf("2016-03-01"),
+                new Timestamp(1000L * 3600 * 24 + 123), (short) 7, 1.5d);
+        writer.finish();
+
+        assertEquals("1\ta\\tb\\\\c\\nd\\re\\0f\t\\N\t-9223372036854775808\t-45\t1\t1000\n"
+                        + "é€😀\tx\\n�\t2016-03-01\t1970-01-02 00:00:00.123\t7\t1.5\n",
+                readContent(baos.toByteArray(), 2));
+    }
+
+    @Test
+    public void manyChunks() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        LocalInfileRowWriter writer = rowWriter(baos, true);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            writer.writeRow(i, "value" + i);
+            expected.append(i).append("\tvalue").append(i).append('\n');
+        }
+        writer.finish();
+        String content = readContent(baos.toByteArray(), 2);
+        assertTrue(content.length() > 10 * 64 * 1024);
+        assertEquals(expected.toString(), content);
+    }
+
+    @Test
+    public void valueBiggerThanChunk() throws Exception {
+        char[] chars = new char[200000];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (i % 100 == 0) ? '\t' : (char) ('a' + i % 26);
+        }
+        String big = new String(chars);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        LocalInfileRowWriter writer = rowWriter(baos, true);
+        writer.writeRow(big, 1);
+        writer.writeRow(2, big);
+        writer.finish();
+        String escaped = big.replace("\t", "\\t");
+        assertEquals(escaped + "\t1\n2\t" + escaped + "\n", readContent(baos.toByteArray(), 2));
+    }
+
+}
@@ -0,0 +1,130 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.socket.TimedSocketChannel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SendFileTest {
+
+    private static File createFile(byte[] content) throws IOException {
+        File file = File.createTempFile("sendFile", ".csv");
+        file.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+        return file;
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        return content;
+    }
+
+    /**
+     * Stand-in server side : read LOAD DATA content packets until empty packet.
+     *
+     * @param in packets stream
+     * @param firstSeq first packet sequence
+     * @param maxPacketLength maximum packet length
+     * @return content
+     * @throws IOException if stream is too short
+     */
+    private static byte[] readContent(InputStream in, int firstSeq, int maxPacketLength) throws IOException {
+        DataInputStream input = new DataInputStream(in);
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] header = new byte[4];
+        int seq = firstSeq;
+        while (true) {
+            input.readFully(header);
+            int length = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+            assertEquals((byte) seq++, header[3]);
+            if (length == 0) {
+                return content.toByteArray();
+            }
+            assertTrue(length <= maxPacketLength);
+            byte[] packet = new byte[length];
+            input.readFully(packet);
+            content.write(packet);
+        }
+    }
+
+    @Test
+    public void readFile() throws Exception {
+        byte[] content = content(300000);
+        File file = createFile(content);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.setMaxAllowedPacket(65536);
+        try (FileInputStream fis = new FileInputStream(file)) {
+            assertEquals(1000, fis.skip(1000));
+            writer.sendFile(fis.getChannel(), 2);
+            assertEquals(content.length, fis.getChannel().position());
+        }
+        byte[] sent = readContent(new ByteArrayInputStream(baos.toByteArray()), 2, 65535);
+        byte[] expected = new byte[content.length - 1000];
+        System.arraycopy(content, 1000, expected, 0, expected.length);
+        assertArrayEquals(expected, sent);
+    }
+
+    @Test
+    public void emptyFile() throws Exception {
+        File file = createFile(new byte[0]);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (FileInputStream fis = new FileInputStream(file)) {
+            new PacketOutputStream(baos).sendFile(fis.getChannel(), 5);
+        }
+        assertArrayEquals(new byte[]{0, 0, 0, 5}, baos.toByteArray());
+    }
+
+    @Test
+    public void transferToSocketChannel() throws Exception {
+        final byte[] content = content(5 * 1024 * 1024 + 7);
+        File file = createFile(content);
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            SocketChannel client = SocketChannel.open(server.getLocalAddress());
+            try (SocketChannel accepted = server.accept()) {
+                PacketOutputStream writer = new PacketOutputStream(new SocketChannelOutputStream(new TimedSocketChannel(client)));
+                writer.setMaxAllowedPacket(1024 * 1024);
+                final InputStream in = accepted.socket().getInputStream();
+                final byte[][] received = new byte[1][];
+                Thread reader = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            received[0] = readContent(in, 1, 1024 * 1024 - 1);
+                        } catch (IOException ioe) {
+                            received[0] = null;
+                        }
+                    }
+                });
+                reader.start();
+                try (FileInputStream fis = new FileInputStream(file)) {
+                    writer.sendFile(fis.getChannel(), 1);
+                }
+                reader.join(30000);
+                assertArrayEquals(content, received[0]);
+            } finally {
+                client.close();
+            }
+        }
+    }
+
+}
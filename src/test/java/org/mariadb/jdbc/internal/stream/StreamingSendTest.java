@@ -0,0 +1,257 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ByteArrayParameter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.packet.dao.parameters.ReaderParameter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.StreamParameter;
+import org.mariadb.jdbc.internal.packet.dao.parameters.StringParameter;
+import org.mariadb.jdbc.internal.util.buffer.ReadUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamingSendTest {
+    private static final int PACKET_SIZE = 1000;
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) "ab'c\\d\"e\0f".charAt(i % 10);
+        }
+        return bytes;
+    }
+
+    private static String chars(int length) {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < length) {
+            sb.append("a'é\\😀b€");
+        }
+        return sb.toString();
+    }
+
+    private static ParameterHolder[] parameters(boolean noBackslashEscapes) {
+        return new ParameterHolder[]{
+                new StreamParameter(new ByteArrayInputStream(bytes(50000)), noBackslashEscapes),
+                new ReaderParameter(new StringReader(chars(40000)), 30001, noBackslashEscapes),
+                new ByteArrayParameter(bytes(30000), noBackslashEscapes)};
+    }
+
+    private static byte[] expected(boolean noBackslashEscapes) throws Exception {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(3);
+        for (ParameterHolder parameter : parameters(noBackslashEscapes)) {
+            parameter.writeTo(expected);
+            expected.write(',');
+        }
+        return expected.toByteArray();
+    }
+
+    /**
+     * Read a command, checking that all packets but the last have maximum size.
+     */
+    private static byte[] readCommand(InputStream in, int packetSize) throws Exception {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] header = new byte[4];
+        int length;
+        int seq = 0;
+        do {
+            ReadUtil.readFully(in, header);
+            length = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+            assertEquals((byte) seq++, header[3]);
+            assertTrue(length <= packetSize);
+            byte[] packet = new byte[length];
+            ReadUtil.readFully(in, packet);
+            content.write(packet);
+        } while (length == packetSize);
+        return content.toByteArray();
+    }
+
+    private static byte[] send(PacketOutputStream writer, ByteArrayOutputStream baos, boolean noBackslashEscapes)
+            throws Exception {
+        writer.maxPacketSize = PACKET_SIZE;
+        writer.startPacket(0);
+        writer.startStreaming();
+        writer.write(3);
+        for (ParameterHolder parameter : parameters(noBackslashEscapes)) {
+            parameter.writeTo(writer);
+            writer.write(',');
+            //buffer never contains more than a packet
+            assertTrue(writer.buffer.position() < PACKET_SIZE + 16 * 1024);
+        }
+        //packets have been send before command end
+        assertTrue(baos.size() > 100000);
+        writer.finishPacket();
+        return baos.toByteArray();
+    }
+
+    @Test
+    public void streamParameters() throws Exception {
+        for (boolean noBackslashEscapes : new boolean[]{false, true}) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] sent = send(new PacketOutputStream(baos), baos, noBackslashEscapes);
+            ByteArrayInputStream in = new ByteArrayInputStream(sent);
+            assertArrayEquals(expected(noBackslashEscapes), readCommand(in, PACKET_SIZE));
+            assertEquals(0, in.available());
+        }
+    }
+
+    @Test
+    public void streamWithCompression() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.setUseCompression(true);
+        byte[] sent = send(writer, baos, false);
+        DecompressInputStream in = new DecompressInputStream(new ByteArrayInputStream(sent));
+        assertArrayEquals(expected(false), readCommand(in, PACKET_SIZE));
+        assertEquals(0, in.remainingBytes);
+    }
+
+    @Test
+    public void surrogatePairBetweenReaderChunks() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 8191; i++) {
+            sb.append('a');
+        }
+        sb.append("😀b😀");
+        String value = sb.toString();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.maxPacketSize = PACKET_SIZE;
+        writer.startPacket(0);
+        writer.startStreaming();
+        writer.write(3);
+        new ReaderParameter(new StringReader(value), false).writeTo(writer);
+        writer.finishPacket();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(3);
+        new StringParameter(value, false).writeTo(expected);
+        assertArrayEquals(expected.toByteArray(),
+                readCommand(new ByteArrayInputStream(baos.toByteArray()), PACKET_SIZE));
+    }
+
+    @Test
+    public void exactMultipleOfPacketSize() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.maxPacketSize = PACKET_SIZE;
+        writer.startPacket(0);
+        writer.startStreaming();
+        writer.write(3);
+        //1 + 2 quotes + 1997 bytes : exactly 2 packets, an empty packet ends command
+        new StreamParameter(new ByteArrayInputStream(new byte[1997]), true).writeTo(writer);
+        writer.finishPacket();
+        byte[] sent = baos.toByteArray();
+        assertEquals(2 * (PACKET_SIZE + 4) + 4, sent.length);
+        assertEquals(2 * PACKET_SIZE, writer.getSentBytes());
+        assertArrayEquals(new byte[]{0, 0, 0, 2}, Arrays.copyOfRange(sent, sent.length - 4, sent.length));
+    }
+
+    @Test
+    public void bufferedCommandBiggerThanPacket() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.maxPacketSize = PACKET_SIZE;
+        writer.startPacket(0);
+        writer.write(3);
+        new ByteArrayParameter(bytes(5000), false).writeTo(writer);
+        assertEquals(0, baos.size());
+        writer.finishPacket();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(3);
+        new ByteArrayParameter(bytes(5000), false).writeTo(expected);
+        assertArrayEquals(expected.toByteArray(),
+                readCommand(new ByteArrayInputStream(baos.toByteArray()), PACKET_SIZE));
+        assertEquals(expected.size(), writer.getSentBytes());
+    }
+
+    @Test
+    public void maxAllowedPacketExceeded() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.setMaxAllowedPacket(3000);
+        writer.startPacket(0);
+        writer.startStreaming();
+        writer.write(3);
+        try {
+            new StreamParameter(new ByteArrayInputStream(bytes(50000)), false).writeTo(writer);
+            fail("max_allowed_packet must have been exceeded");
+        } catch (MaxAllowedPacketException e) {
+            assertTrue(e.getMessage().contains("max_allowed_packet"));
+        }
+        //only the first packet, that doesn't exceed max_allowed_packet, has been send
+        assertEquals(2999 + 4, baos.size());
+        String sentStart = new String(baos.toByteArray(), 5, 3, StandardCharsets.UTF_8);
+        assertEquals("'ab", sentStart);
+    }
+
+    /**
+     * Stream that throws an IOException after a number of bytes.
+     */
+    private static InputStream failingStream(final int failAfter) {
+        return new InputStream() {
+            private int read = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (read == failAfter) {
+                    throw new IOException("stream read error");
+                }
+                read++;
+                return 'a';
+            }
+        };
+    }
+
+    @Test
+    public void streamErrorAfterSend() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.maxPacketSize = PACKET_SIZE;
+        writer.startPacket(0);
+        writer.startStreaming();
+        writer.write(3);
+        try {
+            new StreamParameter(failingStream(20000), false).writeTo(writer);
+            fail("stream must have thrown an exception");
+        } catch (IOException e) {
+            assertEquals("stream read error", e.getMessage());
+        }
+        //packets have been send : server waits for the end of command
+        assertTrue(baos.size() > 0);
+        assertTrue(writer.isCommandPartiallySent());
+    }
+
+    @Test
+    public void streamErrorBeforeSend() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.maxPacketSize = PACKET_SIZE;
+        writer.startPacket(0);
+        writer.startStreaming();
+        writer.write(3);
+        try {
+            new StreamParameter(failingStream(10), false).writeTo(writer);
+            fail("stream must have thrown an exception");
+        } catch (IOException e) {
+            assertEquals("stream read error", e.getMessage());
+        }
+        assertEquals(0, baos.size());
+        assertFalse(writer.isCommandPartiallySent());
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.mariadb.jdbc.internal.stream;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.MariaDbServerCapabilities;
+import org.mariadb.jdbc.internal.packet.send.SendHandshakeResponsePacket;
+import org.mariadb.jdbc.internal.util.buffer.ReadUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ZstdCompressionTest {
+
+    @Before
+    public void checkZstd() {
+        Assume.assumeTrue(ZstdCodec.isAvailable());
+    }
+
+    private static byte[] compressible(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + (i % 7));
+        }
+        return bytes;
+    }
+
+    private static byte[] random(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] readCommand(InputStream in) throws Exception {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] header = new byte[4];
+        int length;
+        do {
+            ReadUtil.readFully(in, header);
+            length = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+            byte[] packet = new byte[length];
+            if (length > 0) {
+                ReadUtil.readFully(in, packet);
+            }
+            content.write(packet);
+        } while (length == 0xffffff);
+        return content.toByteArray();
+    }
+
+    private static byte[] write(byte[]... commands) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PacketOutputStream writer = new PacketOutputStream(baos);
+        writer.setZstdCodec(new ZstdCodec(ZstdCodec.DEFAULT_LEVEL));
+        writer.setUseCompression(true);
+        for (byte[] command : commands) {
+            writer.startPacket(0);
+            writer.write(command);
+            writer.finishPacket();
+        }
+        writer.close();
+        return baos.toByteArray();
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        byte[][] commands = new byte[][]{new byte[]{3, 'a'}, compressible(50000), random(50000),
+                compressible(0xffffff + 100), compressible(20000)};
+        DecompressInputStream in = new DecompressInputStream(new ByteArrayInputStream(write(commands)),
+                new ZstdCodec(ZstdCodec.DEFAULT_LEVEL));
+        for (byte[] command : commands) {
+            assertArrayEquals(command, readCommand(in));
+        }
+        assertEquals(0, in.remainingBytes);
+        in.close();
+    }
+
+    @Test
+    public void zstdFrame() throws Exception {
+        byte[] sent = write(compressible(500000));
+        assertTrue(sent.length < 5000);
+        //compressed header, then zstd frame magic number
+        int initialLength = (sent[4] & 0xff) + ((sent[5] & 0xff) << 8) + ((sent[6] & 0xff) << 16);
+        assertEquals(500000 + 4, initialLength);
+        assertArrayEquals(new byte[]{0x28, (byte) 0xb5, 0x2f, (byte) 0xfd},
+                new byte[]{sent[7], sent[8], sent[9], sent[10]});
+    }
+
+    @Test
+    public void handshakeLevel() throws Exception {
+        long capabilities = MariaDbServerCapabilities.CLIENT_PROTOCOL_41
+                | MariaDbServerCapabilities.CLIENT_ZSTD_COMPRESSION_ALGORITHM;
+        ByteArrayOutputStream withZstd = new ByteArrayOutputStream();
+        new SendHandshakeResponsePacket("user", "", null, capabilities, (byte) 33, new byte[20], (byte) 1, 7)
+                .send(new PacketOutputStream(withZstd));
+        ByteArrayOutputStream withoutZstd = new ByteArrayOutputStream();
+        new SendHandshakeResponsePacket("user", "", null, MariaDbServerCapabilities.CLIENT_PROTOCOL_41, (byte) 33,
+                new byte[20], (byte) 1, 7).send(new PacketOutputStream(withoutZstd));
+
+        byte[] packet = withZstd.toByteArray();
+        assertEquals(withoutZstd.size() + 1, packet.length);
+        assertEquals(7, packet[packet.length - 1]);
+    }
+
+}
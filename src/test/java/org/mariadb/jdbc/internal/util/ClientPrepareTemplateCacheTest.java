@@ -0,0 +1,57 @@
+package org.mariadb.jdbc.internal.util;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.packet.dao.parameters.IntParameter;
+import org.mariadb.jdbc.internal.query.MariaDbClientParameterizeQuery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ClientPrepareTemplateCacheTest {
+
+    private static ClientPrepareTemplateCache.Template template(String sql) {
+        return new ClientPrepareTemplateCache.Template(sql, false, null,
+                new MariaDbClientParameterizeQuery(sql, false, -1));
+    }
+
+    @Test
+    public void keyContainsEscapingAndRewriteDetection() {
+        ClientPrepareTemplateCache cache = new ClientPrepareTemplateCache(10);
+        ClientPrepareTemplateCache.Template template = template("SELECT ?");
+        cache.put("SELECT ?", false, true, template);
+        assertSame(template, cache.get("SELECT ?", false, true));
+        assertNull(cache.get("SELECT ?", true, true));
+        assertNull(cache.get("SELECT ?", false, false));
+        assertNull(cache.get("SELECT ? ", false, true));
+    }
+
+    @Test
+    public void queriesHaveTheirOwnParameters() throws Exception {
+        ClientPrepareTemplateCache.Template template = template("SELECT ?, ?");
+        MariaDbClientParameterizeQuery first = template.newQuery();
+        MariaDbClientParameterizeQuery second = template.newQuery();
+        assertNotSame(first.getParameters(), second.getParameters());
+        first.setParameter(0, new IntParameter(1));
+        assertEquals(2, second.getParameters().length);
+        assertNull(second.getParameters()[0]);
+        assertNull(template.newQuery().getParameters()[0]);
+    }
+
+    @Test
+    public void bounded() {
+        ClientPrepareTemplateCache cache = new ClientPrepareTemplateCache(100);
+        for (int i = 0; i < 1000; i++) {
+            String sql = "SELECT " + i + ", ?";
+            cache.put(sql, false, false, template(sql));
+            assertNotNull(cache.get(sql, false, false));
+        }
+        assertTrue(cache.size() <= 100);
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.mariadb.jdbc.internal.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class TemporalCodecTest {
+    private static final String[] ZONES = {"UTC", "Europe/Paris", "America/New_York", "Australia/Lord_Howe",
+            "Asia/Kathmandu", "America/Sao_Paulo", "Pacific/Apia", "GMT+05:30"};
+
+    private static long calendarMillis(TimeZone tz, int year, int month, int day, int hour, int minutes, int seconds,
+                                       int millis) {
+        Calendar calendar = new GregorianCalendar(tz);
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, minutes, seconds);
+        calendar.set(Calendar.MILLISECOND, millis);
+        return calendar.getTimeInMillis();
+    }
+
+    @Test
+    public void toEpochMillisLikeCalendar() {
+        Random random = new Random(42);
+        for (String zone : ZONES) {
+            TimeZone tz = TimeZone.getTimeZone(zone);
+            TemporalCodec codec = TemporalCodec.get(tz);
+            for (int i = 0; i < 20000; i++) {
+                int year = (i % 10 == 0) ? 1 + random.nextInt(3000) : 1900 + random.nextInt(200);
+                int month = 1 + random.nextInt(12);
+                int day = 1 + random.nextInt(31);
+                int hour = random.nextInt(24);
+                int minutes = random.nextInt(60);
+                int seconds = random.nextInt(60);
+                int millis = random.nextInt(1000);
+                assertEquals(zone + " " + year + "-" + month + "-" + day + " " + hour + ":" + minutes + ":" + seconds,
+                        calendarMillis(tz, year, month, day, hour, minutes, seconds, millis),
+                        codec.toEpochMillis(year, month, day, hour, minutes, seconds, millis));
+            }
+        }
+    }
+
+    @Test
+    public void offsetTransitions() {
+        TimeZone tz = TimeZone.getTimeZone("Europe/Paris");
+        TemporalCodec codec = TemporalCodec.get(tz);
+        //every half hour around DST changes, including non existing and ambiguous local times
+        for (int minutes = 0; minutes < 48 * 60; minutes += 30) {
+            assertEquals(calendarMillis(tz, 2016, 3, 26, 0, minutes, 0, 0), codec.toEpochMillis(2016, 3, 26, 0, minutes, 0, 0));
+            assertEquals(calendarMillis(tz, 2016, 10, 29, 0, minutes, 0, 0), codec.toEpochMillis(2016, 10, 29, 0, minutes, 0, 0));
+        }
+    }
+
+    @Test
+    public void lenientFields() {
+        TimeZone tz = TimeZone.getTimeZone("America/New_York");
+        TemporalCodec codec = TemporalCodec.get(tz);
+        assertEquals(calendarMillis(tz, 1970, 1, 1, -5, 30, 0, 0), codec.toEpochMillis(1970, 1, 1, -5, 30, 0, 0));
+        assertEquals(calendarMillis(tz, 1970, 1, 1, 838, 59, 59, 0), codec.toEpochMillis(1970, 1, 1, 838, 59, 59, 0));
+        assertEquals(calendarMillis(tz, 2015, 2, 31, 0, 0, 0, 0), codec.toEpochMillis(2015, 2, 31, 0, 0, 0, 0));
+        assertEquals(calendarMillis(tz, 2015, 0, 0, 0, 0, 0, 0), codec.toEpochMillis(2015, 0, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    public void writeLikeSimpleDateFormat() throws Exception {
+        Random random = new Random(7);
+        for (String zone : ZONES) {
+            TimeZone tz = TimeZone.getTimeZone(zone);
+            TemporalCodec codec = TemporalCodec.get(tz);
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+            dateFormat.setCalendar(new GregorianCalendar(tz));
+            SimpleDateFormat dateTimeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            dateTimeFormat.setCalendar(new GregorianCalendar(tz));
+            SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+            timeFormat.setCalendar(new GregorianCalendar(tz));
+            for (int i = 0; i < 5000; i++) {
+                long millis = (random.nextLong() % (300L * 365 * 86400000L)) - 50L * 365 * 86400000L;
+                java.util.Date date = new java.util.Date(millis);
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                codec.writeDate(out, millis);
+                assertEquals(dateFormat.format(date), out.toString("ASCII"));
+
+                out = new ByteArrayOutputStream();
+                codec.writeDateTime(out, millis);
+                assertEquals(dateTimeFormat.format(date), out.toString("ASCII"));
+
+                out = new ByteArrayOutputStream();
+                codec.writeTime(out, millis);
+                assertEquals(timeFormat.format(date), out.toString("ASCII"));
+            }
+        }
+    }
+
+}